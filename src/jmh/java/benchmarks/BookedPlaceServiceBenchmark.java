@@ -0,0 +1,83 @@
+package benchmarks;
+
+import org.coworking.Utils.exceptions.BookedPlaceConflictsException;
+import org.coworking.dtos.AvailableSlotsDTO;
+import org.coworking.models.BookedPlacePage;
+import org.coworking.models.Place;
+import org.coworking.models.Slot;
+import org.coworking.services.BookedPlaceService;
+import org.coworking.services.PlaceService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарки вычисления свободных слотов и постраничного получения бронирований в BookedPlaceService
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BookedPlaceServiceBenchmark {
+
+    /**
+     * Количество бронирований в наборе
+     */
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int bookingCount;
+
+    private BookedPlaceService bookedPlaceService;
+
+    private Place place;
+
+    private LocalDateTime date;
+
+    /**
+     * Поле сортировки для getBookedPlacesPage
+     */
+    @State(Scope.Benchmark)
+    public static class SortField {
+
+        @Param({"1", "2", "3"})
+        private String indexOfField;
+    }
+
+    @Setup
+    public void setUp() {
+        BookingDataSet dataSet = new BookingDataSet(bookingCount);
+        bookedPlaceService = new BookedPlaceService(new PlaceService(new InMemoryPlaceRepository(dataSet.getPlaces())),
+                new InMemoryBookedPlaceRepository(dataSet.getBookings()));
+        place = dataSet.getPlaces().get(BookingDataSet.PLACE_COUNT / 2);
+        date = dataSet.getMiddleDay();
+        bookedPlaceService.getAvailableSlots(place, date);
+    }
+
+    @Benchmark
+    public List<Slot> getAvailableSlots() {
+        return bookedPlaceService.getAvailableSlots(place, date);
+    }
+
+    @Benchmark
+    public List<AvailableSlotsDTO> getAllAvailableDTOSlots() {
+        return bookedPlaceService.getAllAvailableDTOSlots(date);
+    }
+
+    @Benchmark
+    public BookedPlacePage getBookedPlacesPage(SortField sortField) throws BookedPlaceConflictsException {
+        return bookedPlaceService.getBookedPlacesPage(sortField.indexOfField, null, BookedPlaceService.DEFAULT_PAGE_LIMIT);
+    }
+}
@@ -0,0 +1,107 @@
+package benchmarks;
+
+import org.coworking.models.BookedPlace;
+import org.coworking.models.Place;
+import org.coworking.models.Slot;
+import org.coworking.models.User;
+import org.coworking.models.enums.PlaceType;
+import org.coworking.models.enums.Role;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Синтетический набор бронирований для бенчмарков.
+ * Бронирования равномерно распределены по местам, у каждого места не более 8 часовых бронирований в день
+ * с получасовыми промежутками между ними, начиная с 08:00
+ */
+public class BookingDataSet {
+
+    /**
+     * Количество мест в наборе
+     */
+    public static final int PLACE_COUNT = 100;
+
+    /**
+     * Количество пользователей в наборе
+     */
+    public static final int USER_COUNT = 50;
+
+    /**
+     * Количество бронирований одного места в день
+     */
+    public static final int BOOKINGS_PER_PLACE_PER_DAY = 8;
+
+    /**
+     * Первый день, с которого начинаются бронирования. Совпадает с текущим днем,
+     * так как индекс бронирований не хранит бронирования прошедших дней
+     */
+    public static final LocalDateTime FIRST_DAY = LocalDate.now().atStartOfDay();
+
+    /**
+     * Места набора
+     */
+    private final List<Place> places = new ArrayList<>();
+
+    /**
+     * Пользователи набора
+     */
+    private final List<User> users = new ArrayList<>();
+
+    /**
+     * Бронирования набора в порядке генерации
+     */
+    private final List<BookedPlace> bookings;
+
+    /**
+     * Количество дней, на которые распределены бронирования
+     */
+    private final int dayCount;
+
+    /**
+     * Генерация набора
+     *
+     * @param bookingCount количество бронирований
+     */
+    public BookingDataSet(int bookingCount) {
+        for (int i = 0; i < PLACE_COUNT; i++) {
+            places.add(new Place(i + 1, "Workplace " + i, i % 10 == 0 ? PlaceType.CONFERENCE_HALL : PlaceType.WORKPLACE));
+        }
+        for (int i = 0; i < USER_COUNT; i++) {
+            users.add(new User(i + 1, "user" + i, "password" + i, Role.USER));
+        }
+        bookings = new ArrayList<>(bookingCount);
+        for (int i = 0; i < bookingCount; i++) {
+            int placeBookingNumber = i / PLACE_COUNT;
+            int day = placeBookingNumber / BOOKINGS_PER_PLACE_PER_DAY;
+            int numberInDay = placeBookingNumber % BOOKINGS_PER_PLACE_PER_DAY;
+            LocalDateTime start = FIRST_DAY.plusDays(day).plusHours(8).plusMinutes(90L * numberInDay);
+            bookings.add(BookedPlace.builder()
+                    .id(i + 1)
+                    .place(places.get(i % PLACE_COUNT))
+                    .user(users.get(i % USER_COUNT))
+                    .slot(new Slot(i + 1, start, start.plusHours(1)))
+                    .build());
+        }
+        dayCount = (int) Math.ceil((double) bookingCount / PLACE_COUNT / BOOKINGS_PER_PLACE_PER_DAY);
+    }
+
+    public List<Place> getPlaces() {
+        return places;
+    }
+
+    public List<BookedPlace> getBookings() {
+        return bookings;
+    }
+
+    /**
+     * День в середине периода бронирований, для которого вычисляются свободные слоты
+     *
+     * @return дата и время начала дня
+     */
+    public LocalDateTime getMiddleDay() {
+        return FIRST_DAY.plusDays(dayCount / 2);
+    }
+}
@@ -0,0 +1,84 @@
+package benchmarks;
+
+import org.coworking.Utils.exceptions.BookedPlaceConflictsException;
+import org.coworking.repositories.impl.BookedPlaceRepositoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static utils.TestUtils.ADMIN_TEST_OBJECT;
+import static utils.TestUtils.PLACE_TEST_OBJECT_FOR_BOOKING;
+import static utils.TestUtils.createDataSource;
+import static utils.TestUtils.startLiquibase;
+import static utils.TestUtils.startTestContainer;
+import static utils.TestUtils.stopTestContainers;
+
+/**
+ * Пропускная способность создания бронирования через BookedPlaceRepositoryImpl.save: слот и бронирование
+ * сохраняются одним запросом, а пересечение отклоняется ограничением excl_booked_places_place_period.
+ * Измеряется сохранение свободного промежутка и отклонение пересекающегося.
+ * Требует Docker для запуска тестового контейнера PostgreSQL
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BookingInsertionBenchmark {
+
+    /**
+     * Начало уже забронированного промежутка, с которым пересекается бронирование в bookConflictingPeriod
+     */
+    private static final LocalDateTime BOOKED_START = LocalDateTime.of(2000, 1, 1, 10, 0);
+
+    private BookedPlaceRepositoryImpl bookedPlaceRepository;
+
+    /**
+     * Начало следующего свободного промежутка, каждый вызов bookFreePeriod сдвигает его на час
+     */
+    private LocalDateTime nextFreeStart;
+
+    @Setup
+    public void setUp() throws Exception {
+        DataSource dataSource = createDataSource(startTestContainer());
+        startLiquibase(dataSource);
+        bookedPlaceRepository = new BookedPlaceRepositoryImpl(dataSource);
+        bookedPlaceRepository.save(PLACE_TEST_OBJECT_FOR_BOOKING, ADMIN_TEST_OBJECT, BOOKED_START, BOOKED_START.plusHours(1));
+        nextFreeStart = LocalDateTime.of(2100, 1, 1, 0, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        stopTestContainers();
+    }
+
+    @Benchmark
+    public int bookFreePeriod() throws BookedPlaceConflictsException {
+        LocalDateTime start = nextFreeStart;
+        nextFreeStart = start.plusHours(1);
+        return bookedPlaceRepository.save(PLACE_TEST_OBJECT_FOR_BOOKING, ADMIN_TEST_OBJECT, start, start.plusHours(1));
+    }
+
+    @Benchmark
+    public String bookConflictingPeriod() {
+        try {
+            bookedPlaceRepository.save(PLACE_TEST_OBJECT_FOR_BOOKING, ADMIN_TEST_OBJECT, BOOKED_START.plusMinutes(30), BOOKED_START.plusMinutes(90));
+            throw new IllegalStateException("Пересекающееся бронирование не было отклонено");
+        } catch (BookedPlaceConflictsException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package benchmarks;
+
+import org.coworking.models.BookedPlace;
+import org.coworking.models.BookingCursor;
+import org.coworking.models.Place;
+import org.coworking.models.User;
+import org.coworking.models.enums.BookingSortField;
+import org.coworking.repositories.BookedPlaceRepository;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Реализация BookedPlaceRepository в памяти для бенчмарков сервисного слоя.
+ * Поиск по периоду и проверка пересечений используют упорядоченные структуры, как индексы в БД,
+ * поэтому в замерах остается стоимость кода сервисов, а не полного перебора бронирований
+ */
+public class InMemoryBookedPlaceRepository implements BookedPlaceRepository {
+
+    /**
+     * Порядок, в котором БД возвращает бронирования за период
+     */
+    private static final Comparator<BookedPlace> BY_PLACE_AND_START = Comparator
+            .comparingInt((BookedPlace bookedPlace) -> bookedPlace.getPlace().getId())
+            .thenComparing(bookedPlace -> bookedPlace.getSlot().getStart());
+
+    /**
+     * Все бронирования
+     */
+    private final List<BookedPlace> bookings;
+
+    /**
+     * Бронирования по id
+     */
+    private final Map<Integer, BookedPlace> bookingsById;
+
+    /**
+     * Бронирования, сгруппированные по началу слота
+     */
+    private final NavigableMap<LocalDateTime, List<BookedPlace>> bookingsByStart = new TreeMap<>();
+
+    /**
+     * Бронирования каждого места по началу слота
+     */
+    private final Map<Integer, NavigableMap<LocalDateTime, BookedPlace>> bookingsByPlace;
+
+    /**
+     * Бронирования, заранее упорядоченные для каждого порядка страниц
+     */
+    private final Map<BookingSortField, List<BookedPlace>> bookingsBySortField = new EnumMap<>(BookingSortField.class);
+
+    /**
+     * Максимальная длительность бронирования в часах
+     */
+    private final long maxDurationHours;
+
+    public InMemoryBookedPlaceRepository(List<BookedPlace> bookings) {
+        this.bookings = List.copyOf(bookings);
+        this.bookingsById = bookings.stream()
+                .collect(Collectors.toMap(BookedPlace::getId, Function.identity()));
+        this.bookingsByPlace = bookings.stream()
+                .collect(Collectors.groupingBy(bookedPlace -> bookedPlace.getPlace().getId(),
+                        Collectors.toMap(bookedPlace -> bookedPlace.getSlot().getStart(), Function.identity(), (a, b) -> a, TreeMap::new)));
+        bookings.forEach(bookedPlace -> bookingsByStart
+                .computeIfAbsent(bookedPlace.getSlot().getStart(), start -> new ArrayList<>())
+                .add(bookedPlace));
+        this.maxDurationHours = bookings.stream()
+                .mapToLong(bookedPlace -> Duration.between(bookedPlace.getSlot().getStart(), bookedPlace.getSlot().getEnd()).toHours() + 1)
+                .max()
+                .orElse(0);
+        for (BookingSortField sortField : BookingSortField.values()) {
+            bookingsBySortField.put(sortField, bookings.stream()
+                    .sorted(comparator(sortField))
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    @Override
+    public int save(Place place, User user, LocalDateTime from, LocalDateTime to) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public List<Integer> saveAll(List<BookedPlace> bookedPlaces, User user) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Set<Integer> findConflicting(List<BookedPlace> bookedPlaces) {
+        Set<Integer> conflictingIndexes = new HashSet<>();
+        for (int i = 0; i < bookedPlaces.size(); i++) {
+            BookedPlace bookedPlace = bookedPlaces.get(i);
+            LocalDateTime from = bookedPlace.getSlot().getStart();
+            LocalDateTime to = bookedPlace.getSlot().getEnd();
+            boolean conflictsWithPrevious = bookedPlaces.subList(0, i).stream()
+                    .anyMatch(previous -> previous.getPlace().getId() == bookedPlace.getPlace().getId() &&
+                            previous.getSlot().getStart().isBefore(to) && previous.getSlot().getEnd().isAfter(from));
+            if (conflictsWithPrevious || existsOverlapping(bookedPlace.getPlace().getId(), from, to)) {
+                conflictingIndexes.add(i);
+            }
+        }
+        return conflictingIndexes;
+    }
+
+    @Override
+    public List<BookedPlace> findAllByUser(User user) {
+        return bookings.stream()
+                .filter(bookedPlace -> bookedPlace.getUser().getId() == user.getId())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<BookedPlace> findAll() {
+        return new ArrayList<>(bookings);
+    }
+
+    @Override
+    public List<BookedPlace> findPage(BookingSortField sortField, BookingCursor after, int limit) {
+        List<BookedPlace> sorted = bookingsBySortField.get(sortField);
+        int from = 0;
+        if (after != null) {
+            int to = sorted.size();
+            while (from < to) {
+                int middle = (from + to) >>> 1;
+                if (compare(sortField, sorted.get(middle), after) <= 0) {
+                    from = middle + 1;
+                } else {
+                    to = middle;
+                }
+            }
+        }
+        return new ArrayList<>(sorted.subList(from, Math.min(sorted.size(), from + limit)));
+    }
+
+    @Override
+    public void forEachBookedPlace(BookedPlaceHandler handler) throws IOException {
+        for (BookedPlace bookedPlace : bookingsBySortField.get(BookingSortField.ID)) {
+            handler.handle(bookedPlace);
+        }
+    }
+
+    @Override
+    public List<BookedPlace> findAllByPeriod(LocalDateTime from, LocalDateTime to) {
+        return bookingsByStart.subMap(from.minusHours(maxDurationHours), true, to, false).values().stream()
+                .flatMap(List::stream)
+                .filter(bookedPlace -> bookedPlace.getSlot().getEnd().isAfter(from))
+                .sorted(BY_PLACE_AND_START)
+                .collect(Collectors.toList());
+    }
+
+    private boolean existsOverlapping(int placeId, LocalDateTime from, LocalDateTime to) {
+        NavigableMap<LocalDateTime, BookedPlace> placeBookings = bookingsByPlace.get(placeId);
+        if (placeBookings == null) {
+            return false;
+        }
+        Map.Entry<LocalDateTime, BookedPlace> lastStartedBefore = placeBookings.lowerEntry(to);
+        return lastStartedBefore != null && lastStartedBefore.getValue().getSlot().getEnd().isAfter(from);
+    }
+
+    @Override
+    public Optional<BookedPlace> findById(int id) {
+        return Optional.ofNullable(bookingsById.get(id));
+    }
+
+    @Override
+    public void removeById(int id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<BookedPlace> removeByIdAndUser(int id, User user) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Порядок бронирований, совпадающий с ORDER BY в БД
+     *
+     * @param sortField порядок
+     * @return Comparator объект
+     */
+    private static Comparator<BookedPlace> comparator(BookingSortField sortField) {
+        Comparator<BookedPlace> byId = Comparator.comparingInt(BookedPlace::getId);
+        return switch (sortField) {
+            case ID -> byId;
+            case PLACE_NAME -> Comparator.comparing((BookedPlace bookedPlace) -> bookedPlace.getPlace().getPlaceName()).thenComparing(byId);
+            case USER_NAME -> Comparator.comparing((BookedPlace bookedPlace) -> bookedPlace.getUser().getName()).thenComparing(byId);
+            case SLOT_START -> Comparator.comparing((BookedPlace bookedPlace) -> bookedPlace.getSlot().getStart()).thenComparing(byId);
+        };
+    }
+
+    /**
+     * Сравнение бронирования с позицией курсора в том же порядке, что и ORDER BY в БД
+     *
+     * @param sortField   порядок
+     * @param bookedPlace бронирование
+     * @param cursor      позиция
+     * @return результат сравнения
+     */
+    private static int compare(BookingSortField sortField, BookedPlace bookedPlace, BookingCursor cursor) {
+        int result = switch (sortField) {
+            case ID -> 0;
+            case PLACE_NAME -> bookedPlace.getPlace().getPlaceName().compareTo(cursor.key());
+            case USER_NAME -> bookedPlace.getUser().getName().compareTo(cursor.key());
+            case SLOT_START -> bookedPlace.getSlot().getStart().compareTo(LocalDateTime.parse(cursor.key()));
+        };
+        return result != 0 ? result : Integer.compare(bookedPlace.getId(), cursor.id());
+    }
+}
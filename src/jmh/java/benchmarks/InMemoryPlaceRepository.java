@@ -0,0 +1,52 @@
+package benchmarks;
+
+import org.coworking.models.Place;
+import org.coworking.models.enums.PlaceType;
+import org.coworking.repositories.PlaceRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Реализация PlaceRepository в памяти для бенчмарков сервисного слоя
+ */
+public class InMemoryPlaceRepository implements PlaceRepository {
+
+    /**
+     * Все места
+     */
+    private final List<Place> places;
+
+    public InMemoryPlaceRepository(List<Place> places) {
+        this.places = List.copyOf(places);
+    }
+
+    @Override
+    public void save(String placeName, PlaceType placeType) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<Place> findByName(String placeName) {
+        return places.stream()
+                .filter(place -> Objects.equals(place.getPlaceName(), placeName))
+                .findFirst();
+    }
+
+    @Override
+    public List<Place> findAll() {
+        return new ArrayList<>(places);
+    }
+
+    @Override
+    public void removeByName(String placeName) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void updatePlace(String oldPlaceName, String newPlaceName, PlaceType newPlaceType) {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,95 @@
+package benchmarks;
+
+import org.coworking.Utils.mappers.ResultSetMapper;
+import org.coworking.models.BookedPlace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк мэппинга строк результата JOIN запроса бронирований в объекты BookedPlace.
+ * Строки хранятся в памяти в том же порядке колонок, что возвращает BookedPlaceRepositoryImpl
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ResultSetMapperBenchmark {
+
+    /**
+     * Количество бронирований в наборе
+     */
+    @Param({"1000", "10000", "100000", "1000000"})
+    private int bookingCount;
+
+    /**
+     * Строки результата запроса
+     */
+    private Object[][] rows;
+
+    @Setup
+    public void setUp() {
+        List<BookedPlace> bookings = new BookingDataSet(bookingCount).getBookings();
+        rows = new Object[bookings.size()][];
+        for (int i = 0; i < rows.length; i++) {
+            BookedPlace bookedPlace = bookings.get(i);
+            rows[i] = new Object[]{
+                    bookedPlace.getId(),
+                    bookedPlace.getUser().getId(),
+                    bookedPlace.getUser().getName(),
+                    bookedPlace.getUser().getPassword(),
+                    bookedPlace.getUser().getRole().name(),
+                    bookedPlace.getPlace().getId(),
+                    bookedPlace.getPlace().getPlaceName(),
+                    bookedPlace.getPlace().getPlaceType().name(),
+                    bookedPlace.getSlot().getId(),
+                    Timestamp.valueOf(bookedPlace.getSlot().getStart()),
+                    Timestamp.valueOf(bookedPlace.getSlot().getEnd())
+            };
+        }
+    }
+
+    @Benchmark
+    public void mapBookedPlace(Blackhole blackhole) throws SQLException {
+        ResultSet resultSet = createResultSet(rows);
+        while (resultSet.next()) {
+            blackhole.consume(ResultSetMapper.mapBookedPlace(resultSet));
+        }
+    }
+
+    /**
+     * Создание однонаправленного ResultSet поверх строк в памяти.
+     * Поддерживаются только методы, которые использует ResultSetMapper.mapBookedPlace
+     *
+     * @param rows строки, значения колонок начинаются с индекса 0
+     * @return ResultSet объект
+     */
+    private static ResultSet createResultSet(Object[][] rows) {
+        int[] cursor = {-1};
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "next" -> ++cursor[0] < rows.length;
+                    case "getInt", "getString", "getTimestamp" -> rows[cursor[0]][(int) args[0] - 1];
+                    case "close" -> null;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
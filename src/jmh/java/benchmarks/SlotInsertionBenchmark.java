@@ -0,0 +1,98 @@
+package benchmarks;
+
+import org.coworking.repositories.impl.SlotRepositoryImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import static utils.TestUtils.createDataSource;
+import static utils.TestUtils.startLiquibase;
+import static utils.TestUtils.startTestContainer;
+import static utils.TestUtils.stopTestContainers;
+
+/**
+ * Сравнение пропускной способности сохранения слота: прежний способ с CREATE OR REPLACE FUNCTION
+ * перед каждым вызовом функции и текущий INSERT ... RETURNING id из SlotRepositoryImpl.
+ * Требует Docker для запуска тестового контейнера PostgreSQL
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class SlotInsertionBenchmark {
+
+    /**
+     * Прежнее определение функции, которое пересоздавалось при каждом сохранении слота
+     */
+    private static final String CREATE_FUNCTION_QUERY = "CREATE OR REPLACE FUNCTION slot_insertion (start_d TIMESTAMP, end_d TIMESTAMP) " +
+            "RETURNS integer AS $$ " +
+            "BEGIN " +
+            " INSERT INTO coworking_schema.slots (id, start_date, end_date) " +
+            " VALUES (nextval('coworking_schema.slot_id_seq'), start_d, end_d); " +
+            " RETURN currval('coworking_schema.slot_id_seq'); " +
+            "END; " +
+            "$$ LANGUAGE plpgsql";
+
+    private static final String CALL_FUNCTION_QUERY = "{? = call slot_insertion(?, ?)}";
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private static final LocalDateTime END = START.plusHours(1);
+
+    private DataSource dataSource;
+
+    private SlotRepositoryImpl slotRepository;
+
+    @Setup
+    public void setUp() throws Exception {
+        dataSource = createDataSource(startTestContainer());
+        startLiquibase(dataSource);
+        slotRepository = new SlotRepositoryImpl(dataSource);
+    }
+
+    @TearDown
+    public void tearDown() {
+        stopTestContainers();
+    }
+
+    @Benchmark
+    public int createFunctionAndCall() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.executeUpdate(CREATE_FUNCTION_QUERY);
+            }
+            try (CallableStatement callableStatement = connection.prepareCall(CALL_FUNCTION_QUERY)) {
+                callableStatement.registerOutParameter(1, Types.INTEGER);
+                callableStatement.setTimestamp(2, Timestamp.valueOf(START));
+                callableStatement.setTimestamp(3, Timestamp.valueOf(END));
+                callableStatement.executeUpdate();
+                return callableStatement.getInt(1);
+            }
+        }
+    }
+
+    @Benchmark
+    public int insertReturning() {
+        return slotRepository.save(START, END);
+    }
+}
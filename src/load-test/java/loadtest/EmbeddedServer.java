@@ -0,0 +1,50 @@
+package loadtest;
+
+import org.apache.catalina.Context;
+import org.apache.catalina.LifecycleException;
+import org.apache.catalina.startup.Tomcat;
+import org.coworking.config.SpringInit;
+import org.springframework.web.SpringServletContainerInitializer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Встроенный Tomcat, в котором приложение инициализируется так же, как при развертывании WAR:
+ * через SpringServletContainerInitializer и SpringInit
+ */
+public class EmbeddedServer implements AutoCloseable {
+
+    /**
+     * Context path, под которым приложение разворачивается из WAR
+     */
+    private static final String CONTEXT_PATH = "/coworking-service";
+
+    private final Tomcat tomcat = new Tomcat();
+
+    /**
+     * Запуск сервера на свободном порту
+     *
+     * @return базовый адрес приложения
+     * @throws IOException        если не удалось создать рабочую директорию Tomcat
+     * @throws LifecycleException если не удалось запустить Tomcat
+     */
+    public String start() throws IOException, LifecycleException {
+        Path baseDir = Files.createTempDirectory("load-test-tomcat");
+        tomcat.setBaseDir(baseDir.toString());
+        tomcat.setPort(0);
+        tomcat.getConnector();
+        Context context = tomcat.addContext(CONTEXT_PATH, baseDir.toString());
+        context.addServletContainerInitializer(new SpringServletContainerInitializer(), Set.of(SpringInit.class));
+        tomcat.start();
+        return "http://localhost:" + tomcat.getConnector().getLocalPort() + CONTEXT_PATH;
+    }
+
+    @Override
+    public void close() throws LifecycleException {
+        tomcat.stop();
+        tomcat.destroy();
+    }
+}
@@ -0,0 +1,292 @@
+package loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.coworking.dtos.BookedPlaceDTO;
+import org.coworking.dtos.PlaceDTO;
+import org.coworking.dtos.SlotDTO;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Генератор нагрузки с замкнутым циклом: каждый виртуальный пользователь отправляет следующий запрос
+ * сразу после получения ответа на предыдущий. Операция выбирается случайно согласно весам смеси запросов.
+ * Новые бронирования занимают последовательные часовые слоты начиная с завтрашнего дня, поэтому не конфликтуют
+ * друг с другом, а id для удаления берутся из ответов GET /get-all-booking
+ */
+public class LoadGenerator {
+
+    /**
+     * Учетные данные администратора, созданного liquibase скриптами
+     */
+    private static final String ADMIN_CREDENTIALS = "Basic " +
+            Base64.getEncoder().encodeToString("admin:admin".getBytes(StandardCharsets.UTF_8));
+
+    /**
+     * Количество часовых слотов одного места в день, начиная с 08:00
+     */
+    private static final int SLOTS_PER_DAY = 12;
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    private final String baseUrl;
+
+    private final LoadTestSettings settings;
+
+    /**
+     * Операции смеси запросов и накопленные суммы их весов для случайного выбора
+     */
+    private final List<Operation> operations = new ArrayList<>();
+
+    private final int[] cumulativeWeights;
+
+    /**
+     * Результаты замера по операциям
+     */
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    /**
+     * Места, доступные для бронирования
+     */
+    private List<PlaceDTO> places;
+
+    /**
+     * Первый день, начиная с которого создаются бронирования
+     */
+    private final LocalDate firstDay = LocalDate.now().plusDays(1);
+
+    /**
+     * Номер следующего свободного слота
+     */
+    private final AtomicLong slotCounter = new AtomicLong();
+
+    /**
+     * id бронирований, которые еще можно удалить
+     */
+    private final Queue<Integer> deletableIds = new ConcurrentLinkedQueue<>();
+
+    /**
+     * id бронирований, которые уже попадали в очередь на удаление
+     */
+    private final Set<Integer> knownIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Признак того, что результаты запросов попадают в отчет
+     */
+    private volatile boolean measuring;
+
+    public LoadGenerator(String baseUrl, LoadTestSettings settings) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        int sum = 0;
+        List<Integer> weights = new ArrayList<>();
+        for (Map.Entry<Operation, Integer> entry : settings.mix().entrySet()) {
+            if (entry.getValue() > 0) {
+                operations.add(entry.getKey());
+                sum += entry.getValue();
+                weights.add(sum);
+            }
+        }
+        cumulativeWeights = weights.stream().mapToInt(Integer::intValue).toArray();
+        for (Operation operation : operations) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    /**
+     * Прогрев и замер
+     *
+     * @return результаты замера по операциям
+     * @throws IOException          если не удалось получить список мест
+     * @throws InterruptedException если ожидание виртуальных пользователей было прервано
+     */
+    public Map<Operation, OperationStats> run() throws IOException, InterruptedException {
+        places = List.of(objectMapper.readValue(send(get("/get-all-places")).body(), PlaceDTO[].class));
+        if (places.isEmpty()) {
+            throw new IllegalStateException("В БД нет мест для бронирования");
+        }
+        long warmupEnd = System.nanoTime() + Duration.ofSeconds(settings.warmupSeconds()).toNanos();
+        long end = warmupEnd + Duration.ofSeconds(settings.durationSeconds()).toNanos();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < settings.concurrency(); i++) {
+            Thread worker = new Thread(() -> work(end), "load-test-user-" + i);
+            worker.start();
+            workers.add(worker);
+        }
+        Thread.sleep(Duration.ofNanos(Math.max(0, warmupEnd - System.nanoTime())).toMillis());
+        measuring = true;
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        measuring = false;
+        return stats;
+    }
+
+    /**
+     * Цикл виртуального пользователя
+     *
+     * @param end момент времени System.nanoTime(), после которого новые запросы не отправляются
+     */
+    private void work(long end) {
+        while (System.nanoTime() - end < 0) {
+            Operation operation = nextOperation();
+            Integer id = null;
+            if (operation == Operation.DELETE_BOOKED_PLACE) {
+                id = deletableIds.poll();
+                if (id == null) {
+                    operation = Operation.GET_ALL_BOOKING;
+                }
+            }
+            HttpRequest request = switch (operation) {
+                case BOOK_PLACE -> bookPlace();
+                case GET_AVAILABLE_SLOTS -> getAvailableSlots();
+                case GET_ALL_BOOKING -> get("/get-all-booking");
+                case DELETE_BOOKED_PLACE -> HttpRequest.newBuilder(URI.create(baseUrl + "/delete-booked-place?id=" + id))
+                        .header("Authorization", ADMIN_CREDENTIALS)
+                        .DELETE()
+                        .build();
+            };
+            execute(operation, request);
+        }
+    }
+
+    /**
+     * Отправка запроса и запись результата
+     *
+     * @param operation операция
+     * @param request   HTTP запрос
+     */
+    private void execute(Operation operation, HttpRequest request) {
+        long start = System.nanoTime();
+        String outcome;
+        boolean error;
+        try {
+            HttpResponse<String> response = send(request);
+            outcome = String.valueOf(response.statusCode());
+            error = response.statusCode() >= 400;
+            if (!error && operation == Operation.GET_ALL_BOOKING) {
+                collectDeletableIds(response.body());
+            }
+        } catch (IOException e) {
+            outcome = e.getClass().getSimpleName();
+            error = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        if (measuring) {
+            stats.get(operation).record(nanos, outcome, error);
+        }
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Выбор следующей операции согласно весам смеси запросов
+     *
+     * @return Operation объект
+     */
+    private Operation nextOperation() {
+        int value = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations.get(i);
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Создание запроса на бронирование следующего свободного слота
+     *
+     * @return HTTP запрос
+     */
+    private HttpRequest bookPlace() {
+        long slotNumber = slotCounter.getAndIncrement();
+        PlaceDTO place = places.get((int) (slotNumber % places.size()));
+        long placeSlotNumber = slotNumber / places.size();
+        LocalDateTime start = firstDay.atTime(8, 0)
+                .plusDays(placeSlotNumber / SLOTS_PER_DAY)
+                .plusHours(placeSlotNumber % SLOTS_PER_DAY);
+        BookedPlaceDTO bookedPlaceDTO = BookedPlaceDTO.builder()
+                .placeDTO(place)
+                .slotDTO(SlotDTO.builder()
+                        .start(start.format(DATE_TIME_FORMATTER))
+                        .end(start.plusHours(1).format(DATE_TIME_FORMATTER))
+                        .build())
+                .build();
+        try {
+            return HttpRequest.newBuilder(URI.create(baseUrl + "/book-place"))
+                    .header("Authorization", ADMIN_CREDENTIALS)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(bookedPlaceDTO)))
+                    .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Создание запроса свободных слотов на случайный день из уже забронированного периода
+     *
+     * @return HTTP запрос
+     */
+    private HttpRequest getAvailableSlots() {
+        long bookedDays = slotCounter.get() / places.size() / SLOTS_PER_DAY + 1;
+        LocalDate date = firstDay.plusDays(ThreadLocalRandom.current().nextLong(bookedDays));
+        return get("/get-available-slots?date=" + date.format(DATE_FORMATTER));
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", ADMIN_CREDENTIALS)
+                .GET()
+                .build();
+    }
+
+    /**
+     * Добавление в очередь на удаление id бронирований из ответа GET /get-all-booking
+     *
+     * @param body тело ответа
+     * @throws IOException если тело ответа не является JSON массивом
+     */
+    private void collectDeletableIds(String body) throws IOException {
+        for (JsonNode bookedPlace : objectMapper.readTree(body)) {
+            int id = bookedPlace.get("id").asInt();
+            if (knownIds.add(id)) {
+                deletableIds.add(id);
+            }
+        }
+    }
+}
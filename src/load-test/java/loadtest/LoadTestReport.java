@@ -0,0 +1,84 @@
+package loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.coworking.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * JSON отчет нагрузочного теста: пропускная способность, перцентили времени ответа и доля ошибок
+ * по каждой операции и в целом
+ */
+public class LoadTestReport {
+
+    private static final double NANOS_IN_MILLI = 1_000_000.0;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Построение отчета
+     *
+     * @param settings параметры теста
+     * @param baseUrl  адрес тестируемого приложения
+     * @param stats    результаты замера по операциям
+     * @return JSON отчет
+     */
+    public ObjectNode build(LoadTestSettings settings, String baseUrl, Map<Operation, OperationStats> stats) {
+        ObjectNode report = objectMapper.createObjectNode();
+        report.put("finishedAt", Instant.now().toString());
+        report.put("baseUrl", baseUrl);
+        report.put("concurrency", settings.concurrency());
+        report.put("warmupSeconds", settings.warmupSeconds());
+        report.put("durationSeconds", settings.durationSeconds());
+        ObjectNode mix = report.putObject("mix");
+        settings.mix().forEach((operation, weight) -> mix.put(operation.getKey(), weight));
+
+        long totalRequests = 0;
+        long totalErrors = 0;
+        ObjectNode operations = report.putObject("operations");
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            LatencyHistogram.Snapshot latency = entry.getValue().getLatency();
+            long errors = entry.getValue().getErrors();
+            ObjectNode operation = operations.putObject(entry.getKey().getKey());
+            putCounters(operation, latency.count(), errors, settings.durationSeconds());
+            ObjectNode latencyMillis = operation.putObject("latencyMillis");
+            latencyMillis.put("mean", latency.mean() / NANOS_IN_MILLI);
+            latencyMillis.put("p50", latency.p50() / NANOS_IN_MILLI);
+            latencyMillis.put("p95", latency.p95() / NANOS_IN_MILLI);
+            latencyMillis.put("p99", latency.p99() / NANOS_IN_MILLI);
+            latencyMillis.put("max", latency.max() / NANOS_IN_MILLI);
+            ObjectNode outcomes = operation.putObject("outcomes");
+            entry.getValue().getOutcomes().forEach(outcomes::put);
+            totalRequests += latency.count();
+            totalErrors += errors;
+        }
+        putCounters(report.putObject("total"), totalRequests, totalErrors, settings.durationSeconds());
+        return report;
+    }
+
+    /**
+     * Запись отчета в файл
+     *
+     * @param report JSON отчет
+     * @param path   путь к файлу
+     * @throws IOException если не удалось записать файл
+     */
+    public void write(ObjectNode report, Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+    }
+
+    private static void putCounters(ObjectNode node, long requests, long errors, int durationSeconds) {
+        node.put("requests", requests);
+        node.put("errors", errors);
+        node.put("errorRate", requests == 0 ? 0 : (double) errors / requests);
+        node.put("throughputPerSecond", durationSeconds == 0 ? 0 : (double) requests / durationSeconds);
+    }
+}
@@ -0,0 +1,43 @@
+package loadtest;
+
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.nio.file.Path;
+import java.util.Map;
+
+import static utils.TestUtils.startTestContainer;
+import static utils.TestUtils.stopTestContainers;
+
+/**
+ * Точка входа нагрузочного теста.
+ * Если loadtest.baseUrl не задан, поднимает тестовый контейнер PostgreSQL и приложение во встроенном Tomcat,
+ * затем выполняет смесь запросов к /book-place, /get-available-slots, /get-all-booking и /delete-booked-place
+ * и записывает JSON отчет в loadtest.report
+ */
+public class LoadTestRunner {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        String baseUrl = settings.baseUrl();
+        EmbeddedServer server = null;
+        try {
+            if (baseUrl.isBlank()) {
+                System.setProperty("url", startTestContainer());
+                System.setProperty("user", "user");
+                System.setProperty("password", "password");
+                server = new EmbeddedServer();
+                baseUrl = server.start();
+            }
+            Map<Operation, OperationStats> stats = new LoadGenerator(baseUrl, settings).run();
+            LoadTestReport loadTestReport = new LoadTestReport();
+            ObjectNode report = loadTestReport.build(settings, baseUrl, stats);
+            loadTestReport.write(report, Path.of(settings.reportPath()));
+            System.out.println(report.toPrettyString());
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+            stopTestContainers();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Параметры нагрузочного теста, задаются системными свойствами loadtest.*
+ *
+ * @param concurrency     количество одновременно работающих виртуальных пользователей
+ * @param warmupSeconds   длительность прогрева, запросы прогрева не попадают в отчет
+ * @param durationSeconds длительность замера
+ * @param mix             веса операций в смеси запросов
+ * @param baseUrl         адрес уже запущенного приложения, если пустой то приложение поднимается во встроенном Tomcat
+ * @param reportPath      путь к файлу JSON отчета
+ */
+public record LoadTestSettings(int concurrency, int warmupSeconds, int durationSeconds,
+                               Map<Operation, Integer> mix, String baseUrl, String reportPath) {
+
+    /**
+     * Чтение параметров из системных свойств
+     *
+     * @return LoadTestSettings объект
+     */
+    public static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.concurrency", 16),
+                Integer.getInteger("loadtest.warmupSeconds", 10),
+                Integer.getInteger("loadtest.durationSeconds", 60),
+                parseMix(System.getProperty("loadtest.mix", "book=25,available=45,all=10,delete=20")),
+                System.getProperty("loadtest.baseUrl", ""),
+                System.getProperty("loadtest.report", "target/load-test-report.json"));
+    }
+
+    /**
+     * Разбор смеси запросов вида "book=25,available=45,all=10,delete=20"
+     *
+     * @param mix строка со смесью запросов
+     * @return веса операций, операции с нулевым весом не выполняются
+     */
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] keyAndWeight = entry.trim().split("=");
+            if (keyAndWeight.length != 2) {
+                throw new IllegalArgumentException("Неверный формат смеси запросов: " + mix);
+            }
+            weights.put(Operation.byKey(keyAndWeight[0].trim()), Integer.parseInt(keyAndWeight[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Сумма весов смеси запросов должна быть положительной: " + mix);
+        }
+        return weights;
+    }
+}
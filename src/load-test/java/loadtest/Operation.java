@@ -0,0 +1,55 @@
+package loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Операции, из которых состоит смесь запросов нагрузочного теста
+ */
+public enum Operation {
+
+    /**
+     * POST /book-place
+     */
+    BOOK_PLACE("book"),
+
+    /**
+     * GET /get-available-slots
+     */
+    GET_AVAILABLE_SLOTS("available"),
+
+    /**
+     * GET /get-all-booking
+     */
+    GET_ALL_BOOKING("all"),
+
+    /**
+     * DELETE /delete-booked-place
+     */
+    DELETE_BOOKED_PLACE("delete");
+
+    /**
+     * Имя операции в параметре loadtest.mix и в отчете
+     */
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Поиск операции по имени
+     *
+     * @param key имя операции
+     * @return Operation объект
+     */
+    public static Operation byKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equals(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Неизвестная операция: " + key));
+    }
+}
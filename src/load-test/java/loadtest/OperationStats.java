@@ -0,0 +1,63 @@
+package loadtest;
+
+import org.coworking.metrics.LatencyHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Результаты одной операции нагрузочного теста: время ответа, ошибки и распределение кодов ответа
+ */
+public class OperationStats {
+
+    /**
+     * Время ответа в наносекундах
+     */
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    /**
+     * Количество ответов с кодом 4xx/5xx и запросов, завершившихся исключением
+     */
+    private final LongAdder errors = new LongAdder();
+
+    /**
+     * Количество ответов по коду ответа или по имени исключения
+     */
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    /**
+     * Запись результата запроса
+     *
+     * @param nanos   время ответа в наносекундах
+     * @param outcome код ответа или имя исключения
+     * @param error   признак ошибки
+     */
+    public void record(long nanos, String outcome, boolean error) {
+        latency.record(nanos);
+        if (error) {
+            errors.increment();
+        }
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+    }
+
+    public LatencyHistogram.Snapshot getLatency() {
+        return latency.snapshot();
+    }
+
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    /**
+     * Получение распределения результатов запросов
+     *
+     * @return количество ответов по коду ответа или имени исключения в порядке возрастания ключа
+     */
+    public Map<String, Long> getOutcomes() {
+        Map<String, Long> result = new TreeMap<>();
+        outcomes.forEach((outcome, count) -> result.put(outcome, count.sum()));
+        return result;
+    }
+}
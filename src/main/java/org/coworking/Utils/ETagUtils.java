@@ -0,0 +1,31 @@
+package org.coworking.Utils;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Класс который содержит методы для построения ETag по счетчикам изменений данных
+ */
+public class ETagUtils {
+
+    /**
+     * Идентификатор запуска приложения. Счетчики изменений хранятся в памяти и после перезапуска начинаются заново,
+     * поэтому ETag, выданные до перезапуска, не должны совпасть с новыми
+     */
+    private static final String INSTANCE_ID = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+    /**
+     * Построение слабого ETag ресурса по значениям счетчиков изменений данных, от которых он зависит.
+     * Один и тот же ответ отдается сжатым gzip или deflate, без сжатия или с отступами при pretty=true,
+     * а ETag описывает только данные, поэтому он слабый: сильный ETag должен различаться для каждого набора байт
+     *
+     * @param resource имя ресурса, например имя endpoint и его параметры
+     * @param versions значения счетчиков изменений
+     * @return слабый ETag, например W/"places-lzx3k1a0-12"
+     */
+    public static String versionedETag(String resource, long... versions) {
+        return Arrays.stream(versions)
+                .mapToObj(Long::toString)
+                .collect(Collectors.joining(".", "W/\"" + resource + "-" + INSTANCE_ID + "-", "\""));
+    }
+}
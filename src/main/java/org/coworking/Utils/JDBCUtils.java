@@ -2,6 +2,7 @@ package org.coworking.Utils;
 
 import org.coworking.annotations.Loggable;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 
@@ -11,6 +12,50 @@ import java.sql.SQLException;
 @Loggable
 public class JDBCUtils {
 
+    /**
+     * Действие над БД, выполняемое в рамках одной транзакции
+     *
+     * @param <T> тип результата действия
+     */
+    @FunctionalInterface
+    public interface TransactionalAction<T> {
+
+        /**
+         * Выполнение действия
+         *
+         * @param connection Connection объект, взятый из пула на время транзакции
+         * @return результат действия
+         * @throws SQLException если в ходе действия возникла ошибка БД
+         */
+        T execute(Connection connection) throws SQLException;
+    }
+
+    /**
+     * Выполнение нескольких запросов на одном соединении из пула в рамках одной транзакции.
+     * В случае ошибки изменения отменяются, а исключение пробрасывается дальше
+     *
+     * @param dataSource пул соединений с БД
+     * @param action     действие, которое нужно выполнить
+     * @param <T>        тип результата действия
+     * @return результат действия
+     * @throws SQLException если в ходе транзакции возникла ошибка БД
+     */
+    public static <T> T executeInTransaction(DataSource dataSource, TransactionalAction<T> action) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                T result = action.execute(connection);
+                connection.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                rollback(connection);
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
     /**
      * Оборачивание вызова rollback метода, который отменяет изменения текущей транзакции,
      * для обработки исключения, если оно возникает
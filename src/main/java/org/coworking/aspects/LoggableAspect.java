@@ -4,13 +4,18 @@ import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.coworking.metrics.MethodMetricsRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
- * Аспект, который логирует выполнение методов и замеряет время их выполнения
+ * Аспект, который замеряет время выполнения методов и записывает его в гистограммы.
+ * Логирование вызовов выполняется только для выборки вызовов, если она включена
  */
 @Aspect
 @Component
@@ -21,6 +26,22 @@ public class LoggableAspect {
      */
     private static final Logger LOGGER = Logger.getLogger(LoggableAspect.class.getName());
 
+    /**
+     * Реестр гистограмм времени выполнения методов
+     */
+    private final MethodMetricsRegistry methodMetricsRegistry;
+
+    /**
+     * Доля вызовов от 0 до 1, для которых выполняется логирование. 0 отключает логирование
+     */
+    private final double traceSampleRate;
+
+    public LoggableAspect(MethodMetricsRegistry methodMetricsRegistry,
+                          @Value("${loggingTraceSampleRate}") double traceSampleRate) {
+        this.methodMetricsRegistry = methodMetricsRegistry;
+        this.traceSampleRate = traceSampleRate;
+    }
+
     /**
      * PointCut который определяет в каком месте будет выполненно логирование
      */
@@ -28,21 +49,56 @@ public class LoggableAspect {
     public void annotatedByLoggable(){}
 
     /**
-     * Набор инструкций который выолняет логирование с замером времени
+     * Набор инструкций который выолняет замер времени выполнения и, для выборки вызовов, логирование
      * @param proceedingJoinPoint объект, контролирующий точку наблюдения
      * @return Результат работы proceed метода
      * @throws Throwable в случае если возникнет проблема
      */
     @Around("annotatedByLoggable()")
     public Object logging(ProceedingJoinPoint proceedingJoinPoint) throws Throwable{
+        if (traceSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < traceSampleRate) {
+            return tracedLogging(proceedingJoinPoint);
+        }
+        long start = System.nanoTime();
+        try {
+            return proceedingJoinPoint.proceed();
+        } finally {
+            record(proceedingJoinPoint, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Замер времени выполнения с логированием начала и окончания вызова
+     * @param proceedingJoinPoint объект, контролирующий точку наблюдения
+     * @return Результат работы proceed метода
+     * @throws Throwable в случае если возникнет проблема
+     */
+    private Object tracedLogging(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
         String callingMethodMessage = "Calling " + proceedingJoinPoint.getSignature();
         LOGGER.log(Level.INFO, callingMethodMessage);
-        long start = System.currentTimeMillis();
-        Object result = proceedingJoinPoint.proceed();
-        long end = System.currentTimeMillis() - start;
+        long start = System.nanoTime();
+        Object result;
+        long end;
+        try {
+            result = proceedingJoinPoint.proceed();
+        } finally {
+            end = System.nanoTime() - start;
+            record(proceedingJoinPoint, end);
+        }
         String executionInfoMessage = "Excution of " + proceedingJoinPoint.getSignature() +
-                " finished. Execution time is " + end + "ms";
+                " finished. Execution time is " + end / 1_000_000 + "ms";
         LOGGER.log(Level.INFO, executionInfoMessage);
         return result;
     }
+
+    /**
+     * Запись замера в гистограмму выполненного метода
+     * @param proceedingJoinPoint объект, контролирующий точку наблюдения
+     * @param nanos время выполнения в наносекундах
+     */
+    private void record(ProceedingJoinPoint proceedingJoinPoint, long nanos) {
+        if (proceedingJoinPoint.getSignature() instanceof MethodSignature signature) {
+            methodMetricsRegistry.record(signature.getMethod(), nanos);
+        }
+    }
 }
@@ -6,8 +6,9 @@ import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.coworking.dtos.MessageDTO;
 import org.coworking.models.User;
-import org.coworking.repositories.UserActionAuditRepository;
-import org.coworking.repositories.impl.UserRepositoryImpl;
+import org.coworking.models.UserActionAudit;
+import org.coworking.security.TokenService;
+import org.coworking.services.UserActionAuditWriter;
 import org.coworking.services.UserService;
 import org.coworking.services.validators.UserValidator;
 import org.springframework.http.HttpStatus;
@@ -15,12 +16,13 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 
 import javax.servlet.http.HttpServletResponse;
-import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import static java.util.Objects.isNull;
+
 /**
  * Аспект, который выполняет аудит основных действий пользователя
  */
@@ -29,7 +31,7 @@ import java.util.stream.Stream;
 @RequiredArgsConstructor
 public class UserAuditAspect {
 
-    private final Connection connection;
+    private final UserService userService;
 
     private final UserValidator userValidator;
 
@@ -37,6 +39,8 @@ public class UserAuditAspect {
 
     private static final String USER_BOOKED_PLACE_DESCRIPTION = "Пользователь забронировал место";
 
+    private static final String USER_BOOKED_PLACES_DESCRIPTION = "Пользователь забронировал несколько мест";
+
     private static final String USER_DELETE_BOOKING_DESCRIPTION = "Пользователь отменил бронирование";
 
     private static final String USER_BOOKING_VIEW_DESCRIPTION = "Пользователь просмотрел бронированые места";
@@ -51,6 +55,8 @@ public class UserAuditAspect {
 
     private static final String ADMIN_DELETING_PLACE_DESCRIPTION = "Администратор удалил место";
 
+    private static final String ADMIN_IMPORT_USERS_DESCRIPTION = "Администратор импортировал пользователей";
+
     /**
      * Advice, который выполняет инструкции по аудированию удалени места пользователем
      */
@@ -84,17 +90,17 @@ public class UserAuditAspect {
     }
 
     /**
-     * Advice, который выполняет инструкции по аудированию простмотра доступных мест
+     * Advice, который выполняет инструкции по аудированию простмотра доступных мест на дату и за период
      */
-    @Around("bean(bookedPlaceController) && execution(* org.coworking.controllers.BookedPlaceController.getAvailableBookedPlaces(..))")
+    @Around("bean(bookedPlaceController) && (execution(* org.coworking.controllers.BookedPlaceController.getAvailableBookedPlaces(..)) || execution(* org.coworking.controllers.BookedPlaceController.getAvailableSlotsRange(..)))")
     public Object availableSlotsAudit(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
         return performPlaceAudit(proceedingJoinPoint, USER_AVAILABLE_SLOTS_DESCRIPTION);
     }
 
     /**
-     * Advice, который выполняет инструкции по аудированию просмотра бронирований
+     * Advice, который выполняет инструкции по аудированию просмотра и выгрузки бронирований
      */
-    @Around("bean(bookedPlaceController) && (execution(* org.coworking.controllers.BookedPlaceController.getAllBooking(..)) || execution(* org.coworking.controllers.BookedPlaceController.getCurrentUserBooking(..)))")
+    @Around("bean(bookedPlaceController) && (execution(* org.coworking.controllers.BookedPlaceController.getAllBooking(..)) || execution(* org.coworking.controllers.BookedPlaceController.getCurrentUserBooking(..)) || execution(* org.coworking.controllers.BookedPlaceController.exportAllBooking(..)))")
     public Object viewBookingAudit(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
         return performPlaceAudit(proceedingJoinPoint, USER_BOOKING_VIEW_DESCRIPTION);
     }
@@ -115,6 +121,14 @@ public class UserAuditAspect {
         return performPlaceAudit(proceedingJoinPoint, USER_BOOKED_PLACE_DESCRIPTION);
     }
 
+    /**
+     * Advice, который выполняет инструкции по аудированию пакетного бронирования
+     */
+    @Around("bean(bookedPlaceController) && execution(* org.coworking.controllers.BookedPlaceController.bookPlaces(..))")
+    public Object bookPlacesAudit(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+        return performPlaceAudit(proceedingJoinPoint, USER_BOOKED_PLACES_DESCRIPTION);
+    }
+
     /**
      * Advice, который выполняет инструкции по аудированию регистрции пользователя
      */
@@ -130,8 +144,16 @@ public class UserAuditAspect {
         return result;
     }
 
+    /**
+     * Advice, который выполняет инструкции по аудированию импорта пользователей
+     */
+    @Around("bean(userController) && execution(* org.coworking.controllers.UserController.importUsers*(..))")
+    public Object importUsersAudit(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+        return performPlaceAudit(proceedingJoinPoint, ADMIN_IMPORT_USERS_DESCRIPTION);
+    }
+
     private static boolean isStatusIsOk(ResponseEntity<?> result) {
-        return result.getStatusCode() == HttpStatus.OK;
+        return result != null && result.getStatusCode() == HttpStatus.OK;
     }
 
     /**
@@ -142,8 +164,8 @@ public class UserAuditAspect {
      * @throws Throwable в случае если возникнет проблема
      */
     private Object performPlaceAudit(ProceedingJoinPoint proceedingJoinPoint, String description) throws Throwable {
-        var result = (ResponseEntity<?>) proceedingJoinPoint.proceed();
-        if (isStatusIsOk(result)) {
+        var result = proceedingJoinPoint.proceed();
+        if (isSucceeded(proceedingJoinPoint, result)) {
             String credentials = getAuthCredentials(proceedingJoinPoint);
             User user = userValidator.authoriseUser(credentials);
             makeAudit(description, user);
@@ -151,28 +173,42 @@ public class UserAuditAspect {
         return result;
     }
 
+    /**
+     * Проверка успешности запроса. Потоковые методы ничего не возвращают и пишут ответ
+     * в HttpServletResponse, поэтому для них проверяется его статус
+     * @param proceedingJoinPoint объект, контролирующий точку наблюдения
+     * @param result Результат работы proceed метода
+     * @return true если запрос выполнен успешно
+     */
+    private static boolean isSucceeded(ProceedingJoinPoint proceedingJoinPoint, Object result) {
+        if (isNull(result)) {
+            return getResponse(proceedingJoinPoint).getStatus() == HttpStatus.OK.value();
+        }
+        return isStatusIsOk((ResponseEntity<?>) result);
+    }
+
     private static String getAuthCredentials(ProceedingJoinPoint proceedingJoinPoint) {
         Object[] args = proceedingJoinPoint.getArgs();
         return Stream.of(args)
                 .filter(o -> o instanceof String)
                 .map(o -> (String)o)
-                .filter(s -> s.toLowerCase().contains("basic"))
+                .filter(s -> s.toLowerCase().contains("basic") || s.startsWith(TokenService.BEARER_PREFIX))
                 .findAny()
                 .orElseThrow();
     }
 
     /**
-     * Репозиторий, который позволяет рпаботать с хранилищем записией о событияъ
+     * Асинхронная запись событий в хранилище аудита
      */
-    private final UserActionAuditRepository userActionAuditRepository;
+    private final UserActionAuditWriter userActionAuditWriter;
 
     /**
-     * Запись события в БД
+     * Постановка события в очередь на запись в БД
      * @param description Описание события
      * @param user Пользователь который совершил дейстиве
      */
     public void makeAudit(String description, User user) {
-        userActionAuditRepository.save(user, description, LocalDateTime.now());
+        userActionAuditWriter.submit(new UserActionAudit(user, description, LocalDateTime.now()));
     }
 
     /**
@@ -191,7 +227,7 @@ public class UserAuditAspect {
      * @throws SQLException если возникла ошибка при связи с БД
      */
     public Optional<User> getUserByName(String username){
-        return new UserService(new UserRepositoryImpl(connection)).getUserByName(username);
+        return userService.getUserByName(username);
     }
 
 }
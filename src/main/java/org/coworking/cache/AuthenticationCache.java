@@ -0,0 +1,139 @@
+package org.coworking.cache;
+
+import org.coworking.models.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Ограниченный по размеру кэш результатов авторизации с истечением записей по времени.
+ * Ключом служит HMAC-SHA256 дайджест значения Authorization header со случайным ключом, который создается при запуске
+ * и не покидает память процесса. Поэтому сами учетные данные в памяти не хранятся, а повторная проверка пароля
+ * медленным хэшем нужна только после истечения записи
+ */
+@Component
+public class AuthenticationCache {
+
+    /**
+     * Максимальное количество записей в кэше
+     */
+    private final int maxSize;
+
+    /**
+     * Время жизни записи в миллисекундах
+     */
+    private final long ttlMillis;
+
+    /**
+     * Записи кэша в порядке последнего обращения, самая давняя вытесняется при переполнении
+     */
+    private final Map<String, Entry> entries;
+
+    /**
+     * Алгоритм дайджеста учетных данных
+     */
+    private static final String DIGEST_ALGORITHM = "HmacSHA256";
+
+    /**
+     * Ключ дайджеста учетных данных
+     */
+    private final SecretKeySpec digestKey;
+
+    /**
+     * Запись кэша
+     *
+     * @param user      авторизированный пользователь
+     * @param expiresAt момент времени в миллисекундах, после которого запись недействительна
+     */
+    private record Entry(User user, long expiresAt) {
+    }
+
+    public AuthenticationCache(@Value("${authCacheMaxSize}") int maxSize,
+                               @Value("${authCacheTtlSeconds}") long ttlSeconds) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttlSeconds * 1000;
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.digestKey = new SecretKeySpec(key, DIGEST_ALGORITHM);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > AuthenticationCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Получение пользователя, ранее авторизированного с данными учетными данными
+     *
+     * @param credentials значение Authorization header
+     * @return Optional объект, в который обернут User, или пустой Optional если записи нет или она устарела
+     */
+    public synchronized Optional<User> get(String credentials) {
+        String key = digest(credentials);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.expiresAt() < System.currentTimeMillis()) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.user());
+    }
+
+    /**
+     * Сохранение результата успешной авторизации
+     *
+     * @param credentials значение Authorization header
+     * @param user        авторизированный пользователь
+     */
+    public synchronized void put(String credentials, User user) {
+        if (maxSize <= 0 || ttlMillis <= 0) {
+            return;
+        }
+        entries.put(digest(credentials), new Entry(user, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Удаление всех записей пользователя, вызывается UserService при замене пароля пользователя
+     *
+     * @param username имя пользователя
+     */
+    public synchronized void evictByUsername(String username) {
+        entries.values().removeIf(entry -> Objects.equals(entry.user().getName(), username));
+    }
+
+    /**
+     * Очистка кэша
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Вычисление HMAC-SHA256 дайджеста учетных данных
+     *
+     * @param credentials значение Authorization header
+     * @return дайджест в шестнадцатеричном виде
+     */
+    private String digest(String credentials) {
+        try {
+            Mac mac = Mac.getInstance(DIGEST_ALGORITHM);
+            mac.init(digestKey);
+            return HexFormat.of().formatHex(mac.doFinal(credentials.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package org.coworking.cache;
+
+import org.coworking.dtos.AvailableSlotsDTO;
+import org.coworking.dtos.SlotDTO;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Материализованные свободные слоты мест по дням для ближайших horizonDays дней.
+ * День строится целиком при первом обращении или после изменения каталога мест,
+ * а при создании и отмене бронирования пересчитываются только слоты забронированного места в затронутые дни
+ */
+public class AvailabilityStore {
+
+    /**
+     * Свободные слоты всех мест на один день
+     *
+     * @param placesVersion           значение счетчика изменений мест, для которого построен день
+     * @param availableSlotsByPlaceId свободные слоты по id места в порядке каталога мест
+     */
+    private record DayAvailability(long placesVersion, Map<Integer, AvailableSlotsDTO> availableSlotsByPlaceId) {
+    }
+
+    /**
+     * Количество дней после текущего, для которых хранятся свободные слоты
+     */
+    private final int horizonDays;
+
+    /**
+     * Свободные слоты по дням
+     */
+    private final Map<LocalDate, DayAvailability> days = new ConcurrentHashMap<>();
+
+    /**
+     * @param horizonDays количество дней после текущего, для которых хранятся свободные слоты
+     */
+    public AvailabilityStore(int horizonDays) {
+        this.horizonDays = horizonDays;
+    }
+
+    /**
+     * Проверка, хранятся ли свободные слоты для даты
+     *
+     * @param today текущая дата
+     * @param date  дата
+     * @return true если дата находится в пределах от today до today + horizonDays
+     */
+    public boolean covers(LocalDate today, LocalDate date) {
+        return !date.isBefore(today) && !date.isAfter(today.plusDays(horizonDays));
+    }
+
+    /**
+     * Получение свободных слотов всех мест на день. Если день еще не построен или построен для другой версии
+     * каталога мест, он строится заново, а дни, оставшиеся в прошлом, удаляются
+     *
+     * @param today         текущая дата
+     * @param date          дата, для которой нужны свободные слоты
+     * @param placesVersion текущее значение счетчика изменений мест
+     * @param builder       построение свободных слотов всех мест на день в порядке каталога мест
+     * @return список свободных слотов по местам
+     */
+    public List<AvailableSlotsDTO> getDay(LocalDate today, LocalDate date, long placesVersion,
+                                          Function<LocalDate, List<AvailableSlotsDTO>> builder) {
+        DayAvailability day = days.get(date);
+        if (day == null || day.placesVersion() != placesVersion) {
+            days.keySet().removeIf(storedDate -> storedDate.isBefore(today));
+            day = days.compute(date, (key, existing) -> existing != null && existing.placesVersion() == placesVersion
+                    ? existing
+                    : new DayAvailability(placesVersion, toMap(builder.apply(key))));
+        }
+        return List.copyOf(day.availableSlotsByPlaceId().values());
+    }
+
+    /**
+     * Пересчет свободных слотов одного места в уже построенные дни периода
+     *
+     * @param placeId id места
+     * @param from    первый день периода
+     * @param to      последний день периода включительно
+     * @param slots   вычисление свободных слотов места на день
+     */
+    public void refreshPlace(int placeId, LocalDate from, LocalDate to, Function<LocalDate, List<SlotDTO>> slots) {
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            days.computeIfPresent(date, (key, day) -> {
+                AvailableSlotsDTO current = day.availableSlotsByPlaceId().get(placeId);
+                if (current == null) {
+                    return day;
+                }
+                Map<Integer, AvailableSlotsDTO> availableSlotsByPlaceId = new LinkedHashMap<>(day.availableSlotsByPlaceId());
+                availableSlotsByPlaceId.put(placeId, new AvailableSlotsDTO(current.getPlaceDTO(), slots.apply(key)));
+                return new DayAvailability(day.placesVersion(), availableSlotsByPlaceId);
+            });
+        }
+    }
+
+    /**
+     * Упорядоченное отображение свободных слотов по id места
+     *
+     * @param availableSlots свободные слоты мест в порядке каталога мест
+     * @return отображение в том же порядке
+     */
+    private static Map<Integer, AvailableSlotsDTO> toMap(List<AvailableSlotsDTO> availableSlots) {
+        Map<Integer, AvailableSlotsDTO> availableSlotsByPlaceId = new LinkedHashMap<>();
+        availableSlots.forEach(dto -> availableSlotsByPlaceId.put(dto.getPlaceDTO().getId(), dto));
+        return availableSlotsByPlaceId;
+    }
+}
@@ -0,0 +1,170 @@
+package org.coworking.cache;
+
+import org.coworking.models.BookedPlace;
+import org.coworking.models.Slot;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.function.Supplier;
+
+/**
+ * Индекс бронирований в памяти, сгруппированных по id места и упорядоченных по началу временного слота.
+ * Загружается из хранилища один раз и далее поддерживается в актуальном состоянии при создании и отмене бронирований.
+ * Хранит только бронирования, заканчивающиеся после границы retainedFrom: закончившиеся раньше удаляются методом
+ * evictEndedBefore, поэтому размер индекса ограничен текущими и будущими бронированиями
+ */
+public class BookedPlaceIndex {
+
+    /**
+     * Порядок бронирований внутри одного места: по началу слота, затем по id бронирования
+     */
+    private static final Comparator<BookedPlace> BY_SLOT_START = Comparator
+            .comparing((BookedPlace bookedPlace) -> bookedPlace.getSlot().getStart())
+            .thenComparingInt(BookedPlace::getId);
+
+    /**
+     * Бронирования, сгруппированные по id места
+     */
+    private final Map<Integer, NavigableSet<BookedPlace>> bookingsByPlaceId = new ConcurrentHashMap<>();
+
+    /**
+     * Максимальная длительность бронирования в секундах, ограничивает поиск слотов, начавшихся до искомого периода
+     */
+    private final LongAccumulator maxDurationSeconds = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Граница хранимого окна: бронирования, закончившиеся не позже нее, в индексе не хранятся
+     */
+    private volatile LocalDateTime retainedFrom = LocalDateTime.MIN;
+
+    /**
+     * Признак того, что индекс уже заполнен данными из хранилища
+     */
+    private volatile boolean loaded;
+
+    /**
+     * Заполняет индекс при первом обращении
+     *
+     * @param loader источник всех существующих бронирований
+     */
+    public void loadIfRequired(Supplier<List<BookedPlace>> loader) {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (!loaded) {
+                loader.get().forEach(this::put);
+                loaded = true;
+            }
+        }
+    }
+
+    /**
+     * Добавляет бронирование в индекс, если индекс уже заполнен
+     *
+     * @param bookedPlace сохраненное бронирование
+     */
+    public synchronized void add(BookedPlace bookedPlace) {
+        if (loaded) {
+            put(bookedPlace);
+        }
+    }
+
+    /**
+     * Удаляет из индекса бронирования, закончившиеся не позже указанной границы, и сдвигает границу хранимого окна.
+     * Если граница не сдвинулась, индекс не просматривается
+     *
+     * @param boundary новая граница хранимого окна
+     */
+    public void evictEndedBefore(LocalDateTime boundary) {
+        if (!boundary.isAfter(retainedFrom)) {
+            return;
+        }
+        synchronized (this) {
+            if (!boundary.isAfter(retainedFrom)) {
+                return;
+            }
+            retainedFrom = boundary;
+            bookingsByPlaceId.values().forEach(bookings -> bookings.headSet(probe(boundary, Integer.MIN_VALUE))
+                    .removeIf(bookedPlace -> !bookedPlace.getSlot().getEnd().isAfter(boundary)));
+            bookingsByPlaceId.values().removeIf(NavigableSet::isEmpty);
+        }
+    }
+
+    /**
+     * Проверяет, что индекс содержит все бронирования, пересекающиеся с периодом, начинающимся в указанный момент
+     *
+     * @param from начало периода
+     * @return true, если период не начинается раньше границы хранимого окна
+     */
+    public boolean covers(LocalDateTime from) {
+        return !from.isBefore(retainedFrom);
+    }
+
+    /**
+     * Удаляет бронирование из индекса
+     *
+     * @param bookedPlace удаленное бронирование
+     */
+    public synchronized void remove(BookedPlace bookedPlace) {
+        var bookings = bookingsByPlaceId.get(bookedPlace.getPlace().getId());
+        if (bookings != null) {
+            bookings.remove(bookedPlace);
+        }
+    }
+
+    /**
+     * Возвращает бронирования места, пересекающиеся с указанным периодом, упорядоченные по началу слота
+     *
+     * @param placeId id места
+     * @param from    начало периода
+     * @param to      конец периода
+     * @return список бронирований
+     */
+    public List<BookedPlace> findAllByPlaceAndPeriod(int placeId, LocalDateTime from, LocalDateTime to) {
+        NavigableSet<BookedPlace> bookings = bookingsByPlaceId.get(placeId);
+        if (bookings == null) {
+            return List.of();
+        }
+        LocalDateTime earliestStart = from.minusSeconds(maxDurationSeconds.get());
+        return bookings.subSet(probe(earliestStart, Integer.MIN_VALUE), true, probe(to, Integer.MIN_VALUE), false).stream()
+                .filter(bookedPlace -> bookedPlace.getSlot().getEnd().isAfter(from))
+                .toList();
+    }
+
+    /**
+     * Помещает бронирование в индекс без проверки состояния индекса, если оно заканчивается после границы хранимого окна
+     *
+     * @param bookedPlace бронирование
+     */
+    private void put(BookedPlace bookedPlace) {
+        Slot slot = bookedPlace.getSlot();
+        if (!slot.getEnd().isAfter(retainedFrom)) {
+            return;
+        }
+        maxDurationSeconds.accumulate(Duration.between(slot.getStart(), slot.getEnd()).getSeconds());
+        bookingsByPlaceId.computeIfAbsent(bookedPlace.getPlace().getId(), id -> new ConcurrentSkipListSet<>(BY_SLOT_START))
+                .add(bookedPlace);
+    }
+
+    /**
+     * Создает граничный объект для поиска по индексу
+     *
+     * @param start начало слота
+     * @param id    id бронирования
+     * @return BookedPlace, используемый только для сравнения
+     */
+    private static BookedPlace probe(LocalDateTime start, int id) {
+        return BookedPlace.builder()
+                .id(id)
+                .slot(Slot.builder().start(start).end(start).build())
+                .build();
+    }
+}
@@ -0,0 +1,162 @@
+package org.coworking.cache;
+
+import org.coworking.models.Place;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Кэш каталога мест в памяти с поиском по id и по имени.
+ * Каталог целиком загружается из хранилища при первом обращении после создания или сброса кэша,
+ * и сбрасывается явно при каждом изменении мест
+ */
+public class PlaceCatalogCache {
+
+    /**
+     * Снимок каталога мест
+     *
+     * @param places       все места в порядке, в котором их вернуло хранилище
+     * @param placesById   места по id
+     * @param placesByName места по имени
+     */
+    private record Catalog(List<Place> places, Map<Integer, Place> placesById, Map<String, Place> placesByName) {
+    }
+
+    /**
+     * Статистика обращений к кэшу
+     *
+     * @param hits   количество обращений, обслуженных из памяти
+     * @param misses количество обращений, потребовавших загрузки каталога из хранилища
+     */
+    public record Statistics(long hits, long misses) {
+    }
+
+    /**
+     * Источник всех существующих мест
+     */
+    private final Supplier<List<Place>> loader;
+
+    /**
+     * Текущий снимок каталога или null, если каталог не загружен или сброшен
+     */
+    private volatile Catalog catalog;
+
+    /**
+     * Номер сброса кэша, не позволяет сохранить каталог, загруженный до последнего сброса
+     */
+    private long invalidationCount;
+
+    /**
+     * Количество обращений, обслуженных из памяти
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Количество обращений, потребовавших загрузки каталога из хранилища
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param loader источник всех существующих мест
+     */
+    public PlaceCatalogCache(Supplier<List<Place>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Получение всех мест
+     *
+     * @return неизменяемый список мест
+     */
+    public List<Place> findAll() {
+        return getCatalog().places();
+    }
+
+    /**
+     * Поиск места по id
+     *
+     * @param id id места
+     * @return Optional, содержащий Place объект, или пустой Optional, если такого места нет
+     */
+    public Optional<Place> findById(int id) {
+        return Optional.ofNullable(getCatalog().placesById().get(id));
+    }
+
+    /**
+     * Поиск места по имени
+     *
+     * @param placeName имя места
+     * @return Optional, содержащий Place объект, или пустой Optional, если такого места нет
+     */
+    public Optional<Place> findByName(String placeName) {
+        if (placeName == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(getCatalog().placesByName().get(placeName));
+    }
+
+    /**
+     * Сброс каталога, вызывается после каждого изменения мест в хранилище
+     */
+    public synchronized void invalidate() {
+        invalidationCount++;
+        catalog = null;
+    }
+
+    /**
+     * Получение статистики обращений к кэшу
+     *
+     * @return Statistics объект
+     */
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum());
+    }
+
+    /**
+     * Получение текущего каталога с загрузкой из хранилища, если он отсутствует.
+     * Загрузка выполняется без блокировки, чтобы медленное хранилище не задерживало сброс кэша
+     *
+     * @return снимок каталога мест
+     */
+    private Catalog getCatalog() {
+        Catalog current = catalog;
+        if (current != null) {
+            hits.increment();
+            return current;
+        }
+        misses.increment();
+        long expectedInvalidationCount;
+        synchronized (this) {
+            expectedInvalidationCount = invalidationCount;
+        }
+        Catalog loaded = toCatalog(loader.get());
+        synchronized (this) {
+            if (invalidationCount == expectedInvalidationCount) {
+                catalog = loaded;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Построение снимка каталога по списку мест.
+     * Уникальность имен мест не гарантируется БД, поэтому из мест с одинаковым именем по имени находится место
+     * с наименьшим id, а не выбрасывается исключение при каждой загрузке каталога
+     *
+     * @param places все места
+     * @return снимок каталога мест
+     */
+    private static Catalog toCatalog(List<Place> places) {
+        return new Catalog(List.copyOf(places),
+                places.stream().collect(Collectors.toUnmodifiableMap(Place::getId, Function.identity())),
+                places.stream().collect(Collectors.toUnmodifiableMap(Place::getPlaceName, Function.identity(),
+                        BinaryOperator.minBy(Comparator.comparingInt(Place::getId)))));
+    }
+}
@@ -0,0 +1,54 @@
+package org.coworking.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.lang.reflect.Type;
+
+/**
+ * Конвертер, который записывает JSON с отступами, только если запрос содержит параметр pretty=true.
+ * Регистрируется перед основным конвертером, поэтому в остальных случаях ответы остаются компактными
+ */
+public class PrettyPrintJackson2HttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    /**
+     * Имя параметра запроса, включающего форматирование ответа
+     */
+    public static final String PRETTY_PARAMETER = "pretty";
+
+    /**
+     * @param objectMapper ObjectMapper, на основе которого создается копия с отступами
+     */
+    public PrettyPrintJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT));
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return isPrettyPrintRequested() && super.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        return isPrettyPrintRequested() && super.canWrite(type, clazz, mediaType);
+    }
+
+    /**
+     * Проверка параметра pretty текущего запроса
+     *
+     * @return true если запрос содержит pretty=true, иначе false
+     */
+    private static boolean isPrettyPrintRequested() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes &&
+                Boolean.parseBoolean(attributes.getRequest().getParameter(PRETTY_PARAMETER));
+    }
+}
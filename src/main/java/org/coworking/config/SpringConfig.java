@@ -1,5 +1,8 @@
 package org.coworking.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import liquibase.Liquibase;
 import liquibase.database.DatabaseFactory;
 import liquibase.database.jvm.JdbcConnection;
@@ -30,8 +33,8 @@ import springfox.documentation.spi.service.contexts.SecurityContext;
 import springfox.documentation.spring.web.plugins.Docket;
 import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Arrays;
@@ -81,6 +84,48 @@ public class SpringConfig implements WebMvcConfigurer {
     @Value("${changeLogFile}")
     private String changeLogFileName;
 
+    /**
+     * Минимальное количество простаивающих соединений в пуле
+     */
+    @Value("${minimumIdle}")
+    private int minimumIdle;
+
+    /**
+     * Максимальный размер пула соединений
+     */
+    @Value("${maximumPoolSize}")
+    private int maximumPoolSize;
+
+    /**
+     * Время в миллисекундах, после которого простаивающее соединение закрывается
+     */
+    @Value("${idleTimeout}")
+    private long idleTimeout;
+
+    /**
+     * Время в миллисекундах, после которого не возвращенное в пул соединение считается утечкой
+     */
+    @Value("${leakDetectionThreshold}")
+    private long leakDetectionThreshold;
+
+    /**
+     * Количество выполнений PreparedStatement, после которого драйвер переходит на серверный prepared statement
+     */
+    @Value("${prepareThreshold}")
+    private int prepareThreshold;
+
+    /**
+     * Максимальное количество запросов в кэше prepared statements каждого соединения
+     */
+    @Value("${preparedStatementCacheQueries}")
+    private int preparedStatementCacheQueries;
+
+    /**
+     * Максимальный размер кэша prepared statements каждого соединения в мегабайтах
+     */
+    @Value("${preparedStatementCacheSizeMiB}")
+    private int preparedStatementCacheSizeMiB;
+
     /**
      * Установка Object mapper в HttpMessageConverter
      *
@@ -88,25 +133,44 @@ public class SpringConfig implements WebMvcConfigurer {
      */
     @Override
     public void configureMessageConverters(List<HttpMessageConverter<?>> converters) {
-        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
-                .indentOutput(true);
-
-        converters.add(new MappingJackson2HttpMessageConverter(builder.build()));
+        converters.add(new PrettyPrintJackson2HttpMessageConverter(objectMapper()));
+        converters.add(new MappingJackson2HttpMessageConverter(objectMapper()));
     }
 
     /**
-     * Создание связи с БД с выключенным авто-коммитов!
+     * ObjectMapper, которым сериализуются ответы контроллеров, в том числе потоковые
      *
-     * @return Connection объект через, который можно связаться с БД
-     * @throws SQLException В случае если есть проблема с БД
-     * @throws ClassNotFoundException если есть проблемы с подгрузкой Driver
+     * @return ObjectMapper объект
      */
     @Bean
-    public Connection connection() throws SQLException, ClassNotFoundException {
-        Class.forName("org.postgresql.Driver");
-        Connection connection = DriverManager.getConnection(url, user, password);
-        connection.setAutoCommit(false);
-        return connection;
+    public ObjectMapper objectMapper() {
+        return new Jackson2ObjectMapperBuilder().build();
+    }
+
+    /**
+     * Создание пула соединений с БД. Репозитории берут соединение из пула на время одной операции.
+     * Каждое соединение кэширует prepared statements по тексту запроса, поэтому повторные запросы
+     * с одинаковым SQL не проходят разбор и планирование заново. Пачки INSERT запросов драйвер отправляет
+     * многострочными INSERT
+     *
+     * @return DataSource объект, через который можно получить связь с БД
+     */
+    @Bean(destroyMethod = "close")
+    public DataSource dataSource() {
+        HikariConfig config = new HikariConfig();
+        config.setDriverClassName("org.postgresql.Driver");
+        config.setJdbcUrl(url);
+        config.setUsername(user);
+        config.setPassword(password);
+        config.setMinimumIdle(minimumIdle);
+        config.setMaximumPoolSize(maximumPoolSize);
+        config.setIdleTimeout(idleTimeout);
+        config.setLeakDetectionThreshold(leakDetectionThreshold);
+        config.addDataSourceProperty("prepareThreshold", prepareThreshold);
+        config.addDataSourceProperty("preparedStatementCacheQueries", preparedStatementCacheQueries);
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", preparedStatementCacheSizeMiB);
+        config.addDataSourceProperty("reWriteBatchedInserts", true);
+        return new HikariDataSource(config);
     }
 
     /**
@@ -168,21 +232,23 @@ public class SpringConfig implements WebMvcConfigurer {
     /**
      * Конфигурация Liquibase и запуск liquibase скриптов
      *
-     * @param connection Связь с БД
+     * @param dataSource пул соединений с БД
      * @return объект Liquibase
      * @throws LiquibaseException В случае есил есть проблемы со скриптами
      * @throws SQLException в случае если есть проблемы с БД
      */
     @Bean
-    public Liquibase liquibase(Connection connection) throws LiquibaseException, SQLException {
-        var database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+    public Liquibase liquibase(DataSource dataSource) throws LiquibaseException, SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            var database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
 
-        createSchemaForLiquibaseLogs(connection, liquibaseSchemaName);
-        database.setLiquibaseSchemaName(liquibaseSchemaName);
-        Liquibase liquibase = new Liquibase(changeLogFileName, new ClassLoaderResourceAccessor(), database);
+            createSchemaForLiquibaseLogs(connection, liquibaseSchemaName);
+            database.setLiquibaseSchemaName(liquibaseSchemaName);
+            Liquibase liquibase = new Liquibase(changeLogFileName, new ClassLoaderResourceAccessor(), database);
 
-        liquibase.update();
-        return liquibase;
+            liquibase.update();
+            return liquibase;
+        }
     }
 
     /**
@@ -193,10 +259,10 @@ public class SpringConfig implements WebMvcConfigurer {
      * @throws SQLException в случае если есть проблемы с БД
      */
     private static void createSchemaForLiquibaseLogs(Connection connection, String liquibaseSchemaName) throws SQLException {
-        Statement statement = connection.createStatement();
-        String schemaCreationQuery = "CREATE SCHEMA IF NOT EXISTS " + liquibaseSchemaName;
-        statement.executeUpdate(schemaCreationQuery);
-        connection.commit();
+        try (Statement statement = connection.createStatement()) {
+            String schemaCreationQuery = "CREATE SCHEMA IF NOT EXISTS " + liquibaseSchemaName;
+            statement.executeUpdate(schemaCreationQuery);
+        }
     }
 }
 
@@ -1,8 +1,11 @@
 package org.coworking.config;
 
 import org.coworking.annotations.Loggable;
+import org.springframework.web.filter.DelegatingFilterProxy;
 import org.springframework.web.servlet.support.AbstractAnnotationConfigDispatcherServletInitializer;
 
+import javax.servlet.Filter;
+
 /**
  * Класс инициализирующий Spring приложение
  */
@@ -23,4 +26,9 @@ public class SpringInit extends AbstractAnnotationConfigDispatcherServletInitial
     protected String[] getServletMappings() {
         return new String[]{"/"};
     }
+
+    @Override
+    protected Filter[] getServletFilters() {
+        return new Filter[]{new DelegatingFilterProxy("compressionFilter"), new DelegatingFilterProxy("tokenAuthenticationFilter")};
+    }
 }
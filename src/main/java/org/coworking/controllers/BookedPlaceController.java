@@ -1,9 +1,14 @@
 package org.coworking.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import lombok.RequiredArgsConstructor;
+import org.coworking.Utils.ETagUtils;
 import org.coworking.Utils.exceptions.BookedPlaceConflictsException;
 import org.coworking.Utils.exceptions.ForbiddenAccessException;
 import org.coworking.Utils.exceptions.RequiredAuthorisationException;
@@ -12,12 +17,21 @@ import org.coworking.Utils.mappers.BookedPlaceMapper;
 import org.coworking.annotations.Loggable;
 import org.coworking.dtos.AvailableSlotsDTO;
 import org.coworking.dtos.BookedPlaceDTO;
+import org.coworking.dtos.BookingBatchResultDTO;
+import org.coworking.dtos.BookingResultDTO;
+import org.coworking.dtos.DayAvailableSlotsDTO;
 import org.coworking.dtos.MessageDTO;
 import org.coworking.models.BookedPlace;
+import org.coworking.models.BookedPlacePage;
+import org.coworking.models.BookingBatchResult;
 import org.coworking.models.User;
 import org.coworking.services.BookedPlaceService;
+import org.coworking.services.PlaceService;
 import org.coworking.services.validators.BookedPlaceValidator;
 import org.coworking.services.validators.UserValidator;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -26,10 +40,16 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 import static java.util.Objects.nonNull;
 
@@ -42,6 +62,11 @@ import static java.util.Objects.nonNull;
 @RequiredArgsConstructor
 public class BookedPlaceController {
 
+    /**
+     * Заголовок ответа с курсором следующей страницы списка всех бронирований
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     /**
      * Сервис для валидации пользовательских данных
      */
@@ -52,11 +77,21 @@ public class BookedPlaceController {
      */
     private final BookedPlaceService bookedPlaceService;
 
+    /**
+     * Сервис для работы с местами
+     */
+    private final PlaceService placeService;
+
     /**
      * Класс валидирующий данные о бронировании
      */
     private final BookedPlaceValidator bookedPlaceValidator;
 
+    /**
+     * ObjectMapper, которым записываются потоковые ответы
+     */
+    private final ObjectMapper objectMapper;
+
     /**
      * Метод POST, который сохраняет данные о бронировании в БД
      *
@@ -78,13 +113,45 @@ public class BookedPlaceController {
         bookedPlaceValidator.validateDateTimeFormat(bookedPlaceDTO.getSlotDTO().getStart());
         bookedPlaceValidator.validateDateTimeFormat(bookedPlaceDTO.getSlotDTO().getEnd());
         BookedPlace bookedPlace = BookedPlaceMapper.INSTANCE.bookedPlaceDtoToBookedPlace(bookedPlaceDTO);
-        bookedPlaceValidator.validateBookingPlace(bookedPlace);
+        bookedPlaceValidator.validateBookingPeriod(bookedPlace.getSlot().getStart(), bookedPlace.getSlot().getEnd());
         bookedPlaceService.bookPlace(bookedPlace, authorisedUser);
         final String message = "Бронирование выполненно успешно";
 
         return ResponseEntity.ok(new MessageDTO(message));
     }
 
+    /**
+     * Метод POST, который сохраняет несколько бронирований текущего пользователя в одной транзакции.
+     * Конфликты всех бронирований, в том числе друг с другом, проверяются одним запросом.
+     * Если atomic равен true, то при любой ошибке не создается ни одно бронирование и возвращается 400,
+     * иначе создаются все корректные бронирования без конфликтов. В обоих случаях ответ содержит результат
+     * каждого бронирования
+     *
+     * @param bookedPlaceDTOs данные о бронированиях
+     * @param atomic          true, если бронирования создаются только все вместе
+     * @param credentials     данные из Basic Auth header
+     * @return ResponseEntity, содержащий результаты бронирований
+     * @throws RequiredAuthorisationException если пользователь не авторизировался через Basic Auth
+     * @throws UserAuthorisationException     если пользователь ввел неправильные данные для авторизации
+     * @throws BookedPlaceConflictsException  если количество бронирований неправильное или конфликт возник при сохранении
+     */
+    @ApiOperation(value = "Создание нескольких бронирований",
+            notes = "Создает несколько бронирований для текущего пользователя в одной транзакции")
+    @PostMapping("/book-places")
+    public ResponseEntity<BookingBatchResultDTO> bookPlaces(@RequestBody List<BookedPlaceDTO> bookedPlaceDTOs,
+                                                            @RequestParam(value = "atomic", defaultValue = "true") boolean atomic,
+                                                            @ApiParam(hidden = true) @RequestHeader(value = "Authorization", required = false) String credentials) throws RequiredAuthorisationException, UserAuthorisationException, BookedPlaceConflictsException {
+        User authorisedUser = userValidator.authoriseUser(credentials);
+        Map<Integer, String> rejectedBookings = bookedPlaceValidator.validateBookingBatch(bookedPlaceDTOs);
+        List<BookedPlace> bookedPlaces = IntStream.range(0, bookedPlaceDTOs.size())
+                .mapToObj(i -> rejectedBookings.containsKey(i) ? null : BookedPlaceMapper.INSTANCE.bookedPlaceDtoToBookedPlace(bookedPlaceDTOs.get(i)))
+                .toList();
+        BookingBatchResult result = bookedPlaceService.bookPlaces(bookedPlaces, rejectedBookings, authorisedUser, atomic);
+        BookingBatchResultDTO resultDto = toBookingBatchResultDto(result);
+        boolean rejected = result.bookedCount() < bookedPlaceDTOs.size();
+        return atomic && rejected ? ResponseEntity.badRequest().body(resultDto) : ResponseEntity.ok(resultDto);
+    }
+
     /**
      * Метод DELETE удаляюзий запись о бронировании из БД
      *
@@ -101,18 +168,20 @@ public class BookedPlaceController {
     public ResponseEntity<MessageDTO> deleteBookedPlace(@RequestParam(value = "id", required = false) int id,
                                                         @ApiParam(hidden = true) @RequestHeader(value = "Authorization", required = false) String credentials) throws RequiredAuthorisationException, UserAuthorisationException, BookedPlaceConflictsException {
         User user = userValidator.authoriseUser(credentials);
-        bookedPlaceValidator.validateCancelingBookedPlaceByNonAdmin(id, user);
-        bookedPlaceService.cancelBooking(id);
+        bookedPlaceService.cancelBooking(id, user);
         final String message = "Удаление было выполненно успешно";
 
         return ResponseEntity.ok(new MessageDTO(message));
     }
 
     /**
-     * Метод GET возвращающий список всех доступных слотов по определенной дате
+     * Метод GET возвращающий список всех доступных слотов по определенной дате.
+     * Ответ содержит ETag, построенный по счетчикам изменений мест и бронирований, и если он совпадает с If-None-Match,
+     * возвращается 304 без обращения к БД
      *
      * @param date        дата, по которой будет происходить поиск доступных мест
      * @param credentials данные из Basic Auth header
+     * @param webRequest  текущий запрос, по которому проверяется If-None-Match
      * @return ResponseEntity, содержащий список доступных слотов
      * @throws RequiredAuthorisationException если пользователь не авторизировался через Basic Auth
      * @throws UserAuthorisationException     если пользователь ввел неправильные данные для авторизации
@@ -121,34 +190,117 @@ public class BookedPlaceController {
             notes = "Просмотр всех доступных слотов для бронирования")
     @GetMapping("/get-available-slots")
     public ResponseEntity<List<AvailableSlotsDTO>> getAvailableBookedPlaces(@RequestParam(value = "date", required = false) String date,
-                                                                            @ApiParam(hidden = true) @RequestHeader(value = "Authorization", required = false) String credentials) throws RequiredAuthorisationException, UserAuthorisationException {
+                                                                            @ApiParam(hidden = true) @RequestHeader(value = "Authorization", required = false) String credentials,
+                                                                            @ApiParam(hidden = true) WebRequest webRequest) throws RequiredAuthorisationException, UserAuthorisationException {
         userValidator.authoriseUser(credentials);
         var dateTime = LocalDate.parse(date, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        String eTag = ETagUtils.versionedETag("available-slots-" + dateTime,
+                placeService.getModificationCount(), bookedPlaceService.getModificationCount());
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         var allAvailableSlotsMap = bookedPlaceService.getAllAvailableDTOSlots(dateTime.atStartOfDay());
-        return ResponseEntity.ok(allAvailableSlotsMap);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(allAvailableSlotsMap);
+    }
+
+    /**
+     * Метод GET возвращающий свободные слоты мест за каждый день диапазона дат.
+     * Ответ содержит ETag, построенный по счетчикам изменений мест и бронирований
+     *
+     * @param from        первый день диапазона в формате yyyy-MM-dd
+     * @param to          последний день диапазона включительно в формате yyyy-MM-dd
+     * @param placeType   тип мест, WORKPLACE или CONFERENCE_HALL, если не указан, возвращаются все места
+     * @param credentials данные из Basic Auth header
+     * @param webRequest  текущий запрос, по которому проверяется If-None-Match
+     * @return ResponseEntity, содержащий свободные слоты мест по дням
+     * @throws RequiredAuthorisationException если пользователь не авторизировался через Basic Auth
+     * @throws UserAuthorisationException     если пользователь ввел неправильные данные для авторизации
+     * @throws BookedPlaceConflictsException  если диапазон дат или тип места указаны неправильно
+     */
+    @ApiOperation(value = "Просмотр доступных слотов за диапазон дат",
+            notes = "Просмотр свободных промежутков всех мест за каждый день диапазона дат")
+    @GetMapping("/get-available-slots-range")
+    public ResponseEntity<List<DayAvailableSlotsDTO>> getAvailableSlotsRange(@RequestParam(value = "from") String from,
+                                                                             @RequestParam(value = "to") String to,
+                                                                             @RequestParam(value = "placeType", required = false) String placeType,
+                                                                             @ApiParam(hidden = true) @RequestHeader(value = "Authorization", required = false) String credentials,
+                                                                             @ApiParam(hidden = true) WebRequest webRequest) throws RequiredAuthorisationException, UserAuthorisationException, BookedPlaceConflictsException {
+        userValidator.authoriseUser(credentials);
+        var fromDate = LocalDate.parse(from, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        var toDate = LocalDate.parse(to, DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        String eTag = ETagUtils.versionedETag("available-slots-range-" + fromDate + "-" + toDate + "-" + placeType,
+                placeService.getModificationCount(), bookedPlaceService.getModificationCount());
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        var availableSlotsByDay = bookedPlaceService.getAvailableSlotsForRange(fromDate, toDate, placeType);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(availableSlotsByDay);
     }
 
     /**
-     * Метод GET возвращающий список всех бронирований
+     * Метод GET возвращающий страницу списка всех бронирований.
+     * Если после страницы есть еще бронирования, курсор следующей страницы возвращается в заголовке X-Next-Cursor
      *
      * @param indexOfField индекс, по которому происходит сортировка. (1 - имя места 2 - имя пользователя 3 - слот)
+     * @param limit        максимальное количество бронирований на странице
+     * @param cursor       курсор из заголовка X-Next-Cursor предыдущей страницы
      * @param credentials  данные из Basic Auth header
-     * @return Список всех бронирований
+     * @return Страница списка всех бронирований
      * @throws RequiredAuthorisationException если пользователь не авторизировался через Basic Auth
      * @throws UserAuthorisationException     если пользователь ввел неправильные данные для авторизации
      * @throws ForbiddenAccessException       если у пользователя нет администраторских прав для выполнения данной операции
-     * @throws BookedPlaceConflictsException  если новое бронирование конфликтуют с существующими или нарушают ограничения
+     * @throws BookedPlaceConflictsException  если параметр сортировки, limit или курсор введены неправильно
      */
     @ApiOperation(value = "Список всх бронирований",
-            notes = "Получение списка всех бронирований всех пользователей")
+            notes = "Получение страницы списка бронирований всех пользователей")
     @GetMapping("/get-all-booking")
     public ResponseEntity<List<BookedPlaceDTO>> getAllBooking(@RequestParam(value = "indexOfField", required = false) String indexOfField,
+                                                              @RequestParam(value = "limit", required = false) Integer limit,
+                                                              @RequestParam(value = "cursor", required = false) String cursor,
                                                               @ApiParam(hidden = true) @RequestHeader(value = "Authorization", required = false) String credentials) throws RequiredAuthorisationException, UserAuthorisationException, ForbiddenAccessException, BookedPlaceConflictsException {
         userValidator.authorizeAdmin(credentials);
-        List<BookedPlace> bookedPlaces = nonNull(indexOfField) ? bookedPlaceService.getAllBookedPlacesSortedBy(indexOfField) :
-                bookedPlaceService.getAllBookedPlaces();
-        var bookedPlacesDTO = toBookedPlaceDtoList(bookedPlaces);
-        return ResponseEntity.ok(bookedPlacesDTO);
+        BookedPlacePage page = bookedPlaceService.getBookedPlacesPage(indexOfField, cursor, limit);
+        var bookedPlacesDTO = toBookedPlaceDtoList(page.bookedPlaces());
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nonNull(page.nextCursor())) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(bookedPlacesDTO);
+    }
+
+    /**
+     * Метод GET, выгружающий все бронирования одним JSON массивом в порядке id.
+     * Бронирования читаются из БД курсором и записываются в ответ по одному,
+     * поэтому потребление памяти не зависит от количества бронирований
+     *
+     * @param credentials данные из Basic Auth header
+     * @param response    ответ, в который записывается JSON массив
+     * @throws RequiredAuthorisationException если пользователь не авторизировался через Basic Auth
+     * @throws UserAuthorisationException     если пользователь ввел неправильные данные для авторизации
+     * @throws ForbiddenAccessException       если у пользователя нет администраторских прав для выполнения данной операции
+     * @throws IOException                    если не удалось записать ответ
+     */
+    @ApiOperation(value = "Выгрузка всех бронирований",
+            notes = "Потоковая выгрузка всех бронирований всех пользователей")
+    @GetMapping("/export-all-booking")
+    public void exportAllBooking(@ApiParam(hidden = true) @RequestHeader(value = "Authorization", required = false) String credentials,
+                                 @ApiParam(hidden = true) HttpServletResponse response) throws RequiredAuthorisationException, UserAuthorisationException, ForbiddenAccessException, IOException {
+        userValidator.authorizeAdmin(credentials);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ObjectWriter writer = objectMapper.writerFor(BookedPlaceDTO.class)
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = writer.createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            bookedPlaceService.exportAllBookedPlaces(bookedPlace ->
+                    writer.writeValue(generator, BookedPlaceMapper.INSTANCE.bookedPlaceToBookedPlaceDto(bookedPlace)));
+            generator.writeEndArray();
+        }
     }
 
     /**
@@ -181,5 +333,16 @@ public class BookedPlaceController {
                 .toList();
     }
 
-
+    /**
+     * Создание DTO с результатами пакетного бронирования
+     *
+     * @param result результат пакетного бронирования
+     * @return BookingBatchResultDTO объект
+     */
+    private static BookingBatchResultDTO toBookingBatchResultDto(BookingBatchResult result) {
+        List<BookingResultDTO> results = result.results().stream()
+                .map(bookingResult -> new BookingResultDTO(bookingResult.index(), bookingResult.bookedPlaceId(), bookingResult.error()))
+                .toList();
+        return new BookingBatchResultDTO(result.bookedCount(), results);
+    }
 }
@@ -0,0 +1,159 @@
+package org.coworking.controllers;
+
+import io.swagger.annotations.Api;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import lombok.RequiredArgsConstructor;
+import org.coworking.Utils.exceptions.ForbiddenAccessException;
+import org.coworking.Utils.exceptions.RequiredAuthorisationException;
+import org.coworking.Utils.exceptions.UserAuthorisationException;
+import org.coworking.annotations.Loggable;
+import org.coworking.cache.PlaceCatalogCache;
+import org.coworking.dtos.AuditMetricsDTO;
+import org.coworking.dtos.CacheMetricsDTO;
+import org.coworking.dtos.MethodMetricsDTO;
+import org.coworking.metrics.LatencyHistogram;
+import org.coworking.metrics.MethodMetricsRegistry;
+import org.coworking.services.PlaceService;
+import org.coworking.services.UserActionAuditWriter;
+import org.coworking.services.validators.UserValidator;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Класс контроллер, который отдает статистику времени выполнения методов
+ */
+@RestController
+@Loggable
+@Api(value = "Метрики", description = "Статистика времени выполнения методов, обращений к кэшам и записи аудита")
+@RequiredArgsConstructor
+public class MetricsController {
+
+    /**
+     * Реестр гистограмм времени выполнения методов
+     */
+    private final MethodMetricsRegistry methodMetricsRegistry;
+
+    /**
+     * Сервис для валидации пользовательских данных
+     */
+    private final UserValidator userValidator;
+
+    /**
+     * Сервис для работы с местами, содержащий кэш каталога мест
+     */
+    private final PlaceService placeService;
+
+    /**
+     * Асинхронная запись аудита, содержащая счетчики потерянных записей
+     */
+    private final UserActionAuditWriter userActionAuditWriter;
+
+    /**
+     * Метод GET возвращающий статистику времени выполнения всех замеренных методов
+     *
+     * @param credentials данные из Basic Auth header
+     * @return список статистик по методам
+     * @throws RequiredAuthorisationException если пользователь не авторизировался через Basic Auth
+     * @throws UserAuthorisationException     если пользователь ввел неправельные данные для авторизации
+     * @throws ForbiddenAccessException       если у пользователя нет администраторских прав для выполнении данной операции
+     */
+    @ApiOperation(value = "Получение метрик методов",
+            notes = "Возвращает количество вызовов, среднее, p50, p95, p99 и максимальное время выполнения методов в микросекундах")
+    @GetMapping("/get-method-metrics")
+    public ResponseEntity<List<MethodMetricsDTO>> getMethodMetrics(@ApiParam(hidden = true) @RequestHeader(value = "Authorization", required = false) String credentials) throws RequiredAuthorisationException, UserAuthorisationException, ForbiddenAccessException {
+        userValidator.authorizeAdmin(credentials);
+        var metrics = methodMetricsRegistry.snapshot().entrySet().stream()
+                .map(MetricsController::toMethodMetricsDto)
+                .toList();
+        return ResponseEntity.ok(metrics);
+    }
+
+    /**
+     * Метод GET возвращающий статистику обращений к кэшам
+     *
+     * @param credentials данные из Basic Auth header
+     * @return список статистик по кэшам
+     * @throws RequiredAuthorisationException если пользователь не авторизировался через Basic Auth
+     * @throws UserAuthorisationException     если пользователь ввел неправельные данные для авторизации
+     * @throws ForbiddenAccessException       если у пользователя нет администраторских прав для выполнении данной операции
+     */
+    @ApiOperation(value = "Получение метрик кэшей",
+            notes = "Возвращает количество попаданий, промахов и долю попаданий для кэшей приложения")
+    @GetMapping("/get-cache-metrics")
+    public ResponseEntity<List<CacheMetricsDTO>> getCacheMetrics(@ApiParam(hidden = true) @RequestHeader(value = "Authorization", required = false) String credentials) throws RequiredAuthorisationException, UserAuthorisationException, ForbiddenAccessException {
+        userValidator.authorizeAdmin(credentials);
+        return ResponseEntity.ok(List.of(toCacheMetricsDto("places", placeService.getCacheStatistics())));
+    }
+
+    /**
+     * Метод GET возвращающий статистику асинхронной записи аудита
+     *
+     * @param credentials данные из Basic Auth header
+     * @return количество отброшенных и не сохраненных записей аудита
+     * @throws RequiredAuthorisationException если пользователь не авторизировался через Basic Auth
+     * @throws UserAuthorisationException     если пользователь ввел неправельные данные для авторизации
+     * @throws ForbiddenAccessException       если у пользователя нет администраторских прав для выполнении данной операции
+     */
+    @ApiOperation(value = "Получение метрик записи аудита",
+            notes = "Возвращает количество записей аудита, отброшенных из-за переполнения очереди и не сохраненных из-за ошибки")
+    @GetMapping("/get-audit-metrics")
+    public ResponseEntity<AuditMetricsDTO> getAuditMetrics(@ApiParam(hidden = true) @RequestHeader(value = "Authorization", required = false) String credentials) throws RequiredAuthorisationException, UserAuthorisationException, ForbiddenAccessException {
+        userValidator.authorizeAdmin(credentials);
+        return ResponseEntity.ok(AuditMetricsDTO.builder()
+                .dropped(userActionAuditWriter.getDroppedCount())
+                .failed(userActionAuditWriter.getFailedCount())
+                .build());
+    }
+
+    /**
+     * Преобразование статистики кэша в DTO
+     *
+     * @param cache      имя кэша
+     * @param statistics статистика обращений к кэшу
+     * @return объект CacheMetricsDTO
+     */
+    private static CacheMetricsDTO toCacheMetricsDto(String cache, PlaceCatalogCache.Statistics statistics) {
+        long requests = statistics.hits() + statistics.misses();
+        return CacheMetricsDTO.builder()
+                .cache(cache)
+                .hits(statistics.hits())
+                .misses(statistics.misses())
+                .hitRatio(requests == 0 ? 0 : (double) statistics.hits() / requests)
+                .build();
+    }
+
+    /**
+     * Преобразование снимка гистограммы в DTO
+     *
+     * @param entry имя метода и снимок его гистограммы
+     * @return объект MethodMetricsDTO
+     */
+    private static MethodMetricsDTO toMethodMetricsDto(Map.Entry<String, LatencyHistogram.Snapshot> entry) {
+        LatencyHistogram.Snapshot snapshot = entry.getValue();
+        return MethodMetricsDTO.builder()
+                .method(entry.getKey())
+                .count(snapshot.count())
+                .meanMicros(toMicros(snapshot.mean()))
+                .p50Micros(toMicros(snapshot.p50()))
+                .p95Micros(toMicros(snapshot.p95()))
+                .p99Micros(toMicros(snapshot.p99()))
+                .maxMicros(toMicros(snapshot.max()))
+                .build();
+    }
+
+    /**
+     * Перевод наносекунд в микросекунды
+     *
+     * @param nanos время в наносекундах
+     * @return время в микросекундах
+     */
+    private static double toMicros(long nanos) {
+        return nanos / 1_000.0;
+    }
+}
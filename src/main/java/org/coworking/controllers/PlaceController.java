@@ -8,6 +8,7 @@ import org.coworking.Utils.exceptions.ForbiddenAccessException;
 import org.coworking.Utils.exceptions.PlaceNamingException;
 import org.coworking.Utils.exceptions.RequiredAuthorisationException;
 import org.coworking.Utils.exceptions.UserAuthorisationException;
+import org.coworking.Utils.ETagUtils;
 import org.coworking.Utils.mappers.PlaceMapper;
 import org.coworking.annotations.Loggable;
 import org.coworking.dtos.MessageDTO;
@@ -16,6 +17,8 @@ import org.coworking.models.Place;
 import org.coworking.services.PlaceService;
 import org.coworking.services.validators.PlaceValidator;
 import org.coworking.services.validators.UserValidator;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -25,6 +28,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -75,9 +79,12 @@ public class PlaceController {
     }
 
     /**
-     * Метод GET возвращающий список всех мест
+     * Метод GET возвращающий список всех мест.
+     * Ответ содержит ETag, построенный по счетчику изменений мест, и если он совпадает с If-None-Match,
+     * возвращается 304 без обращения к БД
      *
      * @param credentials данные из Basic Auth header
+     * @param webRequest  текущий запрос, по которому проверяется If-None-Match
      * @return Список всех мест
      * @throws RequiredAuthorisationException если пользователь не авторизировался через Basic Auth
      * @throws UserAuthorisationException     если пользователь ввел неправельные данные для авторизации
@@ -85,11 +92,18 @@ public class PlaceController {
     @ApiOperation(value = "Получение информации о всех местах",
             notes = "Возвращает список всех мест, которые есть в БД")
     @GetMapping("/get-all-places")
-    public ResponseEntity<List<PlaceDTO>> getAllPlaces(@ApiParam(hidden = true) @RequestHeader(value = "Authorization", required = false) String credentials) throws RequiredAuthorisationException, UserAuthorisationException {
+    public ResponseEntity<List<PlaceDTO>> getAllPlaces(@ApiParam(hidden = true) @RequestHeader(value = "Authorization", required = false) String credentials,
+                                                       @ApiParam(hidden = true) WebRequest webRequest) throws RequiredAuthorisationException, UserAuthorisationException {
         userValidator.authoriseUser(credentials);
+        String eTag = ETagUtils.versionedETag("places", placeService.getModificationCount());
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         var placeList = placeService.getAllPlaces();
         var placeDtoList = toPlaceDtoList(placeList);
-        return ResponseEntity.ok(placeDtoList);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(placeDtoList);
     }
 
     /**
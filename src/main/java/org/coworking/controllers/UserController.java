@@ -2,20 +2,36 @@ package org.coworking.controllers;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
 import lombok.RequiredArgsConstructor;
+import org.coworking.Utils.exceptions.ForbiddenAccessException;
+import org.coworking.Utils.exceptions.RequiredAuthorisationException;
+import org.coworking.Utils.exceptions.UserAuthorisationException;
 import org.coworking.Utils.exceptions.UserRegistrationException;
 import org.coworking.Utils.mappers.UserMapper;
 import org.coworking.annotations.Loggable;
 import org.coworking.dtos.MessageDTO;
+import org.coworking.dtos.TokenDTO;
 import org.coworking.dtos.UserDTO;
+import org.coworking.dtos.UserImportRejectDTO;
+import org.coworking.dtos.UserImportResultDTO;
 import org.coworking.models.User;
+import org.coworking.models.UserImportResult;
+import org.coworking.security.TokenService;
 import org.coworking.services.UserService;
 import org.coworking.services.validators.UserValidator;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
 /**
  * Класс контроллер, который отвечает на запросы связанные с пользователями
  */
@@ -35,6 +51,16 @@ public class UserController {
      */
     private final UserValidator userValidator;
 
+    /**
+     * Сервис выдачи и отзыва токенов доступа
+     */
+    private final TokenService tokenService;
+
+    /**
+     * Тип содержимого CSV данных
+     */
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
 
     /**
      * Метод POST выполняющий регистрацию пользователя
@@ -55,4 +81,98 @@ public class UserController {
                 .body(new MessageDTO(message));
     }
 
+    /**
+     * Метод POST выдающий токен доступа по данным Basic Auth. Запросы с токеном проверяются в памяти без обращения к БД
+     *
+     * @param credentials данные из Basic Auth header
+     * @return ResponseEntity, содержащий токен и время его жизни
+     * @throws RequiredAuthorisationException если пользователь не авторизировался через Basic Auth
+     * @throws UserAuthorisationException     если пользователь ввел неправильные данные для авторизации
+     */
+    @ApiOperation(value = "Получение токена доступа",
+            notes = "Выдает токен, который можно передавать в заголовке Authorization: Bearer вместо Basic Auth")
+    @PostMapping("/login")
+    public ResponseEntity<TokenDTO> login(@ApiParam(hidden = true) @RequestHeader(value = "Authorization", required = false) String credentials) throws RequiredAuthorisationException, UserAuthorisationException {
+        if (credentials != null && credentials.startsWith(TokenService.BEARER_PREFIX)) {
+            throw new UserAuthorisationException("Для получения токена требуется авторизация через Basic Auth");
+        }
+        User user = userValidator.authoriseUser(credentials);
+        return ResponseEntity.ok(new TokenDTO(tokenService.issue(user), TokenService.BEARER_PREFIX.trim(), tokenService.getTtlSeconds()));
+    }
+
+    /**
+     * Метод POST отзывающий текущий токен доступа до его истечения
+     *
+     * @param credentials значение Authorization header с токеном
+     * @return ResponseEntity, содержащий ответ
+     * @throws RequiredAuthorisationException если токен отсутствует, недействителен или уже отозван
+     */
+    @ApiOperation(value = "Выход", notes = "Отзывает токен, переданный в заголовке Authorization: Bearer")
+    @PostMapping("/logout")
+    public ResponseEntity<MessageDTO> logout(@ApiParam(hidden = true) @RequestHeader(value = "Authorization", required = false) String credentials) throws RequiredAuthorisationException {
+        if (credentials == null || !credentials.startsWith(TokenService.BEARER_PREFIX)
+                || !tokenService.revoke(credentials.substring(TokenService.BEARER_PREFIX.length()))) {
+            throw new RequiredAuthorisationException(UserValidator.INVALID_TOKEN_MESSAGE);
+        }
+        return ResponseEntity.ok(new MessageDTO("Токен отозван"));
+    }
+
+    /**
+     * Метод POST выполняющий импорт пользователей из CSV с заголовком и колонками name, password, role.
+     * Тело запроса передается в БД потоком
+     *
+     * @param csv         тело запроса с CSV данными
+     * @param credentials данные из Basic Auth header
+     * @return ResponseEntity, содержащий количество сохраненных пользователей и отклоненные строки
+     * @throws UserRegistrationException      если CSV данные имеют неправильный формат
+     * @throws RequiredAuthorisationException если пользователь не авторизировался через Basic Auth
+     * @throws UserAuthorisationException     если пользователь ввел неправильные данные для авторизации
+     * @throws ForbiddenAccessException       если у пользователя нет администраторских прав для выполнении данной операции
+     */
+    @ApiOperation(value = "Импорт пользователей из CSV",
+            notes = "Регистрирует пользователей из CSV с заголовком name,password,role и возвращает отклоненные строки")
+    @PostMapping(value = "/import-users", consumes = TEXT_CSV_VALUE)
+    public ResponseEntity<UserImportResultDTO> importUsersFromCsv(@ApiParam(hidden = true) InputStream csv,
+                                                                  @ApiParam(hidden = true) @RequestHeader(value = "Authorization", required = false) String credentials) throws UserRegistrationException, RequiredAuthorisationException, UserAuthorisationException, ForbiddenAccessException {
+        userValidator.authorizeAdmin(credentials);
+        UserImportResult result = userService.importUsers(new InputStreamReader(csv, StandardCharsets.UTF_8));
+        return ResponseEntity.ok(toUserImportResultDto(result));
+    }
+
+    /**
+     * Метод POST выполняющий импорт пользователей из JSON массива
+     *
+     * @param userDTOS    пользователи для импорта
+     * @param credentials данные из Basic Auth header
+     * @return ResponseEntity, содержащий количество сохраненных пользователей и отклоненные строки
+     * @throws UserRegistrationException      если данные пользователей не удалось передать в БД
+     * @throws RequiredAuthorisationException если пользователь не авторизировался через Basic Auth
+     * @throws UserAuthorisationException     если пользователь ввел неправильные данные для авторизации
+     * @throws ForbiddenAccessException       если у пользователя нет администраторских прав для выполнении данной операции
+     */
+    @ApiOperation(value = "Импорт пользователей из JSON",
+            notes = "Регистрирует пользователей из JSON массива и возвращает отклоненные элементы")
+    @PostMapping(value = "/import-users", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<UserImportResultDTO> importUsersFromJson(@RequestBody List<UserDTO> userDTOS,
+                                                                   @ApiParam(hidden = true) @RequestHeader(value = "Authorization", required = false) String credentials) throws UserRegistrationException, RequiredAuthorisationException, UserAuthorisationException, ForbiddenAccessException {
+        userValidator.authorizeAdmin(credentials);
+        List<User> users = userDTOS.stream()
+                .map(UserMapper.INSTANCE::userDtoToUser)
+                .toList();
+        UserImportResult result = userService.importUsers(users);
+        return ResponseEntity.ok(toUserImportResultDto(result));
+    }
+
+    /**
+     * Преобразование результата импорта в DTO объект
+     *
+     * @param result результат импорта
+     * @return UserImportResultDTO объект
+     */
+    private static UserImportResultDTO toUserImportResultDto(UserImportResult result) {
+        List<UserImportRejectDTO> rejects = result.rejects().stream()
+                .map(reject -> new UserImportRejectDTO(reject.row(), reject.name(), reject.reason().getMessage()))
+                .toList();
+        return new UserImportResultDTO(result.importedCount(), rejects);
+    }
 }
@@ -0,0 +1,26 @@
+package org.coworking.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Клас объектов для передачи статистики асинхронной записи аудита
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AuditMetricsDTO {
+
+    /**
+     * Количество записей, отброшенных из-за переполнения очереди
+     */
+    private long dropped;
+
+    /**
+     * Количество записей, не сохраненных из-за ошибки хранилища
+     */
+    private long failed;
+}
@@ -0,0 +1,28 @@
+package org.coworking.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Клас объектов для передачи результата пакетного бронирования
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingBatchResultDTO {
+
+    /**
+     * Количество созданных бронирований
+     */
+    private int bookedCount;
+
+    /**
+     * Результаты бронирований в порядке запроса
+     */
+    private List<BookingResultDTO> results;
+}
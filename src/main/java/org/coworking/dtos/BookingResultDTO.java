@@ -0,0 +1,31 @@
+package org.coworking.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Клас объектов для передачи результата одного бронирования из пакета
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingResultDTO {
+
+    /**
+     * Индекс бронирования в запросе
+     */
+    private int index;
+
+    /**
+     * id созданного бронирования или null, если бронирование не создано
+     */
+    private Integer bookedPlaceId;
+
+    /**
+     * Причина, по которой бронирование отклонено, или null
+     */
+    private String error;
+}
@@ -0,0 +1,36 @@
+package org.coworking.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Клас объектов для передачи статистики обращений к кэшу
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CacheMetricsDTO {
+
+    /**
+     * Имя кэша
+     */
+    private String cache;
+
+    /**
+     * Количество обращений, обслуженных из памяти
+     */
+    private long hits;
+
+    /**
+     * Количество обращений, потребовавших обращения к БД
+     */
+    private long misses;
+
+    /**
+     * Доля обращений, обслуженных из памяти
+     */
+    private double hitRatio;
+}
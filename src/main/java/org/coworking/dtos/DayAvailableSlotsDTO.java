@@ -0,0 +1,28 @@
+package org.coworking.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Клас объектов для передачи свободных слотов всех мест за один день диапазона дат
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class DayAvailableSlotsDTO {
+
+    /**
+     * Дата в формате yyyy-MM-dd
+     */
+    private String date;
+
+    /**
+     * Свободные слоты мест за этот день
+     */
+    private List<PlaceFreeSlotsDTO> places;
+}
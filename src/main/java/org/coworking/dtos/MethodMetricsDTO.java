@@ -0,0 +1,51 @@
+package org.coworking.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Клас объектов для передачи статистики времени выполнения метода
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class MethodMetricsDTO {
+
+    /**
+     * Имя метода вместе с типами параметров
+     */
+    private String method;
+
+    /**
+     * Количество вызовов
+     */
+    private long count;
+
+    /**
+     * Среднее время выполнения в микросекундах
+     */
+    private double meanMicros;
+
+    /**
+     * Медиана времени выполнения в микросекундах
+     */
+    private double p50Micros;
+
+    /**
+     * 95-й перцентиль времени выполнения в микросекундах
+     */
+    private double p95Micros;
+
+    /**
+     * 99-й перцентиль времени выполнения в микросекундах
+     */
+    private double p99Micros;
+
+    /**
+     * Максимальное время выполнения в микросекундах
+     */
+    private double maxMicros;
+}
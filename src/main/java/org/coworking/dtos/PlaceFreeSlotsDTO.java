@@ -0,0 +1,30 @@
+package org.coworking.dtos;
+
+import io.swagger.annotations.ApiModelProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Клас объектов для передачи свободных слотов одного места за день в компактном виде
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class PlaceFreeSlotsDTO {
+
+    /**
+     * Идентификатор места
+     */
+    private int placeId;
+
+    /**
+     * Свободные промежутки в виде HH:mm-HH:mm
+     */
+    @ApiModelProperty(example = "[\"08:00-11:30\", \"14:30-20:00\"]")
+    private List<String> freeSlots;
+}
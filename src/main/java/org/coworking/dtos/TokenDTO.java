@@ -0,0 +1,31 @@
+package org.coworking.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Клас объектов для передачи выданного токена доступа
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TokenDTO {
+
+    /**
+     * Токен, который передается в заголовке Authorization: Bearer
+     */
+    private String accessToken;
+
+    /**
+     * Тип токена
+     */
+    private String tokenType;
+
+    /**
+     * Время жизни токена в секундах
+     */
+    private long expiresIn;
+}
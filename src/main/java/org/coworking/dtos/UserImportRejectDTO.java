@@ -0,0 +1,31 @@
+package org.coworking.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Клас объектов для передачи отклоненной строки импорта пользователей
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserImportRejectDTO {
+
+    /**
+     * Номер строки данных импорта, начиная с 1
+     */
+    private long row;
+
+    /**
+     * Имя пользователя из строки
+     */
+    private String name;
+
+    /**
+     * Причина, по которой строка отклонена
+     */
+    private String error;
+}
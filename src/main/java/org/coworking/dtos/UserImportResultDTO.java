@@ -0,0 +1,28 @@
+package org.coworking.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Клас объектов для передачи результата импорта пользователей
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserImportResultDTO {
+
+    /**
+     * Количество сохраненных пользователей
+     */
+    private long importedCount;
+
+    /**
+     * Отклоненные строки в порядке импорта
+     */
+    private List<UserImportRejectDTO> rejects;
+}
@@ -0,0 +1,284 @@
+package org.coworking.filters;
+
+import org.springframework.http.HttpHeaders;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Обертка ответа, которая накапливает первые minSize байт тела и по их количеству решает, сжимать ли ответ.
+ * Если тело оказалось больше порога и имеет текстовый тип, оно сжимается на лету без накопления целиком,
+ * иначе накопленные байты отправляются как есть вместе с исходным Content-Length
+ */
+class CompressingResponseWrapper extends HttpServletResponseWrapper {
+
+    static final String GZIP = "gzip";
+
+    static final String DEFLATE = "deflate";
+
+    /**
+     * Размер буфера потока сжатия
+     */
+    private static final int COMPRESSION_BUFFER_SIZE = 8192;
+
+    /**
+     * Выбранный способ сжатия
+     */
+    private final String encoding;
+
+    /**
+     * Размер тела в байтах, начиная с которого ответ сжимается
+     */
+    private final int minSize;
+
+    /**
+     * Начало тела ответа, накопленное до принятия решения о сжатии
+     */
+    private ByteArrayOutputStream buffer;
+
+    /**
+     * Поток сжатия, не null после того, как ответ решено сжимать
+     */
+    private DeflaterOutputStream compressedStream;
+
+    /**
+     * Признак того, что ответ решено отправлять без сжатия
+     */
+    private boolean bypass;
+
+    /**
+     * Content-Length, установленный приложением, применяется только к несжатому ответу
+     */
+    private Long contentLength;
+
+    private ServletOutputStream outputStream;
+
+    private PrintWriter writer;
+
+    CompressingResponseWrapper(HttpServletResponse response, String encoding, int minSize) {
+        super(response);
+        this.encoding = encoding;
+        this.minSize = minSize;
+        this.buffer = new ByteArrayOutputStream(Math.min(minSize, COMPRESSION_BUFFER_SIZE));
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called for this response");
+        }
+        return bodyStream();
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called for this response");
+            }
+            writer = new PrintWriter(new OutputStreamWriter(bodyStream(), getCharacterEncoding()));
+        }
+        return writer;
+    }
+
+    @Override
+    public void setContentLength(int len) {
+        setContentLengthLong(len);
+    }
+
+    @Override
+    public void setContentLengthLong(long len) {
+        if (bypass) {
+            super.setContentLengthLong(len);
+        } else if (compressedStream == null) {
+            contentLength = len;
+        }
+    }
+
+    @Override
+    public void setHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.setHeader(name, value);
+        }
+    }
+
+    @Override
+    public void addHeader(String name, String value) {
+        if (HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+            setContentLengthLong(Long.parseLong(value));
+        } else {
+            super.addHeader(name, value);
+        }
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (compressedStream != null) {
+            compressedStream.flush();
+        } else if (bypass) {
+            super.flushBuffer();
+        }
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        if (buffer != null) {
+            buffer.reset();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (buffer != null) {
+            buffer.reset();
+        }
+        contentLength = null;
+    }
+
+    @Override
+    public void sendError(int sc, String msg) throws IOException {
+        bypass = true;
+        super.sendError(sc, msg);
+    }
+
+    @Override
+    public void sendError(int sc) throws IOException {
+        bypass = true;
+        super.sendError(sc);
+    }
+
+    @Override
+    public void sendRedirect(String location) throws IOException {
+        bypass = true;
+        super.sendRedirect(location);
+    }
+
+    /**
+     * Завершение ответа: дописывает сжатые данные или отправляет накопленное тело без сжатия
+     *
+     * @throws IOException если не удалось записать ответ
+     */
+    void finish() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        if (compressedStream != null) {
+            compressedStream.close();
+        } else if (!bypass && !getResponse().isCommitted()) {
+            bypass = true;
+            super.setContentLengthLong(contentLength != null ? contentLength : buffer.size());
+            buffer.writeTo(getResponse().getOutputStream());
+            buffer = null;
+        }
+    }
+
+    /**
+     * Запись части тела ответа
+     */
+    private void writeBody(byte[] bytes, int offset, int length) throws IOException {
+        if (compressedStream != null) {
+            compressedStream.write(bytes, offset, length);
+        } else if (bypass) {
+            getResponse().getOutputStream().write(bytes, offset, length);
+        } else if (buffer.size() + length <= minSize) {
+            buffer.write(bytes, offset, length);
+        } else {
+            startBody();
+            writeBody(bytes, offset, length);
+        }
+    }
+
+    /**
+     * Принятие решения о сжатии после превышения порога и отправка накопленного начала тела
+     *
+     * @throws IOException если не удалось записать ответ
+     */
+    private void startBody() throws IOException {
+        HttpServletResponse response = (HttpServletResponse) getResponse();
+        if (isCompressible(response)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+            compressedStream = GZIP.equals(encoding)
+                    ? new GZIPOutputStream(response.getOutputStream(), COMPRESSION_BUFFER_SIZE, true)
+                    : new DeflaterOutputStream(response.getOutputStream(), true);
+            buffer.writeTo(compressedStream);
+        } else {
+            bypass = true;
+            if (contentLength != null) {
+                super.setContentLengthLong(contentLength);
+            }
+            buffer.writeTo(response.getOutputStream());
+        }
+        buffer = null;
+    }
+
+    /**
+     * Проверка, имеет ли смысл сжимать ответ
+     *
+     * @param response исходный ответ
+     * @return true для текстовых ответов, которые еще не сжаты приложением
+     */
+    private static boolean isCompressible(HttpServletResponse response) {
+        String contentType = response.getContentType();
+        if (response.containsHeader(HttpHeaders.CONTENT_ENCODING) || contentType == null) {
+            return false;
+        }
+        return contentType.startsWith("text/") || contentType.contains("json") ||
+                contentType.contains("xml") || contentType.contains("javascript");
+    }
+
+    /**
+     * Поток тела ответа, передающий данные в writeBody
+     *
+     * @return ServletOutputStream объект
+     */
+    private ServletOutputStream bodyStream() {
+        if (outputStream == null) {
+            outputStream = new ServletOutputStream() {
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public void write(int b) throws IOException {
+                    writeBody(new byte[]{(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    writeBody(b, off, len);
+                }
+
+                @Override
+                public void flush() throws IOException {
+                    if (compressedStream != null) {
+                        compressedStream.flush();
+                    } else if (bypass) {
+                        getResponse().getOutputStream().flush();
+                    }
+                }
+            };
+        }
+        return outputStream;
+    }
+}
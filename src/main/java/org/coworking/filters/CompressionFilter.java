@@ -0,0 +1,95 @@
+package org.coworking.filters;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Фильтр, сжимающий ответы gzip или deflate в зависимости от заголовка Accept-Encoding запроса.
+ * Сжимаются только текстовые ответы, размер которых превышает minSize байт, небольшие ответы отправляются как есть.
+ * Регистрируется в SpringInit через DelegatingFilterProxy
+ */
+@Component("compressionFilter")
+public class CompressionFilter extends OncePerRequestFilter {
+
+    /**
+     * Минимальный размер ответа в байтах, начиная с которого он сжимается
+     */
+    private final int minSize;
+
+    public CompressionFilter(@Value("${compressionMinSize}") int minSize) {
+        this.minSize = minSize;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        String encoding = selectEncoding(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding == null || "HEAD".equals(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        CompressingResponseWrapper compressingResponse = new CompressingResponseWrapper(response, encoding, minSize);
+        try {
+            filterChain.doFilter(request, compressingResponse);
+        } finally {
+            compressingResponse.finish();
+        }
+    }
+
+    /**
+     * Выбор способа сжатия по заголовку Accept-Encoding. gzip предпочитается deflate,
+     * способы с q=0 считаются неприемлемыми
+     *
+     * @param acceptEncoding значение заголовка Accept-Encoding
+     * @return "gzip", "deflate" или null, если клиент не принимает сжатые ответы
+     */
+    private static String selectEncoding(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return null;
+        }
+        boolean gzip = false;
+        boolean deflate = false;
+        boolean any = false;
+        for (String token : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] parts = token.trim().split(";");
+            boolean accepted = parts.length < 2 || !isZeroQuality(parts[1].trim());
+            switch (parts[0].trim()) {
+                case CompressingResponseWrapper.GZIP -> gzip = accepted;
+                case CompressingResponseWrapper.DEFLATE -> deflate = accepted;
+                case "*" -> any = accepted;
+                default -> {
+                }
+            }
+        }
+        if (gzip || (any && !acceptEncoding.toLowerCase(Locale.ROOT).contains(CompressingResponseWrapper.GZIP))) {
+            return CompressingResponseWrapper.GZIP;
+        }
+        return deflate ? CompressingResponseWrapper.DEFLATE : null;
+    }
+
+    /**
+     * Проверка параметра q на нулевое значение
+     *
+     * @param parameter параметр вида q=0.5
+     * @return true если параметр задает нулевой вес
+     */
+    private static boolean isZeroQuality(String parameter) {
+        if (!parameter.startsWith("q=")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(parameter.substring(2)) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.coworking.filters;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.coworking.dtos.MessageDTO;
+import org.coworking.security.TokenClaims;
+import org.coworking.security.TokenService;
+import org.coworking.services.validators.UserValidator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Фильтр, проверяющий токен доступа из заголовка Authorization: Bearer в памяти, без обращения к БД.
+ * Пользователь из действительного токена сохраняется в атрибутах запроса, откуда его берет UserValidator,
+ * а на запрос с недействительным, истекшим или отозванным токеном сразу возвращается 401.
+ * Запросы с Basic Auth пропускаются без изменений. Регистрируется в SpringInit через DelegatingFilterProxy
+ */
+@Component("tokenAuthenticationFilter")
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    /**
+     * Сервис проверки токенов
+     */
+    private final TokenService tokenService;
+
+    /**
+     * ObjectMapper для записи ответа с ошибкой
+     */
+    private final ObjectMapper objectMapper;
+
+    public TokenAuthenticationFilter(TokenService tokenService, ObjectMapper objectMapper) {
+        this.tokenService = tokenService;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(TokenService.BEARER_PREFIX)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Optional<TokenClaims> claims = tokenService.verify(authorization.substring(TokenService.BEARER_PREFIX.length()));
+        if (claims.isEmpty()) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            objectMapper.writeValue(response.getOutputStream(), new MessageDTO(UserValidator.INVALID_TOKEN_MESSAGE));
+            return;
+        }
+        request.setAttribute(UserValidator.AUTHORISED_USER_ATTRIBUTE,
+                new UserValidator.RequestAuthorisation(authorization, claims.get().toUser()));
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,149 @@
+package org.coworking.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Неблокирующая гистограмма времени выполнения в наносекундах.
+ * Значения раскладываются по логарифмическим корзинам: каждая степень двойки делится на 8 равных частей,
+ * поэтому относительная погрешность перцентилей не превышает 12.5%
+ */
+public class LatencyHistogram {
+
+    /**
+     * Количество бит, определяющих корзину внутри одной степени двойки
+     */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /**
+     * Количество корзин внутри одной степени двойки
+     */
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Общее количество корзин, покрывающее весь диапазон положительных long значений
+     */
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    /**
+     * Счетчики попаданий в корзины
+     */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    /**
+     * Количество замеров
+     */
+    private final LongAdder count = new LongAdder();
+
+    /**
+     * Сумма всех замеров
+     */
+    private final LongAdder total = new LongAdder();
+
+    /**
+     * Максимальный замер
+     */
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Добавление замера в гистограмму
+     *
+     * @param nanos время выполнения в наносекундах
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * Получение снимка текущего состояния гистограммы
+     *
+     * @return снимок с количеством замеров, средним значением, перцентилями и максимумом
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        long snapshotCount = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            snapshotCount += counts[i];
+        }
+        long snapshotMax = max.get();
+        long mean = snapshotCount == 0 ? 0 : total.sum() / snapshotCount;
+        return new Snapshot(snapshotCount, mean,
+                percentile(counts, snapshotCount, 0.50, snapshotMax),
+                percentile(counts, snapshotCount, 0.95, snapshotMax),
+                percentile(counts, snapshotCount, 0.99, snapshotMax),
+                snapshotMax);
+    }
+
+    /**
+     * Вычисление перцентиля по счетчикам корзин
+     *
+     * @param counts   счетчики корзин
+     * @param total    общее количество замеров
+     * @param quantile искомый квантиль от 0 до 1
+     * @param max      максимальный замер, ограничивает верхнюю границу корзины
+     * @return верхняя граница корзины, в которую попадает перцентиль
+     */
+    private static long percentile(long[] counts, long total, double quantile, long max) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Определение корзины для значения
+     *
+     * @param value неотрицательное значение
+     * @return индекс корзины
+     */
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    /**
+     * Определение верхней границы значений корзины
+     *
+     * @param index индекс корзины
+     * @return максимальное значение, попадающее в корзину
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long lowerBound = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+
+    /**
+     * Снимок состояния гистограммы
+     *
+     * @param count количество замеров
+     * @param mean  среднее значение в наносекундах
+     * @param p50   медиана в наносекундах
+     * @param p95   95-й перцентиль в наносекундах
+     * @param p99   99-й перцентиль в наносекундах
+     * @param max   максимальное значение в наносекундах
+     */
+    public record Snapshot(long count, long mean, long p50, long p95, long p99, long max) {
+    }
+}
@@ -0,0 +1,68 @@
+package org.coworking.metrics;
+
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Реестр гистограмм времени выполнения методов, помеченных аннотацией Loggable.
+ * Ключом служит сам объект Method, поэтому при записи замера строки не создаются
+ */
+@Component
+public class MethodMetricsRegistry {
+
+    /**
+     * Гистограммы по методам
+     */
+    private final Map<Method, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * Добавление замера времени выполнения метода
+     *
+     * @param method выполненный метод
+     * @param nanos  время выполнения в наносекундах
+     */
+    public void record(Method method, long nanos) {
+        LatencyHistogram histogram = histograms.get(method);
+        if (histogram == null) {
+            histogram = histograms.computeIfAbsent(method, key -> new LatencyHistogram());
+        }
+        histogram.record(nanos);
+    }
+
+    /**
+     * Получение снимков всех гистограмм
+     *
+     * @return снимки гистограмм, упорядоченные по имени метода
+     */
+    public Map<String, LatencyHistogram.Snapshot> snapshot() {
+        Map<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        histograms.forEach((method, histogram) -> snapshots.put(getMethodName(method), histogram.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * Сброс всех накопленных замеров
+     */
+    public void reset() {
+        histograms.clear();
+    }
+
+    /**
+     * Получение читаемого имени метода вместе с типами параметров
+     *
+     * @param method метод
+     * @return имя вида Class.method(ParamType, ...)
+     */
+    private static String getMethodName(Method method) {
+        String parameters = Arrays.stream(method.getParameterTypes())
+                .map(Class::getSimpleName)
+                .collect(Collectors.joining(", "));
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName() + "(" + parameters + ")";
+    }
+}
@@ -0,0 +1,12 @@
+package org.coworking.models;
+
+import java.util.List;
+
+/**
+ * Страница списка всех бронирований
+ *
+ * @param bookedPlaces бронирования страницы
+ * @param nextCursor   курсор следующей страницы или null, если страница последняя
+ */
+public record BookedPlacePage(List<BookedPlace> bookedPlaces, String nextCursor) {
+}
@@ -0,0 +1,12 @@
+package org.coworking.models;
+
+import java.util.List;
+
+/**
+ * Результат пакетного бронирования
+ *
+ * @param bookedCount количество созданных бронирований
+ * @param results     результаты бронирований в порядке пакета
+ */
+public record BookingBatchResult(int bookedCount, List<BookingResult> results) {
+}
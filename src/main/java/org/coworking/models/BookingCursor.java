@@ -0,0 +1,72 @@
+package org.coworking.models;
+
+import org.coworking.Utils.exceptions.BookedPlaceConflictsException;
+import org.coworking.models.enums.BookingSortField;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Позиция в списке всех бронирований, после которой начинается следующая страница.
+ * Клиенту передается в виде непрозрачной Base64 строки
+ *
+ * @param sortField порядок, для которого получена позиция
+ * @param key       значение поля сортировки последнего бронирования страницы
+ * @param id        id последнего бронирования страницы
+ */
+public record BookingCursor(BookingSortField sortField, String key, int id) {
+
+    /**
+     * Разделитель частей курсора до кодирования
+     */
+    private static final String SEPARATOR = ":";
+
+    /**
+     * Создание курсора, указывающего на позицию сразу после бронирования
+     *
+     * @param sortField   порядок списка
+     * @param bookedPlace последнее бронирование страницы
+     * @return BookingCursor объект
+     */
+    public static BookingCursor after(BookingSortField sortField, BookedPlace bookedPlace) {
+        String key = switch (sortField) {
+            case ID -> "";
+            case PLACE_NAME -> bookedPlace.getPlace().getPlaceName();
+            case USER_NAME -> bookedPlace.getUser().getName();
+            case SLOT_START -> bookedPlace.getSlot().getStart().toString();
+        };
+        return new BookingCursor(sortField, key, bookedPlace.getId());
+    }
+
+    /**
+     * Кодирование курсора в строку для передачи клиенту
+     *
+     * @return Base64 строка
+     */
+    public String encode() {
+        String value = sortField.name() + SEPARATOR + id + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Декодирование курсора, полученного от клиента
+     *
+     * @param cursor Base64 строка
+     * @return BookingCursor объект
+     * @throws BookedPlaceConflictsException если строка не является курсором
+     */
+    public static BookingCursor decode(String cursor) throws BookedPlaceConflictsException {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(SEPARATOR, 3);
+            BookingSortField sortField = BookingSortField.valueOf(parts[0]);
+            if (sortField == BookingSortField.SLOT_START) {
+                LocalDateTime.parse(parts[2]);
+            }
+            return new BookingCursor(sortField, parts[2], Integer.parseInt(parts[1]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BookedPlaceConflictsException("Неверный курсор страницы!");
+        }
+    }
+}
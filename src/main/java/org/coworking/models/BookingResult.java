@@ -0,0 +1,11 @@
+package org.coworking.models;
+
+/**
+ * Результат одного бронирования из пакетного бронирования
+ *
+ * @param index         индекс бронирования в пакете, начиная с 0
+ * @param bookedPlaceId id созданного бронирования или null, если бронирование не создано
+ * @param error         причина отклонения бронирования или null, если бронирование корректно
+ */
+public record BookingResult(int index, Integer bookedPlaceId, String error) {
+}
@@ -0,0 +1,31 @@
+package org.coworking.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Запись о действии пользователя, ожидающая сохранения в хранилище аудита
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class UserActionAudit {
+
+    /**
+     * Пользователь совершивший действие
+     */
+    private User user;
+
+    /**
+     * Описание действия
+     */
+    private String actionDescription;
+
+    /**
+     * Дата и время действия
+     */
+    private LocalDateTime actionDateTime;
+}
@@ -0,0 +1,13 @@
+package org.coworking.models;
+
+import org.coworking.models.enums.UserImportRejectReason;
+
+/**
+ * Строка импорта пользователей, которая не была сохранена
+ *
+ * @param row    номер строки данных импорта, начиная с 1
+ * @param name   имя пользователя из строки
+ * @param reason причина, по которой строка отклонена
+ */
+public record UserImportReject(long row, String name, UserImportRejectReason reason) {
+}
@@ -0,0 +1,12 @@
+package org.coworking.models;
+
+import java.util.List;
+
+/**
+ * Результат импорта пользователей
+ *
+ * @param importedCount количество сохраненных пользователей
+ * @param rejects       отклоненные строки в порядке импорта
+ */
+public record UserImportResult(long importedCount, List<UserImportReject> rejects) {
+}
@@ -0,0 +1,19 @@
+package org.coworking.models.enums;
+
+/**
+ * Поведение при переполнении очереди записей аудита
+ */
+public enum AuditBackPressurePolicy {
+    /**
+     * Поток запроса ждет освобождения места в очереди
+     */
+    BLOCK,
+    /**
+     * Запись отбрасывается
+     */
+    DROP,
+    /**
+     * Запись сохраняется синхронно в потоке запроса
+     */
+    CALLER_RUNS
+}
@@ -0,0 +1,24 @@
+package org.coworking.models.enums;
+
+/**
+ * Порядок, в котором возвращается список всех бронирований.
+ * При равенстве значения поля бронирования упорядочиваются по id
+ */
+public enum BookingSortField {
+    /**
+     * Порядок по id бронирования, используется если поле сортировки не указано
+     */
+    ID,
+    /**
+     * Порядок по имени места
+     */
+    PLACE_NAME,
+    /**
+     * Порядок по имени пользователя
+     */
+    USER_NAME,
+    /**
+     * Порядок по началу слота
+     */
+    SLOT_START
+}
@@ -0,0 +1,43 @@
+package org.coworking.models.enums;
+
+/**
+ * Причина, по которой строка импорта пользователей не была сохранена
+ */
+public enum UserImportRejectReason {
+    /**
+     * Имя пользователя пустое
+     */
+    EMPTY_NAME("Имя пользователя должно содержать символы!"),
+    /**
+     * Пароль пустой
+     */
+    EMPTY_PASSWORD("Пароль должен содержать символы!"),
+    /**
+     * Роль не указана или не существует
+     */
+    UNKNOWN_ROLE("Роль должна быть USER или ADMIN!"),
+    /**
+     * Имя уже встречалось в одной из предыдущих строк импорта
+     */
+    DUPLICATE_NAME("Имя пользователя повторяется в импорте!"),
+    /**
+     * Пользователь с таким именем уже существует
+     */
+    NAME_EXISTS("Пользователь с таким именем уже существует!");
+
+    /**
+     * Описание причины для ответа клиенту
+     */
+    private final String message;
+
+    UserImportRejectReason(String message) {
+        this.message = message;
+    }
+
+    /**
+     * @return описание причины для ответа клиенту
+     */
+    public String getMessage() {
+        return message;
+    }
+}
@@ -1,18 +1,38 @@
 package org.coworking.repositories;
 
+import org.coworking.Utils.exceptions.BookedPlaceConflictsException;
 import org.coworking.models.BookedPlace;
+import org.coworking.models.BookingCursor;
 import org.coworking.models.Place;
 import org.coworking.models.User;
+import org.coworking.models.enums.BookingSortField;
 
+import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Интефрейс для репозиториев работающих с бронированием места
  */
 public interface BookedPlaceRepository {
 
+    /**
+     * Обработчик записей о бронировании, получаемых из хранилища по одной
+     */
+    @FunctionalInterface
+    interface BookedPlaceHandler {
+
+        /**
+         * Обработка записи о бронировании
+         *
+         * @param bookedPlace запись о бронировании
+         * @throws IOException если не удалось передать запись дальше
+         */
+        void handle(BookedPlace bookedPlace) throws IOException;
+    }
+
     /**
      * Сохраниение Записи о бронировании
      *
@@ -21,8 +41,29 @@ public interface BookedPlaceRepository {
      * @param from  дата начала бронирования
      * @param to    дата окончания бронирования
      * @return id записи бронирования в хранилище
+     * @throws BookedPlaceConflictsException если место уже забронировано в данный промежуток времени
+     */
+    int save(Place place, User user, LocalDateTime from, LocalDateTime to) throws BookedPlaceConflictsException;
+
+    /**
+     * Сохранение нескольких бронирований пользователя в одной транзакции
+     *
+     * @param bookedPlaces бронирования, место и временной слот которых нужно сохранить
+     * @param user         пользователь бронирующий места
+     * @return id записей бронирования в порядке переданного списка
+     * @throws BookedPlaceConflictsException если одно из мест уже забронировано в данный промежуток времени,
+     *                                       в этом случае не сохраняется ни одно бронирование
      */
-    int save(Place place, User user, LocalDateTime from, LocalDateTime to);
+    List<Integer> saveAll(List<BookedPlace> bookedPlaces, User user) throws BookedPlaceConflictsException;
+
+    /**
+     * Поиск бронирований из списка, которые пересекаются с существующими бронированиями того же места
+     * или с предыдущими бронированиями того же места в этом же списке
+     *
+     * @param bookedPlaces проверяемые бронирования
+     * @return индексы конфликтующих бронирований в списке
+     */
+    Set<Integer> findConflicting(List<BookedPlace> bookedPlaces);
 
     /**
      * Получения всех записей о бронированых местах из хранилища определенным пользователем
@@ -39,6 +80,35 @@ public interface BookedPlaceRepository {
      */
     List<BookedPlace> findAll();
 
+    /**
+     * Получение страницы записей о бронированых местах из хранилища в указанном порядке
+     *
+     * @param sortField порядок записей
+     * @param after     позиция, после которой начинается страница, или null для первой страницы
+     * @param limit     максимальное количество записей
+     * @return список бронированых мест
+     */
+    List<BookedPlace> findPage(BookingSortField sortField, BookingCursor after, int limit);
+
+    /**
+     * Последовательная передача всех записей о бронированых местах из хранилища в порядке id
+     * без загрузки их в память целиком
+     *
+     * @param handler обработчик, вызываемый для каждой записи
+     * @throws IOException если обработчик не смог передать запись дальше
+     */
+    void forEachBookedPlace(BookedPlaceHandler handler) throws IOException;
+
+    /**
+     * Получение всех записей о бронировании, временной слот которых пересекается с указанным периодом,
+     * упорядоченных по месту и началу слота
+     *
+     * @param from начало периода
+     * @param to   конец периода
+     * @return список бронированых мест
+     */
+    List<BookedPlace> findAllByPeriod(LocalDateTime from, LocalDateTime to);
+
     /**
      * Получение записи о бронировании по id
      *
@@ -54,4 +124,14 @@ public interface BookedPlaceRepository {
      */
     void removeById(int id);
 
+    /**
+     * Удаление записи о бронировании, если она принадлежит пользователю или пользователь является администратором
+     *
+     * @param id   id записи в хранилище
+     * @param user пользователь, отменяющий бронирование
+     * @return объект Optional, в который обернут удаленный BookedPlace, или пустой Optional если записи нет или она
+     * принадлежит другому пользователю
+     */
+    Optional<BookedPlace> removeByIdAndUser(int id, User user);
+
 }
@@ -1,8 +1,10 @@
 package org.coworking.repositories;
 
 import org.coworking.models.User;
+import org.coworking.models.UserActionAudit;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Репозиторий для работы с хранилищем записей действия пользователя
@@ -17,4 +19,10 @@ public interface UserActionAuditRepository {
      */
     void save(User user, String actionDescription, LocalDateTime actionDateTime);
 
+    /**
+     * Сохранение пачки записей о действиях пользователей в хранилище
+     * @param audits список записей
+     */
+    void saveAll(List<UserActionAudit> audits);
+
 }
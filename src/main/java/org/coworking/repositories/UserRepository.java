@@ -1,7 +1,11 @@
 package org.coworking.repositories;
 
+import org.coworking.Utils.exceptions.UserRegistrationException;
 import org.coworking.models.User;
+import org.coworking.models.UserImportResult;
 import org.coworking.models.enums.Role;
+
+import java.io.Reader;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,9 +19,10 @@ public interface UserRepository {
      * @param username имя пользователя
      * @param password пароль к аккаунту
      * @param role роль пользователя в системе
-     * @return объект содержащий все данные о сохраненном пользователе
+     * @return Optional объект, оборачивающий данные о сохраненном пользователе,
+     * или пустой Optional если пользователь с таким именем уже существует
      */
-    User save(String username, String password, Role role);
+    Optional<User> save(String username, String password, Role role);
 
     /**
      * Получение данных о пользовтеле по его имени из храналища
@@ -26,11 +31,28 @@ public interface UserRepository {
      */
     Optional<User> findByUsername(String username);
 
+    /**
+     * Замена сохраненного пароля, если он не изменился с момента чтения
+     * @param id id пользователя
+     * @param oldPassword прочитанное ранее значение пароля
+     * @param newPassword новое значение пароля
+     * @return true если пароль заменен, иначе false
+     */
+    boolean updatePassword(int id, String oldPassword, String newPassword);
+
     /**
      * Получение всех пользовательских данных их хранилища
      * @return спиок объектв User
      */
     List<User> findAll();
 
-
+    /**
+     * Импорт пользователей из CSV с заголовком и колонками name, password, role.
+     * Сохраняются только строки с непустыми именем и паролем, существующей ролью и еще не занятым именем,
+     * остальные строки возвращаются вместе с причиной отклонения
+     * @param csv CSV данные пользователей
+     * @return количество сохраненных пользователей и отклоненные строки
+     * @throws UserRegistrationException если CSV данные имеют неправильный формат
+     */
+    UserImportResult importUsers(Reader csv) throws UserRegistrationException;
 }
@@ -2,23 +2,34 @@ package org.coworking.repositories.impl;
 
 import lombok.AllArgsConstructor;
 import org.coworking.models.BookedPlace;
+import org.coworking.models.BookingCursor;
 import org.coworking.models.Place;
 import org.coworking.models.User;
+import org.coworking.models.enums.BookingSortField;
+import org.coworking.models.enums.Role;
+import org.coworking.Utils.exceptions.BookedPlaceConflictsException;
 import org.coworking.repositories.BookedPlaceRepository;
-import org.coworking.repositories.SlotRepository;
 import org.springframework.stereotype.Repository;
 
+import javax.sql.DataSource;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 import static java.util.Optional.empty;
+import static org.coworking.Utils.JDBCUtils.executeInTransaction;
 import static org.coworking.Utils.JDBCUtils.rollback;
 import static org.coworking.Utils.mappers.ResultSetMapper.mapBookedPlace;
 
@@ -30,56 +41,307 @@ import static org.coworking.Utils.mappers.ResultSetMapper.mapBookedPlace;
 public class BookedPlaceRepositoryImpl implements BookedPlaceRepository {
 
     /**
-     * Объект Connection, через которого происходит отправка запросов в БД
+     * Пул соединений, из которого берется связь с БД на время одного запроса
      */
-    private Connection connection;
+    private DataSource dataSource;
 
     /**
-     * Репозиторий, позволяющий работать с хранилищем временых слотов
+     * SQLState ошибки нарушения exclusion constraint в PostgreSQL
      */
-    private SlotRepository slotRepository;
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
 
     /**
-     * Сохраниение Записи о бронировании В БД
+     * SQLState ошибки нарушения внешнего ключа в PostgreSQL
+     */
+    private static final String FOREIGN_KEY_VIOLATION_SQL_STATE = "23503";
+
+    /**
+     * Сообщение об ошибке бронирования места, которого нет в БД
+     */
+    private static final String PLACE_NOT_FOUND_MESSAGE = "Рабочее место для бронирования не найдено!";
+
+    /**
+     * SQL запрос на получение всех связанных с бронированием мест данных
+     */
+    private static final String SELECT_BOOKED_PLACES_QUERY = "SELECT bp.id, u.id, u.name, u.password, u.role, pl.id, pl.place_name, pl.place_type, s.id, s.start_date, s.end_date" +
+            " FROM coworking_schema.booked_places bp INNER JOIN coworking_schema.users u ON bp.user_id = u.id" +
+            " INNER JOIN coworking_schema.places pl ON pl.id = bp.place_id" +
+            " INNER JOIN coworking_schema.slots s ON s.id = bp.slot_id";
+
+    /**
+     * SQL запросы на получение первой страницы бронирований для каждого порядка
+     */
+    private static final Map<BookingSortField, String> SELECT_FIRST_PAGE_QUERIES = new EnumMap<>(Map.of(
+            BookingSortField.ID, SELECT_BOOKED_PLACES_QUERY + " ORDER BY bp.id LIMIT ?",
+            BookingSortField.PLACE_NAME, SELECT_BOOKED_PLACES_QUERY + " ORDER BY pl.place_name, bp.id LIMIT ?",
+            BookingSortField.USER_NAME, SELECT_BOOKED_PLACES_QUERY + " ORDER BY u.name, bp.id LIMIT ?",
+            BookingSortField.SLOT_START, SELECT_BOOKED_PLACES_QUERY + " ORDER BY lower(bp.period), bp.id LIMIT ?"));
+
+    /**
+     * SQL запросы на получение страницы бронирований после позиции курсора для каждого порядка.
+     * Сравнение строк по колонкам разных таблиц не может использовать индекс, поэтому для сортировки по имени
+     * добавлено условие на одну колонку имени, по которому idx_places_place_name и uq_users_name пропускают
+     * уже выданные имена без чтения бронирований предыдущих страниц
+     */
+    private static final Map<BookingSortField, String> SELECT_NEXT_PAGE_QUERIES = new EnumMap<>(Map.of(
+            BookingSortField.ID, SELECT_BOOKED_PLACES_QUERY + " WHERE bp.id > ? ORDER BY bp.id LIMIT ?",
+            BookingSortField.PLACE_NAME, SELECT_BOOKED_PLACES_QUERY +
+                    " WHERE pl.place_name >= ? AND (pl.place_name, bp.id) > (?, ?) ORDER BY pl.place_name, bp.id LIMIT ?",
+            BookingSortField.USER_NAME, SELECT_BOOKED_PLACES_QUERY +
+                    " WHERE u.name >= ? AND (u.name, bp.id) > (?, ?) ORDER BY u.name, bp.id LIMIT ?",
+            BookingSortField.SLOT_START, SELECT_BOOKED_PLACES_QUERY +
+                    " WHERE (lower(bp.period), bp.id) > (?, ?) ORDER BY lower(bp.period), bp.id LIMIT ?"));
+
+    /**
+     * SQL запрос на получение всех бронирований в порядке id для потоковой выгрузки
+     */
+    private static final String SELECT_ALL_BOOKED_PLACES_ORDERED_QUERY = SELECT_BOOKED_PLACES_QUERY + " ORDER BY bp.id";
+
+    /**
+     * Количество строк, которое драйвер получает из курсора БД за одно обращение при потоковой выгрузке
+     */
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * SQL запрос на добавление слота и бронирования одним запросом
+     */
+    private static final String INSERT_BOOKED_PLACE_QUERY = "WITH slot AS (INSERT INTO coworking_schema.slots (start_date, end_date)" +
+            " VALUES (?, ?) RETURNING id)" +
+            " INSERT INTO coworking_schema.booked_places (user_id, place_id, slot_id, period)" +
+            " SELECT ?, ?, slot.id, tsrange(?::timestamp, ?::timestamp) FROM slot RETURNING id";
+
+    /**
+     * SQL запрос на резервирование id для нескольких слотов
+     */
+    private static final String SELECT_NEXT_SLOT_IDS_QUERY = "SELECT nextval('coworking_schema.slot_id_seq') FROM generate_series(1, ?)";
+
+    /**
+     * SQL запрос на резервирование id для нескольких бронирований
+     */
+    private static final String SELECT_NEXT_BOOKED_PLACE_IDS_QUERY = "SELECT nextval('coworking_schema.booked_places_id_seq') FROM generate_series(1, ?)";
+
+    /**
+     * SQL запрос на добавление слота с заранее полученным id
+     */
+    private static final String INSERT_SLOT_WITH_ID_QUERY = "INSERT INTO coworking_schema.slots (id, start_date, end_date) VALUES (?, ?, ?)";
+
+    /**
+     * SQL запрос на добавление бронирования с заранее полученными id
+     */
+    private static final String INSERT_BOOKED_PLACE_WITH_ID_QUERY = "INSERT INTO coworking_schema.booked_places (id, user_id, place_id, slot_id, period)" +
+            " VALUES (?, ?, ?, ?, tsrange(?::timestamp, ?::timestamp))";
+
+    /**
+     * SQL запрос на поиск бронирований из переданных массивов, пересекающихся с существующими бронированиями
+     * или с предыдущими бронированиями того же места в этих же массивах
+     */
+    private static final String SELECT_CONFLICTING_ITEMS_QUERY = "WITH items AS (SELECT * FROM" +
+            " unnest(?::int[], ?::int[], ?::timestamp[], ?::timestamp[]) AS i(idx, place_id, start_date, end_date))" +
+            " SELECT i.idx FROM items i" +
+            " WHERE EXISTS (SELECT 1 FROM coworking_schema.booked_places bp" +
+            " WHERE bp.place_id = i.place_id AND bp.period && tsrange(i.start_date, i.end_date))" +
+            " OR EXISTS (SELECT 1 FROM items o WHERE o.idx < i.idx AND o.place_id = i.place_id" +
+            " AND tsrange(o.start_date, o.end_date) && tsrange(i.start_date, i.end_date))";
+
+    /**
+     * SQL запрос на получение бронирований пользователя
+     */
+    private static final String SELECT_BOOKED_PLACES_BY_USER_QUERY = SELECT_BOOKED_PLACES_QUERY + " WHERE u.id = ?";
+
+    /**
+     * SQL запрос на получение бронирований, пересекающихся с периодом
+     */
+    private static final String SELECT_BOOKED_PLACES_BY_PERIOD_QUERY = SELECT_BOOKED_PLACES_QUERY +
+            " WHERE s.start_date < ? AND s.end_date > ? ORDER BY pl.id, s.start_date";
+
+    /**
+     * SQL запрос на получение бронирования по id
+     */
+    private static final String SELECT_BOOKED_PLACE_BY_ID_QUERY = SELECT_BOOKED_PLACES_QUERY + " WHERE bp.id = ?";
+
+    /**
+     * SQL запрос на удаление бронирования по id
+     */
+    private static final String DELETE_BOOKED_PLACE_BY_ID_QUERY = "DELETE FROM coworking_schema.booked_places WHERE id = ?";
+
+    /**
+     * SQL запрос на удаление бронирования по id с проверкой владельца, возвращающий удаленное бронирование.
+     * Временной слот берется из period удаленной строки, так как сам слот удаляется триггером
+     */
+    private static final String DELETE_BOOKED_PLACE_BY_ID_AND_USER_QUERY = "WITH deleted AS (DELETE FROM coworking_schema.booked_places" +
+            " WHERE id = ? AND (user_id = ? OR ?) RETURNING id, user_id, place_id, slot_id, period)" +
+            " SELECT d.id, u.id, u.name, u.password, u.role, pl.id, pl.place_name, pl.place_type, d.slot_id, lower(d.period), upper(d.period)" +
+            " FROM deleted d INNER JOIN coworking_schema.users u ON d.user_id = u.id" +
+            " INNER JOIN coworking_schema.places pl ON pl.id = d.place_id";
+
+    /**
+     * Сохраниение Записи о бронировании В БД.
+     * Слот и бронирование создаются одним запросом, а пересечение с существующими бронированиями
+     * отклоняется ограничением excl_booked_places_place_period
      *
      * @param place бронированое место
      * @param user  пользователь бронирующий место
      * @param from  дата начала бронирования
      * @param to    дата окончания бронирования
      * @return id записи бронирования в БД
+     * @throws BookedPlaceConflictsException если место уже забронировано в данный промежуток времени
+     */
+    @Override
+    public int save(Place place, User user, LocalDateTime from, LocalDateTime to) throws BookedPlaceConflictsException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(INSERT_BOOKED_PLACE_QUERY)) {
+            statement.setObject(1, from);
+            statement.setObject(2, to);
+            statement.setInt(3, user.getId());
+            statement.setInt(4, place.getId());
+            statement.setObject(5, from);
+            statement.setObject(6, to);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
+        } catch (SQLException e) {
+            if (hasSqlState(e, EXCLUSION_VIOLATION_SQL_STATE)) {
+                throw new BookedPlaceConflictsException("Конфликт бронирования. Данное рабочее место уже было забронированно в данный промежуток времени!");
+            }
+            if (hasSqlState(e, FOREIGN_KEY_VIOLATION_SQL_STATE)) {
+                throw new BookedPlaceConflictsException(PLACE_NOT_FOUND_MESSAGE);
+            }
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Сохранение нескольких бронирований пользователя в одной транзакции.
+     * id слотов и бронирований резервируются заранее двумя запросами к последовательностям,
+     * после чего слоты и бронирования добавляются двумя пачками INSERT запросов
+     *
+     * @param bookedPlaces бронирования, место и временной слот которых нужно сохранить
+     * @param user         пользователь бронирующий места
+     * @return id записей бронирования в порядке переданного списка
+     * @throws BookedPlaceConflictsException если одно из мест уже забронировано в данный промежуток времени
      */
     @Override
-    public int save(Place place, User user, LocalDateTime from, LocalDateTime to) {
+    public List<Integer> saveAll(List<BookedPlace> bookedPlaces, User user) throws BookedPlaceConflictsException {
+        if (bookedPlaces.isEmpty()) {
+            return List.of();
+        }
         try {
-            int slotId = slotRepository.save(from, to);
-            final String preparedInsertionBookedQuery = "INSERT INTO coworking_schema.booked_places (user_id, place_id, slot_id)" +
-                    " VALUES (?, ?, ?)";
-            PreparedStatement statement = connection.prepareStatement(preparedInsertionBookedQuery);
-            statement.setInt(1, user.getId());
-            statement.setInt(2, place.getId());
-            statement.setInt(3, slotId);
-            statement.executeUpdate();
-            int savedId = getCurrentSequence();
-            connection.commit();
-            return savedId;
+            return executeInTransaction(dataSource, connection -> {
+                List<Integer> slotIds = reserveIds(connection, SELECT_NEXT_SLOT_IDS_QUERY, bookedPlaces.size());
+                List<Integer> bookedPlaceIds = reserveIds(connection, SELECT_NEXT_BOOKED_PLACE_IDS_QUERY, bookedPlaces.size());
+                try (PreparedStatement slotStatement = connection.prepareStatement(INSERT_SLOT_WITH_ID_QUERY);
+                     PreparedStatement bookedPlaceStatement = connection.prepareStatement(INSERT_BOOKED_PLACE_WITH_ID_QUERY)) {
+                    for (int i = 0; i < bookedPlaces.size(); i++) {
+                        BookedPlace bookedPlace = bookedPlaces.get(i);
+                        LocalDateTime from = bookedPlace.getSlot().getStart();
+                        LocalDateTime to = bookedPlace.getSlot().getEnd();
+                        slotStatement.setInt(1, slotIds.get(i));
+                        slotStatement.setObject(2, from);
+                        slotStatement.setObject(3, to);
+                        slotStatement.addBatch();
+                        bookedPlaceStatement.setInt(1, bookedPlaceIds.get(i));
+                        bookedPlaceStatement.setInt(2, user.getId());
+                        bookedPlaceStatement.setInt(3, bookedPlace.getPlace().getId());
+                        bookedPlaceStatement.setInt(4, slotIds.get(i));
+                        bookedPlaceStatement.setObject(5, from);
+                        bookedPlaceStatement.setObject(6, to);
+                        bookedPlaceStatement.addBatch();
+                    }
+                    slotStatement.executeBatch();
+                    bookedPlaceStatement.executeBatch();
+                }
+                return bookedPlaceIds;
+            });
         } catch (SQLException e) {
-            rollback(connection);
-            e.printStackTrace();
-            return 0;
+            if (hasSqlState(e, EXCLUSION_VIOLATION_SQL_STATE)) {
+                throw new BookedPlaceConflictsException("Конфликт бронирования. Одно из рабочих мест уже было забронированно в данный промежуток времени!");
+            }
+            if (hasSqlState(e, FOREIGN_KEY_VIOLATION_SQL_STATE)) {
+                throw new BookedPlaceConflictsException(PLACE_NOT_FOUND_MESSAGE);
+            }
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Поиск бронирований из списка, конфликтующих с существующими бронированиями или друг с другом, одним запросом
+     *
+     * @param bookedPlaces проверяемые бронирования
+     * @return индексы конфликтующих бронирований в списке
+     */
+    @Override
+    public Set<Integer> findConflicting(List<BookedPlace> bookedPlaces) {
+        Set<Integer> conflictingIndexes = new HashSet<>();
+        if (bookedPlaces.isEmpty()) {
+            return conflictingIndexes;
+        }
+        Integer[] indexes = new Integer[bookedPlaces.size()];
+        Integer[] placeIds = new Integer[bookedPlaces.size()];
+        Timestamp[] starts = new Timestamp[bookedPlaces.size()];
+        Timestamp[] ends = new Timestamp[bookedPlaces.size()];
+        for (int i = 0; i < bookedPlaces.size(); i++) {
+            BookedPlace bookedPlace = bookedPlaces.get(i);
+            indexes[i] = i;
+            placeIds[i] = bookedPlace.getPlace().getId();
+            starts[i] = Timestamp.valueOf(bookedPlace.getSlot().getStart());
+            ends[i] = Timestamp.valueOf(bookedPlace.getSlot().getEnd());
         }
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_CONFLICTING_ITEMS_QUERY)) {
+            statement.setArray(1, connection.createArrayOf("integer", indexes));
+            statement.setArray(2, connection.createArrayOf("integer", placeIds));
+            statement.setArray(3, connection.createArrayOf("timestamp", starts));
+            statement.setArray(4, connection.createArrayOf("timestamp", ends));
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    conflictingIndexes.add(resultSet.getInt(1));
+                }
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return conflictingIndexes;
     }
 
     /**
-     * Получение из БД последнего id
+     * Резервирование нескольких значений последовательности
      *
-     * @return id последнего сохраненного BookedPlace
-     * @throws SQLException - если в ходе запроса возникла проблема
-     */
-    int getCurrentSequence() throws SQLException {
-        var statement = connection.prepareStatement("select currval('coworking_schema.booked_places_id_seq')");
-        ResultSet resultSet = statement.executeQuery();
-        resultSet.next();
-        return resultSet.getInt(1);
+     * @param connection Connection объект текущей транзакции
+     * @param query      запрос, возвращающий count значений последовательности
+     * @param count      количество значений
+     * @return зарезервированные значения
+     * @throws SQLException если запрос не удалось выполнить
+     */
+    private static List<Integer> reserveIds(Connection connection, String query, int count) throws SQLException {
+        List<Integer> ids = new ArrayList<>(count);
+        try (PreparedStatement statement = connection.prepareStatement(query)) {
+            statement.setInt(1, count);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Проверка, вызвано ли исключение ошибкой с указанным SQLState, например нарушением ограничения
+     * excl_booked_places_place_period или внешнего ключа места.
+     * Ошибка пачки запросов приходит как BatchUpdateException, в цепочке которого находится исходная ошибка
+     *
+     * @param e        исключение
+     * @param sqlState искомый SQLState
+     * @return true если исключение или одна из его причин имеет указанный SQLState
+     */
+    private static boolean hasSqlState(SQLException e, String sqlState) {
+        for (SQLException current = e; current != null; current = current.getNextException()) {
+            if (sqlState.equals(current.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -90,13 +352,13 @@ public class BookedPlaceRepositoryImpl implements BookedPlaceRepository {
      */
     @Override
     public List<BookedPlace> findAllByUser(User user) {
-        final String preparedSelectQuery = getSelectBookedPlacesQuery() + " WHERE u.id = ?";
         List<BookedPlace> bookedPlaceList = new ArrayList<>();
-        try {
-            PreparedStatement statement = connection.prepareStatement(preparedSelectQuery);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_BOOKED_PLACES_BY_USER_QUERY)) {
             statement.setInt(1, user.getId());
-            var resultSet = statement.executeQuery();
-            fillResultList(resultSet, bookedPlaceList);
+            try (var resultSet = statement.executeQuery()) {
+                fillResultList(resultSet, bookedPlaceList);
+            }
         } catch (SQLException e) {
             System.out.println(e.getMessage());
         }
@@ -110,11 +372,10 @@ public class BookedPlaceRepositoryImpl implements BookedPlaceRepository {
      */
     @Override
     public List<BookedPlace> findAll() {
-        final String selectQuery = getSelectBookedPlacesQuery();
         List<BookedPlace> bookedPlaceList = new ArrayList<>();
-        try {
-            Statement statement = connection.createStatement();
-            var resultSet = statement.executeQuery(selectQuery);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_BOOKED_PLACES_QUERY);
+             var resultSet = statement.executeQuery()) {
             fillResultList(resultSet, bookedPlaceList);
         } catch (SQLException e) {
             System.out.println(e.getMessage());
@@ -123,15 +384,98 @@ public class BookedPlaceRepositoryImpl implements BookedPlaceRepository {
     }
 
     /**
-     * Возвращает SQL запрос на получение всех связанных с бронированием мест данных
+     * Получение страницы записей о бронированых местах из БД.
+     * Сортировка и отбор записей после курсора выполняются в БД по индексам changeSet 014 и 015,
+     * поэтому чтение начинается с позиции курсора, а не с первой страницы
      *
-     * @return строка - SQL запрос
+     * @param sortField порядок записей
+     * @param after     позиция, после которой начинается страница, или null для первой страницы
+     * @param limit     максимальное количество записей
+     * @return список бронированых мест
      */
-    private static String getSelectBookedPlacesQuery() {
-        return "SELECT bp.id, u.id, u.name, u.password, u.role, pl.id, pl.place_name, pl.place_type, s.id, s.start_date, s.end_date" +
-                " FROM coworking_schema.booked_places bp INNER JOIN coworking_schema.users u ON bp.user_id = u.id" +
-                " INNER JOIN coworking_schema.places pl ON pl.id = bp.place_id" +
-                " INNER JOIN coworking_schema.slots s ON s.id = bp.slot_id";
+    @Override
+    public List<BookedPlace> findPage(BookingSortField sortField, BookingCursor after, int limit) {
+        List<BookedPlace> bookedPlaceList = new ArrayList<>(limit);
+        String query = after == null ? SELECT_FIRST_PAGE_QUERIES.get(sortField) : SELECT_NEXT_PAGE_QUERIES.get(sortField);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(query)) {
+            int parameterIndex = 1;
+            if (after != null) {
+                switch (sortField) {
+                    case PLACE_NAME, USER_NAME -> {
+                        statement.setString(parameterIndex++, after.key());
+                        statement.setString(parameterIndex++, after.key());
+                    }
+                    case SLOT_START -> statement.setObject(parameterIndex++, LocalDateTime.parse(after.key()));
+                    default -> {
+                    }
+                }
+                statement.setInt(parameterIndex++, after.id());
+            }
+            statement.setInt(parameterIndex, limit);
+            try (var resultSet = statement.executeQuery()) {
+                fillResultList(resultSet, bookedPlaceList);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return bookedPlaceList;
+    }
+
+    /**
+     * Последовательная передача всех записей о бронировании из БД в порядке id.
+     * Драйвер PostgreSQL читает результат через курсор порциями по EXPORT_FETCH_SIZE строк только при выключенном
+     * autocommit, поэтому запрос выполняется в транзакции, а в памяти одновременно находится не больше одной порции
+     *
+     * @param handler обработчик, вызываемый для каждой записи
+     * @throws IOException если обработчик не смог передать запись дальше
+     */
+    @Override
+    public void forEachBookedPlace(BookedPlaceHandler handler) throws IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(SELECT_ALL_BOOKED_PLACES_ORDERED_QUERY,
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(EXPORT_FETCH_SIZE);
+                try (var resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        handler.handle(mapBookedPlace(resultSet));
+                    }
+                }
+                connection.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                rollback(connection);
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Получение за один запрос всех записей о бронировании из БД, временной слот которых пересекается с указанным периодом,
+     * упорядоченных по месту и началу слота
+     *
+     * @param from начало периода
+     * @param to   конец периода
+     * @return список бронированых мест
+     */
+    @Override
+    public List<BookedPlace> findAllByPeriod(LocalDateTime from, LocalDateTime to) {
+        List<BookedPlace> bookedPlaceList = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_BOOKED_PLACES_BY_PERIOD_QUERY)) {
+            statement.setObject(1, to);
+            statement.setObject(2, from);
+            try (var resultSet = statement.executeQuery()) {
+                fillResultList(resultSet, bookedPlaceList);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+        return bookedPlaceList;
     }
 
     /**
@@ -155,12 +499,12 @@ public class BookedPlaceRepositoryImpl implements BookedPlaceRepository {
      */
     @Override
     public Optional<BookedPlace> findById(int id) {
-        final String preparedSelectQuery = getSelectBookedPlacesQuery() + " WHERE bp.id = ?";
-        try {
-            PreparedStatement statement = connection.prepareStatement(preparedSelectQuery);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_BOOKED_PLACE_BY_ID_QUERY)) {
             statement.setInt(1, id);
-            var resultSet = statement.executeQuery();
-            return resultSet.next() ? Optional.ofNullable(mapBookedPlace(resultSet)) : empty();
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.ofNullable(mapBookedPlace(resultSet)) : empty();
+            }
         } catch (SQLException e) {
             e.printStackTrace();
             return empty();
@@ -174,16 +518,36 @@ public class BookedPlaceRepositoryImpl implements BookedPlaceRepository {
      */
     @Override
     public void removeById(int id) {
-        final String preparedDeleteQuery = "DELETE FROM coworking_schema.booked_places WHERE id = ?";
-        try {
-            PreparedStatement statement = connection.prepareStatement(preparedDeleteQuery);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE_BOOKED_PLACE_BY_ID_QUERY)) {
             statement.setInt(1, id);
-            int i = statement.executeUpdate();
-            connection.commit();
-            System.out.println(i);
+            statement.executeUpdate();
         } catch (SQLException e) {
-            rollback(connection);
             System.out.println(e.getMessage());
         }
     }
+
+    /**
+     * Удаление записи о бронировании из БД одним запросом, если она принадлежит пользователю
+     * или пользователь является администратором
+     *
+     * @param id   id записи в БД
+     * @param user пользователь, отменяющий бронирование
+     * @return объект Optional, в который обернут удаленный BookedPlace, или пустой Optional если записи нет или она
+     * принадлежит другому пользователю
+     */
+    @Override
+    public Optional<BookedPlace> removeByIdAndUser(int id, User user) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE_BOOKED_PLACE_BY_ID_AND_USER_QUERY)) {
+            statement.setInt(1, id);
+            statement.setInt(2, user.getId());
+            statement.setBoolean(3, Objects.equals(user.getRole(), Role.ADMIN));
+            try (var resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.of(mapBookedPlace(resultSet)) : empty();
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
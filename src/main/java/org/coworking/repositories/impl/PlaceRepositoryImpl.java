@@ -6,17 +6,16 @@ import org.coworking.models.enums.PlaceType;
 import org.coworking.repositories.PlaceRepository;
 import org.springframework.stereotype.Component;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static java.util.Optional.empty;
-import static org.coworking.Utils.JDBCUtils.rollback;
 import static org.coworking.Utils.mappers.ResultSetMapper.mapPlaceRow;
 
 /**
@@ -27,9 +26,34 @@ import static org.coworking.Utils.mappers.ResultSetMapper.mapPlaceRow;
 public class PlaceRepositoryImpl implements PlaceRepository {
 
     /**
-     * Связь с БД, через которую будет происходить CRUD операции над данными о местах
+     * Пул соединений с БД, через который будет происходить CRUD операции над данными о местах
      */
-    private Connection connection;
+    private DataSource dataSource;
+
+    /**
+     * SQL запрос на добавление места
+     */
+    private static final String INSERT_PLACE_QUERY = "INSERT INTO coworking_schema.places (place_name, place_type) VALUES (?,?)";
+
+    /**
+     * SQL запрос на получение места по имени
+     */
+    private static final String SELECT_PLACE_BY_NAME_QUERY = "SELECT * FROM coworking_schema.places WHERE place_name = ?";
+
+    /**
+     * SQL запрос на получение всех мест
+     */
+    private static final String SELECT_ALL_PLACES_QUERY = "SELECT * FROM coworking_schema.places";
+
+    /**
+     * SQL запрос на удаление места по имени
+     */
+    private static final String DELETE_PLACE_BY_NAME_QUERY = "DELETE FROM coworking_schema.places WHERE place_name = ?";
+
+    /**
+     * SQL запрос на обновление места по имени
+     */
+    private static final String UPDATE_PLACE_BY_NAME_QUERY = "UPDATE coworking_schema.places SET place_name=?, place_type=? WHERE place_name = ?";
 
     /**
      * Сохранение нового места в БД
@@ -39,17 +63,12 @@ public class PlaceRepositoryImpl implements PlaceRepository {
      */
     @Override
     public void save(String placeName, PlaceType placeType) {
-        PreparedStatement insertStatement;
-        try {
-            String preparedSql = "INSERT INTO coworking_schema.places (place_name, place_type) " +
-                    "VALUES (?,?);";
-            insertStatement = connection.prepareStatement(preparedSql);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insertStatement = connection.prepareStatement(INSERT_PLACE_QUERY)) {
             insertStatement.setString(1, placeName);
             insertStatement.setString(2, placeType.name());
             insertStatement.executeUpdate();
-            connection.commit();
         } catch (SQLException e) {
-            rollback(connection);
             System.out.println(e.getMessage());
         }
     }
@@ -62,12 +81,12 @@ public class PlaceRepositoryImpl implements PlaceRepository {
      */
     @Override
     public Optional<Place> findByName(String placeName) {
-        String selectQuery = "SELECT * FROM coworking_schema.places WHERE place_name = ?";
-        try {
-            PreparedStatement statement = connection.prepareStatement(selectQuery);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_PLACE_BY_NAME_QUERY)) {
             statement.setString(1, placeName);
-            ResultSet resultSet = statement.executeQuery();
-            return resultSet.next() ? Optional.ofNullable(mapPlaceRow(resultSet)) : empty();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.ofNullable(mapPlaceRow(resultSet)) : empty();
+            }
         } catch (SQLException e) {
             return empty();
         }
@@ -80,12 +99,10 @@ public class PlaceRepositoryImpl implements PlaceRepository {
      */
     @Override
     public List<Place> findAll() {
-        String selectQuery = "SELECT * FROM coworking_schema.places";
-        Statement statement;
         List<Place> placeList = new ArrayList<>();
-        try {
-            statement = connection.createStatement();
-            var resultSet = statement.executeQuery(selectQuery);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_ALL_PLACES_QUERY);
+             var resultSet = statement.executeQuery()) {
             while (resultSet.next()){
                 placeList.add(mapPlaceRow(resultSet));
             }
@@ -102,14 +119,11 @@ public class PlaceRepositoryImpl implements PlaceRepository {
      */
     @Override
     public void removeByName(String placeName) {
-        String deleteQuery = "DELETE FROM coworking_schema.places WHERE place_name = ?";
-        try {
-            PreparedStatement statement = connection.prepareStatement(deleteQuery);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE_PLACE_BY_NAME_QUERY)) {
             statement.setString(1, placeName);
             statement.executeUpdate();
-            connection.commit();
         } catch (SQLException e) {
-            rollback(connection);
             System.out.println(e.getMessage());
         }
     }
@@ -123,16 +137,13 @@ public class PlaceRepositoryImpl implements PlaceRepository {
      */
     @Override
     public void updatePlace(String oldPlaceName, String newPlaceName, PlaceType newPlaceType) {
-        String deleteQuery = "UPDATE coworking_schema.places SET place_name=?, place_type=? WHERE place_name = ?";
-        try {
-            PreparedStatement statement = connection.prepareStatement(deleteQuery);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(UPDATE_PLACE_BY_NAME_QUERY)) {
             statement.setString(1, newPlaceName);
             statement.setString(2, newPlaceType.name());
             statement.setString(3, oldPlaceName);
             statement.executeUpdate();
-            connection.commit();
         } catch (SQLException e) {
-            rollback(connection);
             System.out.println(e.getMessage());
         }
     }
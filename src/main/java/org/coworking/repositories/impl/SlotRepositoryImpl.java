@@ -5,19 +5,16 @@ import org.coworking.models.Slot;
 import org.coworking.repositories.SlotRepository;
 import org.springframework.stereotype.Component;
 
-import java.sql.CallableStatement;
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
-import java.sql.Types;
 import java.time.LocalDateTime;
 import java.util.Optional;
 
 import static java.sql.Timestamp.valueOf;
 import static java.util.Optional.empty;
-import static org.coworking.Utils.JDBCUtils.rollback;
 import static org.coworking.Utils.mappers.ResultSetMapper.mapSlotRow;
 
 /**
@@ -28,9 +25,24 @@ import static org.coworking.Utils.mappers.ResultSetMapper.mapSlotRow;
 public class SlotRepositoryImpl implements SlotRepository {
 
     /**
-     * Связь с БД, через которую будет происходить CRUD операции над данными о слотах
+     * Пул соединений с БД, через который будет происходить CRUD операции над данными о слотах
      */
-    private Connection connection;
+    private DataSource dataSource;
+
+    /**
+     * SQL запрос на добавление слота, возвращающий его id
+     */
+    private static final String INSERT_SLOT_QUERY = "INSERT INTO coworking_schema.slots (start_date, end_date) VALUES (?, ?) RETURNING id";
+
+    /**
+     * SQL запрос на удаление слота по id
+     */
+    private static final String DELETE_SLOT_BY_ID_QUERY = "DELETE FROM coworking_schema.slots WHERE id = ?";
+
+    /**
+     * SQL запрос на получение слота по id
+     */
+    private static final String SELECT_SLOT_BY_ID_QUERY = "SELECT * FROM coworking_schema.slots WHERE id = ?";
 
     /**
      * Созранение нового временого слота в БД
@@ -41,38 +53,20 @@ public class SlotRepositoryImpl implements SlotRepository {
      */
     @Override
     public int save(LocalDateTime start, LocalDateTime end) {
-        try {
-            createOrReplaceInsertionFunction();
-            String callableSql = "{? = call slot_insertion(?, ?)}";
-            CallableStatement insertStatement = connection.prepareCall(callableSql);
-            insertStatement.registerOutParameter(1, Types.INTEGER);
-            insertStatement.setTimestamp(2, valueOf(start));
-            insertStatement.setTimestamp(3, valueOf(end));
-            insertStatement.executeUpdate();
-            return insertStatement.getInt(1);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insertStatement = connection.prepareStatement(INSERT_SLOT_QUERY)) {
+            insertStatement.setTimestamp(1, valueOf(start));
+            insertStatement.setTimestamp(2, valueOf(end));
+            try (ResultSet resultSet = insertStatement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getInt(1);
+            }
         } catch (SQLException e) {
             e.printStackTrace();
             return 0;
         }
     }
 
-    /**
-     * Создание или замена функции в БД, которая при создании слота возвращает его id
-     * @throws SQLException если создание провалилось
-     */
-    private void createOrReplaceInsertionFunction() throws SQLException {
-        String createFunctionQuery = "CREATE OR REPLACE FUNCTION slot_insertion (start_d TIMESTAMP, end_d TIMESTAMP) " +
-                "RETURNS integer AS $$ " +
-                "BEGIN " +
-                " INSERT INTO coworking_schema.slots (id, start_date, end_date) " +
-                " VALUES (nextval('coworking_schema.slot_id_seq'), start_d, end_d); " +
-                " RETURN currval('coworking_schema.slot_id_seq'); " +
-                "END; " +
-                "$$ LANGUAGE plpgsql";
-        Statement statement = connection.createStatement();
-        statement.executeUpdate(createFunctionQuery);
-    }
-
     /**
      * Удаление слота по id из БД
      *
@@ -80,14 +74,11 @@ public class SlotRepositoryImpl implements SlotRepository {
      */
     @Override
     public void removeSlot(int id) {
-        String deleteQuery = "DELETE FROM coworking_schema.slots WHERE id = ?";
-        try {
-            PreparedStatement statement = connection.prepareStatement(deleteQuery);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(DELETE_SLOT_BY_ID_QUERY)) {
             statement.setInt(1, id);
             statement.executeUpdate();
-            connection.commit();
         } catch (SQLException e) {
-            rollback(connection);
             System.out.println(e.getMessage());
         }
     }
@@ -100,12 +91,12 @@ public class SlotRepositoryImpl implements SlotRepository {
      */
     @Override
     public Optional<Slot> findById(int id) {
-        String selectQuery = "SELECT * FROM coworking_schema.slots WHERE id = ?";
-        try {
-            PreparedStatement statement = connection.prepareStatement(selectQuery);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_SLOT_BY_ID_QUERY)) {
             statement.setInt(1, id);
-            ResultSet resultSet = statement.executeQuery();
-            return resultSet.next() ? Optional.ofNullable(mapSlotRow(resultSet)) : empty();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.ofNullable(mapSlotRow(resultSet)) : empty();
+            }
         } catch (SQLException e) {
             return empty();
         }
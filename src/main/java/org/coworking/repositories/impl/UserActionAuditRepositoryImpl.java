@@ -2,15 +2,18 @@ package org.coworking.repositories.impl;
 
 import lombok.AllArgsConstructor;
 import org.coworking.models.User;
+import org.coworking.models.UserActionAudit;
 import org.coworking.repositories.UserActionAuditRepository;
 import org.springframework.stereotype.Repository;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static java.sql.Timestamp.valueOf;
-import static org.coworking.Utils.JDBCUtils.rollback;
+import static org.coworking.Utils.JDBCUtils.executeInTransaction;
 
 /**
  * Реализация UserActionAuditRepositoryImpl хранящая записи в БД
@@ -20,9 +23,14 @@ import static org.coworking.Utils.JDBCUtils.rollback;
 public class UserActionAuditRepositoryImpl implements UserActionAuditRepository {
 
     /**
-     * Связь с БД
+     * Пул соединений с БД
      */
-    private Connection connection;
+    private DataSource dataSource;
+
+    /**
+     * SQL запрос на добавление записи аудита
+     */
+    private static final String INSERT_AUDIT_QUERY = "INSERT INTO coworking_schema.user_action_audit (user_id, action_description, datetime) VALUES (?,?,?)";
 
     /**
      * Созранение записи о действиях пользователя в БД
@@ -32,18 +40,41 @@ public class UserActionAuditRepositoryImpl implements UserActionAuditRepository
      */
     @Override
     public void save(User user, String actionDescription, LocalDateTime actionDateTime) {
-        try {
-            String preparedSql = "INSERT INTO coworking_schema.user_action_audit (user_id, action_description, datetime) VALUES (?,?,?)";
-            var statement = connection.prepareStatement(preparedSql);
+        try (Connection connection = dataSource.getConnection();
+             var statement = connection.prepareStatement(INSERT_AUDIT_QUERY)) {
             statement.setInt(1, user.getId());
             statement.setString(2, actionDescription);
             statement.setTimestamp(3, valueOf(actionDateTime));
             statement.executeUpdate();
-            connection.commit();
         } catch (SQLException e) {
-            rollback(connection);
             System.out.println(e.getMessage());
             e.printStackTrace();
         }
     }
+
+    /**
+     * Сохранение пачки записей аудита в БД одним JDBC batch запросом в рамках одной транзакции
+     * @param audits список записей
+     */
+    @Override
+    public void saveAll(List<UserActionAudit> audits) {
+        if (audits.isEmpty()) {
+            return;
+        }
+        try {
+            executeInTransaction(dataSource, connection -> {
+                try (var statement = connection.prepareStatement(INSERT_AUDIT_QUERY)) {
+                    for (UserActionAudit audit : audits) {
+                        statement.setInt(1, audit.getUser().getId());
+                        statement.setString(2, audit.getActionDescription());
+                        statement.setTimestamp(3, valueOf(audit.getActionDateTime()));
+                        statement.addBatch();
+                    }
+                    return statement.executeBatch();
+                }
+            });
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
 }
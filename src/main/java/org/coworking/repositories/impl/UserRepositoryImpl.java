@@ -1,22 +1,34 @@
 package org.coworking.repositories.impl;
 
 import lombok.AllArgsConstructor;
+import org.coworking.Utils.exceptions.UserRegistrationException;
 import org.coworking.Utils.mappers.ResultSetMapper;
 import org.coworking.models.User;
+import org.coworking.models.UserImportReject;
+import org.coworking.models.UserImportResult;
 import org.coworking.models.enums.Role;
+import org.coworking.models.enums.UserImportRejectReason;
 import org.coworking.repositories.UserRepository;
+import org.postgresql.copy.CopyManager;
+import org.postgresql.core.BaseConnection;
+import org.postgresql.util.PSQLException;
+import org.postgresql.util.ServerErrorMessage;
 import org.springframework.stereotype.Repository;
 
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Reader;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
-import static org.coworking.Utils.JDBCUtils.rollback;
+import static org.coworking.Utils.JDBCUtils.executeInTransaction;
 
 /**
  * Реализация UserRepository хранящая пользовательские данные в БД
@@ -26,65 +38,161 @@ import static org.coworking.Utils.JDBCUtils.rollback;
 public class UserRepositoryImpl implements UserRepository {
 
     /**
-     * Связь с БД, через которую будет происходить CRUD операции над данными о слотах
+     * Пул соединений с БД, через который будет происходить CRUD операции над данными о пользователях
      */
-    private Connection connection;
+    private DataSource dataSource;
 
     /**
-     * Сохранение данных о новом пользователе в БД
+     * Класс SQLState ошибок данных в PostgreSQL, к которому относятся ошибки формата COPY
+     */
+    private static final String DATA_EXCEPTION_SQL_STATE_CLASS = "22";
+
+    /**
+     * SQL запрос на добавление пользователя, если пользователя с таким именем еще нет.
+     * Существование имени проверяется уникальным индексом uq_users_name
+     */
+    private static final String INSERT_USER_QUERY = "INSERT INTO coworking_schema.users (name, password, role) VALUES (?,?,?)" +
+            " ON CONFLICT (name) DO NOTHING RETURNING *";
+
+    /**
+     * SQL запрос на создание временной таблицы для импорта пользователей, которая удаляется в конце транзакции.
+     * Номера строк присваиваются в порядке, в котором строки приходят через COPY
+     */
+    private static final String CREATE_IMPORT_TABLE_QUERY = "CREATE TEMPORARY TABLE users_import" +
+            " (row_index BIGINT GENERATED ALWAYS AS IDENTITY, name TEXT, password TEXT, role TEXT, reject_reason TEXT)" +
+            " ON COMMIT DROP";
+
+    /**
+     * SQL запрос на загрузку CSV данных во временную таблицу импорта
+     */
+    private static final String COPY_IMPORT_QUERY = "COPY users_import (name, password, role) FROM STDIN WITH (FORMAT csv, HEADER true)";
+
+    /**
+     * SQL запрос на сбор статистики временной таблицы, которую не анализирует autovacuum
+     */
+    private static final String ANALYZE_IMPORT_TABLE_QUERY = "ANALYZE users_import";
+
+    /**
+     * SQL запрос на отклонение строк импорта с пустыми полями или несуществующей ролью
+     */
+    private static final String REJECT_INVALID_ROWS_QUERY = "UPDATE users_import SET reject_reason = CASE" +
+            " WHEN coalesce(btrim(name), '') = '' THEN 'EMPTY_NAME'" +
+            " WHEN coalesce(btrim(password), '') = '' THEN 'EMPTY_PASSWORD'" +
+            " ELSE 'UNKNOWN_ROLE' END" +
+            " WHERE coalesce(btrim(name), '') = '' OR coalesce(btrim(password), '') = '' OR role IS NULL OR role <> ALL (?)";
+
+    /**
+     * SQL запрос на отклонение строк импорта, имя которых уже встречалось в одной из предыдущих допустимых строк
+     */
+    private static final String REJECT_DUPLICATE_ROWS_QUERY = "UPDATE users_import i SET reject_reason = 'DUPLICATE_NAME'" +
+            " FROM (SELECT row_index, row_number() OVER (PARTITION BY name ORDER BY row_index) AS occurrence" +
+            " FROM users_import WHERE reject_reason IS NULL) d" +
+            " WHERE d.row_index = i.row_index AND d.occurrence > 1";
+
+    /**
+     * SQL запрос на добавление допустимых строк импорта в таблицу пользователей одним запросом.
+     * Пароли сохраняются в виде sha256$соль$hex(sha256(соль || пароль)) со случайной солью для каждой строки,
+     * который проверяет и перехэширует PBKDF2 при авторизации PasswordHasher. Строки, имя которых уже занято, отклоняются
+     */
+    private static final String MERGE_IMPORTED_USERS_QUERY = "WITH inserted AS (INSERT INTO coworking_schema.users (name, password, role)" +
+            " SELECT name, 'sha256$' || salt || '$' || encode(sha256(convert_to(salt || password, 'UTF8')), 'hex'), role" +
+            " FROM (SELECT row_index, name, password, role, replace(gen_random_uuid()::text, '-', '') AS salt" +
+            " FROM users_import WHERE reject_reason IS NULL) i ORDER BY row_index" +
+            " ON CONFLICT (name) DO NOTHING RETURNING name)" +
+            " UPDATE users_import i SET reject_reason = 'NAME_EXISTS'" +
+            " WHERE i.reject_reason IS NULL AND NOT EXISTS (SELECT 1 FROM inserted WHERE inserted.name = i.name)";
+
+    /**
+     * SQL запрос на получение отклоненных строк импорта
+     */
+    private static final String SELECT_IMPORT_REJECTS_QUERY = "SELECT row_index, name, reject_reason FROM users_import" +
+            " WHERE reject_reason IS NOT NULL ORDER BY row_index";
+
+    /**
+     * SQL запрос на получение пользователя по имени
+     */
+    private static final String SELECT_USER_BY_NAME_QUERY = "SELECT * FROM coworking_schema.users WHERE name = ?";
+
+    /**
+     * SQL запрос на замену пароля пользователя, если он не изменился с момента чтения
+     */
+    private static final String UPDATE_PASSWORD_QUERY = "UPDATE coworking_schema.users SET password = ? WHERE id = ? AND password = ?";
+
+    /**
+     * SQL запрос на получение всех пользователей
+     */
+    private static final String SELECT_ALL_USERS_QUERY = "SELECT * FROM coworking_schema.users";
+
+    /**
+     * Сохранение данных о новом пользователе в БД одним запросом
      * @param username имя пользователя
      * @param password пароль к аккаунту
      * @param role роль пользователя в системе
-     * @return объект содержащий все данные о сохраненном пользователе
+     * @return Optional объект, оборачивающий данные о сохраненном пользователе,
+     * или пустой Optional если пользователь с таким именем уже существует
      */
     @Override
-    public User save(String username, String password, Role role) {
-        User savedUser = null;
-        try {
-            saveUser(username, password, role);
-            savedUser = findByUsername(username)
-                    .orElseThrow(()-> new SQLException("Saved User not found"));
-            connection.commit();
+    public Optional<User> save(String username, String password, Role role) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(INSERT_USER_QUERY)) {
+            statement.setString(1, username);
+            statement.setString(2, password);
+            statement.setString(3, role.name());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.of(ResultSetMapper.mapUserRow(resultSet)) : Optional.empty();
+            }
         } catch (SQLException e) {
-            System.out.println(e.getMessage());
-            rollback(connection);
+            throw new RuntimeException(e);
         }
-        return savedUser;
     }
 
     /**
-     * Выолнение insert запроса для добавление пользовательских данных в БД
+     * Получение данных о пользовтеле по его имени из БД
      * @param username имя пользователя
-     * @param password пароль к аккаунту
-     * @param role роль пользователя в системе
-     * @throws SQLException если в ходе insert запроса возникла ошибка
-     */
-    private void saveUser(String username, String password, Role role) throws SQLException {
-        String preparedSql = "INSERT INTO coworking_schema.users (name, password, role) " +
-                "VALUES (?,?,?);";
-        var insertStatement = connection.prepareStatement(preparedSql);
-        insertStatement.setString(1, username);
-        insertStatement.setString(2, password);
-        insertStatement.setString(3, role.name());
-        insertStatement.executeUpdate();
+     * @return Optional объект, оборачивающий пользовательские данные
+     */
+    @Override
+    public Optional<User> findByUsername(String username) {
+        try (Connection connection = dataSource.getConnection()) {
+            return findByUsername(connection, username);
+        } catch (SQLException e) {
+            return Optional.empty();
+        }
     }
 
     /**
-     * Получение данных о пользовтеле по его имени из БД
+     * Получение данных о пользовтеле по его имени через уже взятую из пула связь с БД
+     * @param connection связь с БД
      * @param username имя пользователя
      * @return Optional объект, оборачивающий пользовательские данные
+     * @throws SQLException если в ходе select запроса возникла ошибка
      */
-    @Override
-    public Optional<User> findByUsername(String username) {
-        String selectQuery = "SELECT * FROM coworking_schema.users WHERE name = ?";
-        PreparedStatement statement = null;
-        try {
-            statement = connection.prepareStatement(selectQuery);
+    private static Optional<User> findByUsername(Connection connection, String username) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_USER_BY_NAME_QUERY)) {
             statement.setString(1,username);
-            ResultSet resultSet = statement.executeQuery();
-            return resultSet.next() ? Optional.ofNullable(ResultSetMapper.mapUserRow(resultSet)) : Optional.empty();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() ? Optional.ofNullable(ResultSetMapper.mapUserRow(resultSet)) : Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Замена сохраненного пароля в БД, если он не изменился с момента чтения
+     * @param id id пользователя
+     * @param oldPassword прочитанное ранее значение пароля
+     * @param newPassword новое значение пароля
+     * @return true если пароль заменен, иначе false
+     */
+    @Override
+    public boolean updatePassword(int id, String oldPassword, String newPassword) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(UPDATE_PASSWORD_QUERY)) {
+            statement.setString(1, newPassword);
+            statement.setInt(2, id);
+            statement.setString(3, oldPassword);
+            return statement.executeUpdate() > 0;
         } catch (SQLException e) {
-            return Optional.empty();
+            throw new RuntimeException(e);
         }
     }
 
@@ -94,12 +202,10 @@ public class UserRepositoryImpl implements UserRepository {
      */
     @Override
     public List<User> findAll() {
-        String selectQuery = "SELECT * FROM coworking_schema.users";
-        Statement statement;
         List<User> userList = new ArrayList<>();
-        try {
-            statement = connection.createStatement();
-            var resultSet = statement.executeQuery(selectQuery);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT_ALL_USERS_QUERY);
+             var resultSet = statement.executeQuery()) {
             while (resultSet.next()){
                 userList.add(ResultSetMapper.mapUserRow(resultSet));
             }
@@ -108,4 +214,86 @@ public class UserRepositoryImpl implements UserRepository {
         }
         return userList;
     }
+
+    /**
+     * Импорт пользователей из CSV в рамках одной транзакции.
+     * Данные загружаются через COPY во временную таблицу, после чего проверяются и добавляются в таблицу пользователей
+     * несколькими запросами над всеми строками сразу
+     * @param csv CSV данные пользователей
+     * @return количество сохраненных пользователей и отклоненные строки
+     * @throws UserRegistrationException если CSV данные имеют неправильный формат
+     */
+    @Override
+    public UserImportResult importUsers(Reader csv) throws UserRegistrationException {
+        try {
+            return executeInTransaction(dataSource, connection -> {
+                execute(connection, CREATE_IMPORT_TABLE_QUERY);
+                long copiedCount = copyIn(connection, csv);
+                execute(connection, ANALYZE_IMPORT_TABLE_QUERY);
+                try (PreparedStatement statement = connection.prepareStatement(REJECT_INVALID_ROWS_QUERY)) {
+                    statement.setArray(1, connection.createArrayOf("text",
+                            Arrays.stream(Role.values()).map(Role::name).toArray()));
+                    statement.executeUpdate();
+                }
+                execute(connection, REJECT_DUPLICATE_ROWS_QUERY);
+                execute(connection, MERGE_IMPORTED_USERS_QUERY);
+                List<UserImportReject> rejects = findImportRejects(connection);
+                return new UserImportResult(copiedCount - rejects.size(), rejects);
+            });
+        } catch (PSQLException e) {
+            ServerErrorMessage serverErrorMessage = e.getServerErrorMessage();
+            if (serverErrorMessage == null || !e.getSQLState().startsWith(DATA_EXCEPTION_SQL_STATE_CLASS)) {
+                throw new RuntimeException(e);
+            }
+            throw new UserRegistrationException("Неправильный формат CSV: " + serverErrorMessage.getMessage()
+                    + " (" + serverErrorMessage.getWhere() + ")");
+        } catch (SQLException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Выполнение запроса без параметров и результата
+     * @param connection связь с БД, в рамках транзакции которой выполняется запрос
+     * @param query SQL запрос
+     * @throws SQLException если в ходе запроса возникла ошибка
+     */
+    private static void execute(Connection connection, String query) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(query);
+        }
+    }
+
+    /**
+     * Потоковая загрузка CSV данных во временную таблицу импорта через COPY протокол
+     * @param connection связь с БД, в рамках транзакции которой выполняется загрузка
+     * @param csv CSV данные пользователей
+     * @return количество загруженных строк
+     * @throws SQLException если в ходе загрузки возникла ошибка БД или чтения данных
+     */
+    private static long copyIn(Connection connection, Reader csv) throws SQLException {
+        try {
+            return new CopyManager(connection.unwrap(BaseConnection.class)).copyIn(COPY_IMPORT_QUERY, csv);
+        } catch (IOException e) {
+            throw new SQLException("Ошибка чтения импортируемых данных", e);
+        }
+    }
+
+    /**
+     * Получение отклоненных строк импорта
+     * @param connection связь с БД, в рамках транзакции которой выполняется запрос
+     * @return отклоненные строки в порядке импорта
+     * @throws SQLException если в ходе select запроса возникла ошибка
+     */
+    private static List<UserImportReject> findImportRejects(Connection connection) throws SQLException {
+        List<UserImportReject> rejects = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(SELECT_IMPORT_REJECTS_QUERY);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rejects.add(new UserImportReject(resultSet.getLong(1), resultSet.getString(2),
+                        UserImportRejectReason.valueOf(resultSet.getString(3))));
+            }
+        }
+        return rejects;
+    }
 }
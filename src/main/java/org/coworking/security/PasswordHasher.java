@@ -0,0 +1,187 @@
+package org.coworking.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HexFormat;
+
+/**
+ * Хэширование паролей алгоритмом PBKDF2 с солью и настраиваемым количеством итераций.
+ * Хэш хранится в виде pbkdf2$итерации$соль$хэш, поэтому количество итераций можно менять без миграции:
+ * пароли, сохраненные с другим количеством итераций, по-прежнему проверяются и перехэшируются при следующей успешной
+ * авторизации. Пароли импортируемых пользователей и пароли, сохраненные в открытом виде до перехода на хэширование,
+ * хэшируются средствами БД быстрым соленым хэшем sha256$соль$hex(sha256(соль || пароль)), который также проверяется
+ * и перехэшируется PBKDF2 при следующей успешной авторизации
+ */
+@Component
+public class PasswordHasher {
+
+    /**
+     * Алгоритм хэширования
+     */
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+
+    /**
+     * Префикс сохраненного хэша
+     */
+    private static final String PREFIX = "pbkdf2";
+
+    /**
+     * Префикс хэша, вычисленного БД при импорте пользователей или миграции паролей в открытом виде
+     */
+    private static final String IMPORTED_PREFIX = "sha256";
+
+    /**
+     * Алгоритм хэша, вычисленного БД
+     */
+    private static final String IMPORTED_ALGORITHM = "SHA-256";
+
+    /**
+     * Разделитель частей сохраненного хэша
+     */
+    private static final String SEPARATOR = "$";
+
+    /**
+     * Длина соли в байтах
+     */
+    private static final int SALT_LENGTH = 16;
+
+    /**
+     * Длина хэша в битах
+     */
+    private static final int HASH_LENGTH = 256;
+
+    /**
+     * Количество итераций для новых хэшей
+     */
+    private final int iterations;
+
+    /**
+     * Источник соли
+     */
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public PasswordHasher(@Value("${passwordHashIterations}") int iterations) {
+        this.iterations = iterations;
+    }
+
+    /**
+     * Хэширование пароля со случайной солью
+     *
+     * @param password пароль
+     * @return хэш в виде pbkdf2$итерации$соль$хэш
+     */
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_LENGTH];
+        secureRandom.nextBytes(salt);
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return String.join(SEPARATOR, PREFIX, String.valueOf(iterations),
+                encoder.encodeToString(salt), encoder.encodeToString(pbkdf2(password, salt, iterations)));
+    }
+
+    /**
+     * Проверка пароля. Значения, сохраненные до перехода на хэширование, сравниваются как открытый пароль,
+     * хэши, вычисленные БД, проверяются SHA-256 с сохраненной солью
+     *
+     * @param password       введенный пароль
+     * @param storedPassword сохраненный хэш или пароль в открытом виде
+     * @return true если пароль совпадает, иначе false
+     */
+    public boolean matches(String password, String storedPassword) {
+        if (password == null || storedPassword == null) {
+            return false;
+        }
+        if (isImported(storedPassword)) {
+            return matchesImported(password, storedPassword);
+        }
+        if (!isHashed(storedPassword)) {
+            return MessageDigest.isEqual(password.getBytes(StandardCharsets.UTF_8), storedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = storedPassword.split("\\" + SEPARATOR);
+        try {
+            Base64.Decoder decoder = Base64.getDecoder();
+            byte[] expectedHash = decoder.decode(parts[3]);
+            byte[] actualHash = pbkdf2(password, decoder.decode(parts[2]), Integer.parseInt(parts[1]));
+            return MessageDigest.isEqual(expectedHash, actualHash);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Проверка, нужно ли перехэшировать сохраненный пароль текущими настройками
+     *
+     * @param storedPassword сохраненный хэш или пароль в открытом виде
+     * @return true если пароль хранится в открытом виде, хэширован БД или хэширован с другим количеством итераций
+     */
+    public boolean needsRehash(String storedPassword) {
+        return !isHashed(storedPassword) || !storedPassword.split("\\" + SEPARATOR)[1].equals(String.valueOf(iterations));
+    }
+
+    /**
+     * Проверка, что значение имеет формат хэша
+     *
+     * @param storedPassword сохраненный хэш или пароль в открытом виде
+     * @return true если значение имеет вид pbkdf2$итерации$соль$хэш
+     */
+    private static boolean isHashed(String storedPassword) {
+        return storedPassword.startsWith(PREFIX + SEPARATOR) && storedPassword.split("\\" + SEPARATOR).length == 4;
+    }
+
+    /**
+     * Проверка, что значение имеет формат хэша, вычисленного БД
+     *
+     * @param storedPassword сохраненный хэш или пароль в открытом виде
+     * @return true если значение имеет вид sha256$соль$хэш
+     */
+    private static boolean isImported(String storedPassword) {
+        return storedPassword.startsWith(IMPORTED_PREFIX + SEPARATOR) && storedPassword.split("\\" + SEPARATOR).length == 3;
+    }
+
+    /**
+     * Проверка пароля по хэшу, вычисленному БД
+     *
+     * @param password       введенный пароль
+     * @param storedPassword хэш в виде sha256$соль$hex(sha256(соль || пароль))
+     * @return true если пароль совпадает, иначе false
+     */
+    private static boolean matchesImported(String password, String storedPassword) {
+        String[] parts = storedPassword.split("\\" + SEPARATOR);
+        try {
+            byte[] expectedHash = HexFormat.of().parseHex(parts[2]);
+            byte[] actualHash = MessageDigest.getInstance(IMPORTED_ALGORITHM)
+                    .digest((parts[1] + password).getBytes(StandardCharsets.UTF_8));
+            return MessageDigest.isEqual(expectedHash, actualHash);
+        } catch (IllegalArgumentException e) {
+            return false;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Вычисление PBKDF2 хэша
+     *
+     * @param password   пароль
+     * @param salt       соль
+     * @param iterations количество итераций
+     * @return хэш
+     */
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec keySpec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_LENGTH);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(keySpec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        } finally {
+            keySpec.clearPassword();
+        }
+    }
+}
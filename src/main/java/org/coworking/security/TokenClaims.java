@@ -0,0 +1,30 @@
+package org.coworking.security;
+
+import org.coworking.models.User;
+import org.coworking.models.enums.Role;
+
+/**
+ * Данные, которые содержит токен доступа
+ *
+ * @param jti  уникальный идентификатор токена, по которому токен отзывается
+ * @param sub  id пользователя
+ * @param name имя пользователя
+ * @param role роль пользователя на момент выдачи токена
+ * @param iat  время выдачи в секундах от начала эпохи
+ * @param exp  время истечения в секундах от начала эпохи
+ */
+public record TokenClaims(String jti, int sub, String name, Role role, long iat, long exp) {
+
+    /**
+     * Получение пользователя, которому выдан токен, без обращения к БД
+     *
+     * @return User объект без пароля
+     */
+    public User toUser() {
+        return User.builder()
+                .id(sub)
+                .name(name)
+                .role(role)
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+package org.coworking.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.coworking.models.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Выдача и проверка токенов доступа в формате JWT, подписанных HMAC-SHA256.
+ * Токен содержит id, имя и роль пользователя и время истечения, поэтому проверяется в памяти без обращения к БД.
+ * Отозванные до истечения токены хранятся в памяти до момента своего истечения
+ */
+@Component
+public class TokenService {
+
+    /**
+     * Префикс значения Authorization header с токеном
+     */
+    public static final String BEARER_PREFIX = "Bearer ";
+
+    /**
+     * Алгоритм подписи
+     */
+    private static final String SIGNATURE_ALGORITHM = "HmacSHA256";
+
+    /**
+     * Заголовок токена, одинаковый для всех выдаваемых токенов
+     */
+    private static final String HEADER = base64("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    /**
+     * Разделитель частей токена
+     */
+    private static final String SEPARATOR = ".";
+
+    /**
+     * Сериализация данных токена
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Ключ подписи
+     */
+    private final SecretKeySpec signingKey;
+
+    /**
+     * Время жизни токена в секундах
+     */
+    private final long ttlSeconds;
+
+    /**
+     * Идентификаторы отозванных токенов со временем их истечения
+     */
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * @param objectMapper ObjectMapper для сериализации данных токена
+     * @param secret       ключ подписи, если пустой, используется случайный ключ и токены перестают действовать
+     *                     после перезапуска
+     * @param ttlSeconds   время жизни токена в секундах
+     */
+    public TokenService(ObjectMapper objectMapper,
+                        @Value("${tokenSecret}") String secret,
+                        @Value("${tokenTtlSeconds}") long ttlSeconds) {
+        this.objectMapper = objectMapper;
+        this.ttlSeconds = ttlSeconds;
+        byte[] key;
+        if (secret == null || secret.isEmpty()) {
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.signingKey = new SecretKeySpec(key, SIGNATURE_ALGORITHM);
+    }
+
+    /**
+     * Выдача токена пользователю
+     *
+     * @param user авторизированный пользователь
+     * @return подписанный токен
+     */
+    public String issue(User user) {
+        long now = System.currentTimeMillis() / 1000;
+        TokenClaims claims = new TokenClaims(UUID.randomUUID().toString(), user.getId(), user.getName(), user.getRole(),
+                now, now + ttlSeconds);
+        try {
+            String unsignedToken = HEADER + SEPARATOR + base64(objectMapper.writeValueAsBytes(claims));
+            return unsignedToken + SEPARATOR + base64(sign(unsignedToken));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Получение времени жизни выдаваемых токенов
+     *
+     * @return время жизни в секундах
+     */
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * Проверка подписи, срока действия и отзыва токена
+     *
+     * @param token токен без префикса Bearer
+     * @return Optional объект, в который обернуты данные токена, или пустой Optional если токен недействителен
+     */
+    public Optional<TokenClaims> verify(String token) {
+        String[] parts = token.split("\\" + SEPARATOR);
+        if (parts.length != 3 || !HEADER.equals(parts[0])) {
+            return Optional.empty();
+        }
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            byte[] expectedSignature = sign(parts[0] + SEPARATOR + parts[1]);
+            if (!MessageDigest.isEqual(expectedSignature, decoder.decode(parts[2]))) {
+                return Optional.empty();
+            }
+            TokenClaims claims = objectMapper.readValue(decoder.decode(parts[1]), TokenClaims.class);
+            if (claims.exp() <= System.currentTimeMillis() / 1000 || revokedTokens.containsKey(claims.jti())) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (IllegalArgumentException | IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Отзыв действующего токена до его истечения. Вместе с этим из списка удаляются уже истекшие токены
+     *
+     * @param token токен без префикса Bearer
+     * @return true если токен был действителен и отозван, иначе false
+     */
+    public boolean revoke(String token) {
+        Optional<TokenClaims> claims = verify(token);
+        if (claims.isEmpty()) {
+            return false;
+        }
+        long now = System.currentTimeMillis() / 1000;
+        revokedTokens.values().removeIf(exp -> exp <= now);
+        revokedTokens.put(claims.get().jti(), claims.get().exp());
+        return true;
+    }
+
+    /**
+     * Вычисление подписи
+     *
+     * @param unsignedToken заголовок и данные токена
+     * @return подпись
+     */
+    private byte[] sign(String unsignedToken) {
+        try {
+            Mac mac = Mac.getInstance(SIGNATURE_ALGORITHM);
+            mac.init(signingKey);
+            return mac.doFinal(unsignedToken.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Кодирование в Base64 для URL без дополнения
+     *
+     * @param bytes данные
+     * @return закодированная строка
+     */
+    private static String base64(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
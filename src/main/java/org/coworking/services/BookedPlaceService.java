@@ -2,24 +2,42 @@ package org.coworking.services;
 
 import lombok.AllArgsConstructor;
 import org.coworking.Utils.exceptions.BookedPlaceConflictsException;
+import org.coworking.Utils.TimeUtils;
 import org.coworking.Utils.exceptions.PlaceNamingException;
 import org.coworking.Utils.mappers.PlaceMapper;
 import org.coworking.Utils.mappers.SlotMapper;
 import org.coworking.annotations.Loggable;
+import org.coworking.cache.AvailabilityStore;
+import org.coworking.cache.BookedPlaceIndex;
 import org.coworking.dtos.AvailableSlotsDTO;
+import org.coworking.dtos.DayAvailableSlotsDTO;
+import org.coworking.dtos.PlaceFreeSlotsDTO;
 import org.coworking.dtos.SlotDTO;
 import org.coworking.models.BookedPlace;
+import org.coworking.models.BookedPlacePage;
+import org.coworking.models.BookingBatchResult;
+import org.coworking.models.BookingCursor;
+import org.coworking.models.BookingResult;
 import org.coworking.models.Place;
 import org.coworking.models.Slot;
 import org.coworking.models.User;
+import org.coworking.models.enums.BookingSortField;
+import org.coworking.models.enums.PlaceType;
 import org.coworking.repositories.BookedPlaceRepository;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 
@@ -41,6 +59,66 @@ public class BookedPlaceService {
      */
     private BookedPlaceRepository bookedPlaceRepository;
 
+    /**
+     * Индекс бронирований по местам, используемый для вычисления свободных слотов без обращения к БД
+     */
+    private final BookedPlaceIndex bookedPlaceIndex = new BookedPlaceIndex();
+
+    /**
+     * Количество дней после текущего, для которых свободные слоты хранятся в availabilityStore
+     */
+    public static final int AVAILABILITY_HORIZON_DAYS = 14;
+
+    /**
+     * Материализованные свободные слоты всех мест на текущий и ближайшие AVAILABILITY_HORIZON_DAYS дней
+     */
+    private final AvailabilityStore availabilityStore = new AvailabilityStore(AVAILABILITY_HORIZON_DAYS);
+
+    /**
+     * Счетчик изменений бронирований, по которому строятся ETag ответов со свободными слотами
+     */
+    private final AtomicLong modificationCount = new AtomicLong();
+
+    /**
+     * Количество бронирований на странице, если limit не указан
+     */
+    public static final int DEFAULT_PAGE_LIMIT = 100;
+
+    /**
+     * Максимальное количество бронирований на странице
+     */
+    public static final int MAX_PAGE_LIMIT = 1000;
+
+    /**
+     * Максимальное количество дней в диапазоне дат для поиска свободных слотов
+     */
+    public static final int MAX_AVAILABILITY_RANGE_DAYS = 31;
+
+    /**
+     * Максимальное количество бронирований в одном пакетном бронировании
+     */
+    public static final int MAX_BATCH_BOOKING_SIZE = 500;
+
+    /**
+     * Причина отклонения бронирования из пакета, пересекающегося с существующим бронированием или с предыдущим в пакете
+     */
+    private static final String BATCH_CONFLICT_MESSAGE = "Конфликт бронирования. Данное рабочее место уже было забронированно в данный промежуток времени!";
+
+    /**
+     * Сообщение об ошибке бронирования места, которого нет в каталоге мест
+     */
+    private static final String PLACE_NOT_FOUND_MESSAGE = "Рабочее место для бронирования не найдено!";
+
+    /**
+     * Начало рабочего дня, с которого вычисляются свободные слоты
+     */
+    private static final LocalTime START_OF_DAY = LocalTime.of(8, 0);
+
+    /**
+     * Конец рабочего дня, до которого вычисляются свободные слоты
+     */
+    private static final LocalTime END_OF_DAY = LocalTime.of(20, 0);
+
     /**
      * Возвращает все данные о бронировании мест
      *
@@ -50,6 +128,16 @@ public class BookedPlaceService {
         return bookedPlaceRepository.findAll();
     }
 
+    /**
+     * Передает все данные о бронировании мест в порядке id по одной записи, не загружая их в память целиком
+     *
+     * @param handler обработчик, вызываемый для каждой записи
+     * @throws IOException если обработчик не смог передать запись дальше
+     */
+    public void exportAllBookedPlaces(BookedPlaceRepository.BookedPlaceHandler handler) throws IOException {
+        bookedPlaceRepository.forEachBookedPlace(handler);
+    }
+
     /**
      * Возвращает все данные о бронированных местах связанных с указанным пользователем
      *
@@ -61,14 +149,28 @@ public class BookedPlaceService {
     }
 
     /**
-     * Отмена бронирования
+     * Отмена бронирования пользователем. Проверка владельца и удаление выполняются одним запросом
+     *
+     * @param id   id бронирования
+     * @param user пользователь, отменяющий бронирование
+     * @throws BookedPlaceConflictsException если бронирования с таким id не существует или оно принадлежит другому
+     *                                       пользователю, а текущий пользователь не является администратором
+     */
+    public void cancelBooking(int id, User user) throws BookedPlaceConflictsException {
+        BookedPlace bookedPlace = bookedPlaceRepository.removeByIdAndUser(id, user)
+                .orElseThrow(() -> new BookedPlaceConflictsException("Удаление удаление данного BookedPlace невозможно из-за отсувствия записи или доступа к данной функции"));
+        bookedPlaceIndex.remove(bookedPlace);
+        refreshAvailability(bookedPlace.getPlace(), bookedPlace.getSlot().getStart(), bookedPlace.getSlot().getEnd());
+        modificationCount.incrementAndGet();
+    }
+
+    /**
+     * Получение количества изменений бронирований с момента запуска приложения
      *
-     * @param id id бронирования
-     * @throws BookedPlaceConflictsException если бронирования с таким id не существует
+     * @return значение счетчика изменений
      */
-    public void cancelBooking(int id) throws BookedPlaceConflictsException {
-        findById(id);
-        bookedPlaceRepository.removeById(id);
+    public long getModificationCount() {
+        return modificationCount.get();
     }
 
     /**
@@ -84,27 +186,166 @@ public class BookedPlaceService {
     }
 
     /**
-     * Получение данных о свободных слотах для всех мест по определенной дате
+     * Получение данных о свободных слотах для всех мест по определенной дате.
+     * Для текущего и ближайших AVAILABILITY_HORIZON_DAYS дней слоты берутся из availabilityStore,
+     * для остальных дат вычисляются по бронированиям из БД
      * @param date дата для фильтрации
      * @return список всех мест и их свободные слоты для определенной даты
      */
     public List<AvailableSlotsDTO> getAllAvailableDTOSlots(LocalDateTime date) {
+        LocalDate today = LocalDate.now();
+        if (availabilityStore.covers(today, date.toLocalDate())) {
+            bookedPlaceIndex.loadIfRequired(this::getAllBookedPlaces);
+            return availabilityStore.getDay(today, date.toLocalDate(), placeService.getModificationCount(), this::computeAllAvailableDTOSlots);
+        }
+        LocalDateTime dayStart = date.toLocalDate().atStartOfDay();
+        Map<Integer, List<BookedPlace>> bookingsByPlaceId = bookedPlaceRepository.findAllByPeriod(dayStart, dayStart.plusDays(1)).stream()
+                .collect(Collectors.groupingBy(bookedPlace -> bookedPlace.getPlace().getId()));
         return placeService.getAllPlaces().stream()
-                .map(place -> getAvailableSlotsDto(place, date))
+                .map(place -> getAvailableSlotsDto(place, computeAvailableSlots(bookingsByPlaceId.getOrDefault(place.getId(), List.of()), date)))
                 .collect(Collectors.toList());
     }
 
 
     /**
-     * Создание DTO объекта, содержащий данные о доступных слотах и месте по определеннй дате
+     * Получение свободных слотов мест за каждый день диапазона дат.
+     * Бронирования всего диапазона получаются одним запросом, упорядоченными по месту и началу слота,
+     * и обходятся один раз: для каждого места два указателя сдвигаются от дня к дню только вперед
+     *
+     * @param from      первый день диапазона
+     * @param to        последний день диапазона включительно
+     * @param placeType тип мест или null для всех мест
+     * @return свободные слоты мест по дням
+     * @throws BookedPlaceConflictsException если диапазон или тип места указаны неправильно
+     */
+    public List<DayAvailableSlotsDTO> getAvailableSlotsForRange(LocalDate from, LocalDate to, String placeType) throws BookedPlaceConflictsException {
+        if (to.isBefore(from)) {
+            throw new BookedPlaceConflictsException("Параметр from должен быть не позже параметра to!");
+        }
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > MAX_AVAILABILITY_RANGE_DAYS) {
+            throw new BookedPlaceConflictsException("Диапазон дат должен быть не больше " + MAX_AVAILABILITY_RANGE_DAYS + " дней!");
+        }
+        PlaceType type = toPlaceType(placeType);
+        List<Place> places = placeService.getAllPlaces().stream()
+                .filter(place -> type == null || place.getPlaceType() == type)
+                .toList();
+        Map<Integer, List<BookedPlace>> bookingsByPlaceId = splitByPlace(
+                bookedPlaceRepository.findAllByPeriod(from.atTime(START_OF_DAY), to.atTime(END_OF_DAY)));
+
+        List<List<PlaceFreeSlotsDTO>> placesByDay = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            placesByDay.add(new ArrayList<>(places.size()));
+        }
+        for (Place place : places) {
+            List<BookedPlace> bookings = bookingsByPlaceId.getOrDefault(place.getId(), List.of());
+            int first = 0;
+            int last = 0;
+            for (int day = 0; day < days; day++) {
+                LocalDateTime date = from.plusDays(day).atStartOfDay();
+                while (first < bookings.size() && !bookings.get(first).getSlot().getEnd().isAfter(date.with(START_OF_DAY))) {
+                    first++;
+                }
+                last = Math.max(last, first);
+                while (last < bookings.size() && bookings.get(last).getSlot().getStart().isBefore(date.with(END_OF_DAY))) {
+                    last++;
+                }
+                List<Slot> availableSlots = computeAvailableSlots(bookings.subList(first, last), date);
+                placesByDay.get(day).add(new PlaceFreeSlotsDTO(place.getId(), toIntervals(availableSlots)));
+            }
+        }
+
+        List<DayAvailableSlotsDTO> result = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            result.add(new DayAvailableSlotsDTO(from.plusDays(day).toString(), placesByDay.get(day)));
+        }
+        return result;
+    }
+
+    /**
+     * Разбиение бронирований, упорядоченных по месту, на последовательные части по id места без копирования
+     *
+     * @param bookings бронирования, упорядоченные по месту и началу слота
+     * @return бронирования по id места
+     */
+    private static Map<Integer, List<BookedPlace>> splitByPlace(List<BookedPlace> bookings) {
+        Map<Integer, List<BookedPlace>> bookingsByPlaceId = new HashMap<>();
+        int start = 0;
+        for (int i = 1; i <= bookings.size(); i++) {
+            int placeId = bookings.get(start).getPlace().getId();
+            if (i == bookings.size() || bookings.get(i).getPlace().getId() != placeId) {
+                bookingsByPlaceId.put(placeId, bookings.subList(start, i));
+                start = i;
+            }
+        }
+        return bookingsByPlaceId;
+    }
+
+    /**
+     * Представление свободных слотов в виде промежутков HH:mm-HH:mm
+     *
+     * @param slots свободные слоты одного дня
+     * @return список промежутков
+     */
+    private static List<String> toIntervals(List<Slot> slots) {
+        return slots.stream()
+                .map(slot -> TimeUtils.getFormatedTime(slot.getStart()) + "-" + TimeUtils.getFormatedTime(slot.getEnd()))
+                .toList();
+    }
+
+    /**
+     * Определение типа мест по параметру запроса
+     *
+     * @param placeType имя типа места или null
+     * @return тип места или null, если тип не указан
+     * @throws BookedPlaceConflictsException если такого типа места не существует
+     */
+    private static PlaceType toPlaceType(String placeType) throws BookedPlaceConflictsException {
+        if (placeType == null) {
+            return null;
+        }
+        try {
+            return PlaceType.valueOf(placeType);
+        } catch (IllegalArgumentException e) {
+            throw new BookedPlaceConflictsException("Тип места должен быть одним из " + Arrays.toString(PlaceType.values()) + "!");
+        }
+    }
+
+    /**
+     * Вычисление свободных слотов всех мест на день по индексу бронирований
+     *
+     * @param date дата
+     * @return список всех мест и их свободные слоты в порядке каталога мест
+     */
+    private List<AvailableSlotsDTO> computeAllAvailableDTOSlots(LocalDate date) {
+        return placeService.getAllPlaces().stream()
+                .map(place -> getAvailableSlotsDto(place, getAvailableSlots(place, date.atStartOfDay())))
+                .toList();
+    }
+
+    /**
+     * Пересчет материализованных свободных слотов места в дни, которые затрагивает бронирование
+     *
+     * @param place место
+     * @param from  начало бронирования
+     * @param to    конец бронирования
+     */
+    private void refreshAvailability(Place place, LocalDateTime from, LocalDateTime to) {
+        LocalDate lastDay = to.toLocalTime().equals(LocalTime.MIDNIGHT) ? to.toLocalDate().minusDays(1) : to.toLocalDate();
+        availabilityStore.refreshPlace(place.getId(), from.toLocalDate(), lastDay,
+                date -> toSlotsDtoList(getAvailableSlots(place, date.atStartOfDay())));
+    }
+
+    /**
+     * Создание DTO объекта, содержащий данные о доступных слотах и месте
      * @param place место
-     * @param date определенная дата
+     * @param availableSlots свободные слоты места
      * @return объект AvailableSlotsDTO
      */
-    private AvailableSlotsDTO getAvailableSlotsDto(Place place, LocalDateTime date) {
+    private AvailableSlotsDTO getAvailableSlotsDto(Place place, List<Slot> availableSlots) {
         return AvailableSlotsDTO.builder()
                 .placeDTO(PlaceMapper.INSTANCE.placeToPlaceDto(place))
-                .slotDTOS(toSlotsDtoList(getAvailableSlots(place, date))).build();
+                .slotDTOS(toSlotsDtoList(availableSlots)).build();
     }
 
     /**
@@ -126,9 +367,127 @@ public class BookedPlaceService {
      * @param user  пользователь, бронирующий место
      * @param from  дата начала бронирования
      * @param to    дата окончания бронирования
+     * @throws BookedPlaceConflictsException если места не существует или оно уже забронировано в данный промежуток времени
+     */
+    public void bookPlace(Place place, User user, LocalDateTime from, LocalDateTime to) throws BookedPlaceConflictsException {
+        if (!isExistingPlace(place)) {
+            throw new BookedPlaceConflictsException(PLACE_NOT_FOUND_MESSAGE);
+        }
+        int savedId = bookedPlaceRepository.save(place, user, from, to);
+        registerBooking(savedId, place, user, from, to);
+    }
+
+    /**
+     * Проверка существования места в каталоге мест, чтобы бронирование несуществующего места
+     * отклонялось до обращения к БД, а не нарушением внешнего ключа
+     *
+     * @param place место
+     * @return true если место с таким id существует, иначе false
+     */
+    private boolean isExistingPlace(Place place) {
+        return placeService.findById(place.getId()).isPresent();
+    }
+
+    /**
+     * Поиск бронирований из списка, конфликтующих с существующими бронированиями или с предыдущими
+     * бронированиями того же места в этом же списке, одним запросом к БД
+     *
+     * @param bookedPlaces проверяемые бронирования
+     * @return индексы конфликтующих бронирований в списке
+     */
+    public Set<Integer> findBookingConflicts(List<BookedPlace> bookedPlaces) {
+        return bookedPlaceRepository.findConflicting(bookedPlaces);
+    }
+
+    /**
+     * Бронирует несколько мест для пользователя в одной транзакции
+     *
+     * @param bookedPlaces данные о местах и временных слотах
+     * @param user         пользователь, бронирующий места
+     * @return id созданных бронирований в порядке переданного списка
+     * @throws BookedPlaceConflictsException если одно из мест уже забронировано в данный промежуток времени,
+     *                                       в этом случае не создается ни одно бронирование
+     */
+    public List<Integer> bookPlaces(List<BookedPlace> bookedPlaces, User user) throws BookedPlaceConflictsException {
+        List<Integer> savedIds = bookedPlaceRepository.saveAll(bookedPlaces, user);
+        for (int i = 0; i < savedIds.size(); i++) {
+            Slot slot = bookedPlaces.get(i).getSlot();
+            registerBooking(savedIds.get(i), bookedPlaces.get(i).getPlace(), user, slot.getStart(), slot.getEnd());
+        }
+        return savedIds;
+    }
+
+    /**
+     * Бронирует пакет мест для пользователя. Конфликты всех бронирований, в том числе друг с другом,
+     * проверяются одним запросом. Если atomic равен true, то при отклонении хотя бы одного бронирования
+     * не создается ни одно, иначе все бронирования без ошибок и конфликтов создаются в одной транзакции
+     *
+     * @param bookedPlaces     бронирования в порядке пакета, null на месте бронирований, отклоненных при валидации
+     * @param rejectedBookings причины отклонения бронирований при валидации по индексу в пакете
+     * @param user             пользователь, бронирующий места
+     * @param atomic           true, если бронирования создаются только все вместе
+     * @return количество созданных бронирований и результат каждого бронирования пакета
+     * @throws BookedPlaceConflictsException если конфликт возник при сохранении, в этом случае не создается ни одно бронирование
+     */
+    public BookingBatchResult bookPlaces(List<BookedPlace> bookedPlaces, Map<Integer, String> rejectedBookings,
+                                         User user, boolean atomic) throws BookedPlaceConflictsException {
+        Map<Integer, String> errors = new HashMap<>(rejectedBookings);
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < bookedPlaces.size(); i++) {
+            if (!errors.containsKey(i) && !isExistingPlace(bookedPlaces.get(i).getPlace())) {
+                errors.put(i, PLACE_NOT_FOUND_MESSAGE);
+            }
+            if (!errors.containsKey(i)) {
+                validIndexes.add(i);
+            }
+        }
+        Set<Integer> conflicts = findBookingConflicts(validIndexes.stream().map(bookedPlaces::get).toList());
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < validIndexes.size(); i++) {
+            if (conflicts.contains(i)) {
+                errors.put(validIndexes.get(i), BATCH_CONFLICT_MESSAGE);
+            } else {
+                acceptedIndexes.add(validIndexes.get(i));
+            }
+        }
+
+        Integer[] bookedPlaceIds = new Integer[bookedPlaces.size()];
+        if (!atomic || acceptedIndexes.size() == bookedPlaces.size()) {
+            List<Integer> savedIds = bookPlaces(acceptedIndexes.stream().map(bookedPlaces::get).toList(), user);
+            for (int i = 0; i < savedIds.size(); i++) {
+                bookedPlaceIds[acceptedIndexes.get(i)] = savedIds.get(i);
+            }
+        }
+
+        List<BookingResult> results = new ArrayList<>(bookedPlaces.size());
+        int bookedCount = 0;
+        for (int i = 0; i < bookedPlaces.size(); i++) {
+            if (bookedPlaceIds[i] != null) {
+                bookedCount++;
+            }
+            results.add(new BookingResult(i, bookedPlaceIds[i], errors.get(i)));
+        }
+        return new BookingBatchResult(bookedCount, results);
+    }
+
+    /**
+     * Учет сохраненного бронирования в индексе бронирований, свободных слотах и счетчике изменений
+     *
+     * @param id    id сохраненного бронирования
+     * @param place забронированное место
+     * @param user  пользователь, забронировавший место
+     * @param from  дата начала бронирования
+     * @param to    дата окончания бронирования
      */
-    public void bookPlace(Place place, User user, LocalDateTime from, LocalDateTime to) {
-        bookedPlaceRepository.save(place, user, from, to);
+    private void registerBooking(int id, Place place, User user, LocalDateTime from, LocalDateTime to) {
+        modificationCount.incrementAndGet();
+        bookedPlaceIndex.add(BookedPlace.builder()
+                .id(id)
+                .place(place)
+                .user(user)
+                .slot(Slot.builder().start(from).end(to).build())
+                .build());
+        refreshAvailability(place, from, to);
     }
 
     /**
@@ -136,8 +495,9 @@ public class BookedPlaceService {
      *
      * @param bookedPlace данные о метсе и временном слоте
      * @param user данные о пользователе
+     * @throws BookedPlaceConflictsException если место уже забронировано в данный промежуток времени
      */
-    public void bookPlace(BookedPlace bookedPlace, User user){
+    public void bookPlace(BookedPlace bookedPlace, User user) throws BookedPlaceConflictsException {
         Place place = bookedPlace.getPlace();
         LocalDateTime start = bookedPlace.getSlot().getStart();
         LocalDateTime end = bookedPlace.getSlot().getEnd();
@@ -155,34 +515,46 @@ public class BookedPlaceService {
     }
 
     /**
-     * Вычисляет доступные слоты для определенного рабочего места по определенной дате
+     * Вычисляет доступные слоты для определенного рабочего места по определенной дате.
+     * Индекс бронирований хранит только бронирования, не закончившиеся до начала текущего дня,
+     * поэтому для прошедших дат бронирования берутся из БД
      *
      * @param place Рабочее место или конференц зал
      * @param date  Дата для которой будет вычесленн список свободных мест
      * @return Спиок свободных слотов для определенного рабочего места за определенную дату
      */
     public List<Slot> getAvailableSlots(Place place, LocalDateTime date) {
-        List<BookedPlace> bookingsOfPlace = getAllBookedPlaces().stream()
-                .filter(bookedPlace -> bookedPlace.getPlace().equals(place))
-                .sorted(Comparator.comparing(bp -> bp.getSlot().getStart()))
+        bookedPlaceIndex.loadIfRequired(this::getAllBookedPlaces);
+        bookedPlaceIndex.evictEndedBefore(LocalDate.now().atStartOfDay());
+        LocalDateTime dayStart = date.toLocalDate().atStartOfDay();
+        List<BookedPlace> bookingsOfPlace = bookedPlaceIndex.covers(dayStart)
+                ? bookedPlaceIndex.findAllByPlaceAndPeriod(place.getId(), dayStart, dayStart.plusDays(1))
+                : bookedPlaceRepository.findAllByPeriod(dayStart, dayStart.plusDays(1)).stream()
+                .filter(bookedPlace -> bookedPlace.getPlace().getId() == place.getId())
                 .toList();
+        return computeAvailableSlots(bookingsOfPlace, date);
+    }
+
+    /**
+     * Вычисляет свободные промежутки рабочего дня между бронированиями
+     *
+     * @param bookings бронирования одного места, пересекающиеся с датой и упорядоченные по началу слота
+     * @param date     дата, для которой вычисляются свободные слоты
+     * @return Спиок свободных слотов
+     */
+    private static List<Slot> computeAvailableSlots(List<BookedPlace> bookings, LocalDateTime date) {
         List<Slot> availableSlots = new ArrayList<>();
-        final LocalTime startOfDay = LocalTime.of(8, 0);
-        final LocalTime endOfDay = LocalTime.of(20, 0);
-
-        LocalDateTime currentStart = date.with(startOfDay);
-        LocalDateTime currentEnd = date.with(endOfDay);
-
-        for (BookedPlace booking : bookingsOfPlace) {
-            if (booking.getSlot().getStart().toLocalDate().equals(date.toLocalDate())) {
-                if (currentStart.isBefore(booking.getSlot().getStart())) {
-                    var newSlot = Slot.builder()
-                            .start(currentStart)
-                            .end(booking.getSlot().getStart())
-                            .build();
-                    availableSlots.add(newSlot);
-                }
-                currentStart = booking.getSlot().getEnd();
+        LocalDateTime currentStart = date.with(START_OF_DAY);
+        LocalDateTime currentEnd = date.with(END_OF_DAY);
+
+        for (BookedPlace booking : bookings) {
+            Slot slot = booking.getSlot();
+            LocalDateTime gapEnd = slot.getStart().isBefore(currentEnd) ? slot.getStart() : currentEnd;
+            if (currentStart.isBefore(gapEnd)) {
+                availableSlots.add(Slot.builder().start(currentStart).end(gapEnd).build());
+            }
+            if (slot.getEnd().isAfter(currentStart)) {
+                currentStart = slot.getEnd();
             }
         }
 
@@ -194,36 +566,53 @@ public class BookedPlaceService {
     }
 
     /**
-     * Возращает список всех бронирований сортированный по параметрам:
+     * Возвращает страницу списка всех бронирований, отсортированного по параметрам:
      * 1 - имя места
      * 2 - имя пользователя
      * 3 - слот
+     * Если параметр не указан, бронирования упорядочены по id
      *
-     * @param indexOfField индекс параметра, по которому будет проиходить сортировка
-     * @return сортированный список BookedPlace
-     * @throws BookedPlaceConflictsException если параметр был введен неправильно
+     * @param indexOfField индекс параметра, по которому будет проиходить сортировка, или null
+     * @param cursor       курсор, полученный вместе с предыдущей страницей, или null для первой страницы
+     * @param limit        максимальное количество бронирований на странице или null для DEFAULT_PAGE_LIMIT
+     * @return страница бронирований и курсор следующей страницы
+     * @throws BookedPlaceConflictsException если параметр, курсор или limit были введены неправильно
      */
-    public List<BookedPlace> getAllBookedPlacesSortedBy(String indexOfField) throws BookedPlaceConflictsException {
-        Comparator<BookedPlace> bookedPlaceComparator;
+    public BookedPlacePage getBookedPlacesPage(String indexOfField, String cursor, Integer limit) throws BookedPlaceConflictsException {
+        BookingSortField sortField = toSortField(indexOfField);
+        int pageLimit = limit == null ? DEFAULT_PAGE_LIMIT : limit;
+        if (pageLimit < 1 || pageLimit > MAX_PAGE_LIMIT) {
+            throw new BookedPlaceConflictsException("Параметр limit должен быть от 1 до " + MAX_PAGE_LIMIT + "!");
+        }
+        BookingCursor after = cursor == null ? null : BookingCursor.decode(cursor);
+        if (after != null && after.sortField() != sortField) {
+            throw new BookedPlaceConflictsException("Курсор страницы получен для другой сортировки!");
+        }
 
-        switch (indexOfField) {
-            case "1": {
-                bookedPlaceComparator = Comparator.comparing(BookedPlace::getPlace);
-                break;
-            }
-            case "2": {
-                bookedPlaceComparator = Comparator.comparing(BookedPlace::getUser);
-                break;
-            }
-            case "3": {
-                bookedPlaceComparator = Comparator.comparing(BookedPlace::getSlot);
-                break;
-            }
-            default: {
-                throw new BookedPlaceConflictsException("Такого параметра не существует!");
-            }
+        List<BookedPlace> bookedPlaces = bookedPlaceRepository.findPage(sortField, after, pageLimit + 1);
+        if (bookedPlaces.size() <= pageLimit) {
+            return new BookedPlacePage(bookedPlaces, null);
         }
+        List<BookedPlace> page = bookedPlaces.subList(0, pageLimit);
+        return new BookedPlacePage(page, BookingCursor.after(sortField, page.get(pageLimit - 1)).encode());
+    }
 
-        return getAllBookedPlaces().stream().sorted(bookedPlaceComparator).collect(Collectors.toList());
+    /**
+     * Определение порядка списка бронирований по индексу параметра
+     *
+     * @param indexOfField индекс параметра или null
+     * @return порядок списка бронирований
+     * @throws BookedPlaceConflictsException если параметра с таким индексом не существует
+     */
+    private static BookingSortField toSortField(String indexOfField) throws BookedPlaceConflictsException {
+        if (indexOfField == null) {
+            return BookingSortField.ID;
+        }
+        return switch (indexOfField) {
+            case "1" -> BookingSortField.PLACE_NAME;
+            case "2" -> BookingSortField.USER_NAME;
+            case "3" -> BookingSortField.SLOT_START;
+            default -> throw new BookedPlaceConflictsException("Такого параметра не существует!");
+        };
     }
 }
@@ -3,6 +3,7 @@ package org.coworking.services;
 import lombok.AllArgsConstructor;
 import org.coworking.Utils.exceptions.PlaceNamingException;
 import org.coworking.annotations.Loggable;
+import org.coworking.cache.PlaceCatalogCache;
 import org.coworking.models.Place;
 import org.coworking.models.enums.PlaceType;
 import org.coworking.repositories.PlaceRepository;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Сервис для работы с местами и рабоющий с репозиторием Place, в которой по умолчанию создает ряд объектов Place
@@ -25,12 +27,41 @@ public class PlaceService {
     private PlaceRepository placeRepository;
 
     /**
-     * Возвращает список всех мест, хранящиеся в памяти
+     * Кэш каталога мест, сбрасывается при каждом изменении мест
+     */
+    private final PlaceCatalogCache placeCatalogCache = new PlaceCatalogCache(() -> placeRepository.findAll());
+
+    /**
+     * Счетчик изменений мест, по которому строятся ETag ответов, зависящих от списка мест
+     */
+    private final AtomicLong modificationCount = new AtomicLong();
+
+    /**
+     * Получение количества изменений мест с момента запуска приложения
+     *
+     * @return значение счетчика изменений
+     */
+    public long getModificationCount() {
+        return modificationCount.get();
+    }
+
+    /**
+     * Возвращает список всех мест из кэша каталога мест
      *
      * @return список Place объектов
      */
     public List<Place> getAllPlaces() {
-        return placeRepository.findAll();
+        return placeCatalogCache.findAll();
+    }
+
+    /**
+     * Поиск Place по id
+     *
+     * @param id id Place
+     * @return Optional, содержащий Place объект или null
+     */
+    public Optional<Place> findById(int id) {
+        return placeCatalogCache.findById(id);
     }
 
     /**
@@ -40,7 +71,16 @@ public class PlaceService {
      * @return Optional, содержащий Place объект или null
      */
     public Optional<Place> findByName(String placeName) {
-        return placeRepository.findByName(placeName);
+        return placeCatalogCache.findByName(placeName);
+    }
+
+    /**
+     * Получение статистики обращений к кэшу каталога мест
+     *
+     * @return количество попаданий и промахов кэша
+     */
+    public PlaceCatalogCache.Statistics getCacheStatistics() {
+        return placeCatalogCache.getStatistics();
     }
 
     /**
@@ -51,6 +91,8 @@ public class PlaceService {
      */
     public void createNewPlace(String placeName, PlaceType placeType) {
         placeRepository.save(placeName, placeType);
+        placeCatalogCache.invalidate();
+        modificationCount.incrementAndGet();
     }
 
     /**
@@ -72,6 +114,8 @@ public class PlaceService {
         findByName(placeName)
                 .orElseThrow(() -> new PlaceNamingException("Рабочего места с таким именем не существует"));
         placeRepository.removeByName(placeName);
+        placeCatalogCache.invalidate();
+        modificationCount.incrementAndGet();
     }
 
     /**
@@ -85,6 +129,8 @@ public class PlaceService {
     public void updatePlace(String oldPlaceName, String newPlaceName, PlaceType newPlaceType) throws PlaceNamingException {
         findByName(oldPlaceName).orElseThrow(() -> new PlaceNamingException("Place name should not be null"));
         placeRepository.updatePlace(oldPlaceName, newPlaceName, newPlaceType);
+        placeCatalogCache.invalidate();
+        modificationCount.incrementAndGet();
     }
 
     /**
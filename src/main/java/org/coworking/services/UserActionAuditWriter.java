@@ -0,0 +1,262 @@
+package org.coworking.services;
+
+import org.coworking.models.UserActionAudit;
+import org.coworking.models.enums.AuditBackPressurePolicy;
+import org.coworking.repositories.UserActionAuditRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Асинхронная запись аудита действий пользователей.
+ * Записи попадают в ограниченную очередь, из которой фоновый поток сохраняет их пачками,
+ * когда набирается batchSize записей или проходит flushIntervalMillis с момента последнего сохранения.
+ * Отброшенные и не сохраненные из-за ошибки записи учитываются в счетчиках, логируются и отдаются эндпоинтом метрик
+ */
+@Component
+public class UserActionAuditWriter implements DisposableBean {
+
+    /**
+     * Объект через которого происходит логирование
+     */
+    private static final Logger LOGGER = Logger.getLogger(UserActionAuditWriter.class.getName());
+
+    /**
+     * Репозиторий, в который сохраняются записи аудита
+     */
+    private final UserActionAuditRepository userActionAuditRepository;
+
+    /**
+     * Очередь записей, ожидающих сохранения
+     */
+    private final BlockingQueue<UserActionAudit> queue;
+
+    /**
+     * Максимальное количество записей в одной пачке
+     */
+    private final int batchSize;
+
+    /**
+     * Максимальное время ожидания записи в очереди в наносекундах
+     */
+    private final long flushIntervalNanos;
+
+    /**
+     * Поведение при переполнении очереди
+     */
+    private final AuditBackPressurePolicy backPressurePolicy;
+
+    /**
+     * Количество записей, отброшенных из-за переполнения очереди
+     */
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /**
+     * Количество отброшенных записей, о которых уже сообщено в лог. Изменяется только фоновым потоком
+     */
+    private long reportedDroppedCount;
+
+    /**
+     * Количество записей, не сохраненных из-за ошибки хранилища
+     */
+    private final AtomicLong failedCount = new AtomicLong();
+
+    /**
+     * Фоновый поток, сохраняющий записи
+     */
+    private final Thread writerThread;
+
+    /**
+     * Признак остановки, после которой записи сохраняются синхронно. Изменяется под блокировкой записи,
+     * поэтому после остановки в очереди не может появиться новых записей
+     */
+    private boolean closed;
+
+    /**
+     * Блокировка, разделяющая постановку записей в очередь (чтение) и остановку (запись)
+     */
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+
+    /**
+     * Запись, которая ставится в очередь последней при остановке и завершает фоновый поток
+     */
+    private static final UserActionAudit SHUTDOWN_MARKER = new UserActionAudit(null, null, null);
+
+    public UserActionAuditWriter(UserActionAuditRepository userActionAuditRepository,
+                                 @Value("${auditQueueCapacity}") int queueCapacity,
+                                 @Value("${auditBatchSize}") int batchSize,
+                                 @Value("${auditFlushIntervalMillis}") long flushIntervalMillis,
+                                 @Value("${auditBackPressurePolicy}") AuditBackPressurePolicy backPressurePolicy) {
+        this.userActionAuditRepository = userActionAuditRepository;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.backPressurePolicy = backPressurePolicy;
+        this.writerThread = new Thread(this::drain, "user-action-audit-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Постановка записи в очередь на сохранение. После остановки записи сохраняются синхронно.
+     * Запись ставится в очередь под блокировкой чтения, поэтому остановка дожидается всех начатых постановок
+     *
+     * @param audit запись о действии пользователя
+     */
+    public void submit(UserActionAudit audit) {
+        closeLock.readLock().lock();
+        try {
+            if (closed) {
+                save(List.of(audit));
+                return;
+            }
+            switch (backPressurePolicy) {
+                case BLOCK -> {
+                    try {
+                        queue.put(audit);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        droppedCount.incrementAndGet();
+                    }
+                }
+                case DROP -> {
+                    if (!queue.offer(audit)) {
+                        droppedCount.incrementAndGet();
+                    }
+                }
+                case CALLER_RUNS -> {
+                    if (!queue.offer(audit)) {
+                        save(List.of(audit));
+                    }
+                }
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Получение количества отброшенных записей
+     *
+     * @return количество записей, не попавших в хранилище из-за переполнения очереди
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Получение количества записей, которые не удалось сохранить
+     *
+     * @return количество записей, не попавших в хранилище из-за ошибки при сохранении
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * Цикл фонового потока: набирает пачку записей и сохраняет ее по размеру или по времени.
+     * Завершается после сохранения всех записей, поставленных в очередь до SHUTDOWN_MARKER
+     */
+    private void drain() {
+        List<UserActionAudit> batch = new ArrayList<>(batchSize);
+        long flushDeadline = System.nanoTime() + flushIntervalNanos;
+        while (true) {
+            try {
+                UserActionAudit audit = queue.poll(Math.max(0, flushDeadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (audit != null) {
+                    batch.add(audit);
+                    queue.drainTo(batch, batchSize - batch.size());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (!batch.isEmpty() && batch.get(batch.size() - 1) == SHUTDOWN_MARKER) {
+                batch.remove(batch.size() - 1);
+                flush(batch);
+                return;
+            }
+            if (batch.size() >= batchSize || System.nanoTime() - flushDeadline >= 0) {
+                flush(batch);
+                flushDeadline = System.nanoTime() + flushIntervalNanos;
+            }
+        }
+        queue.drainTo(batch);
+        batch.remove(SHUTDOWN_MARKER);
+        flush(batch);
+    }
+
+    /**
+     * Сохранение накопленной пачки записей
+     *
+     * @param batch пачка записей, очищается после сохранения
+     */
+    private void flush(List<UserActionAudit> batch) {
+        reportDropped();
+        if (batch.isEmpty()) {
+            return;
+        }
+        save(List.copyOf(batch));
+        batch.clear();
+    }
+
+    /**
+     * Сохранение записей в хранилище. Ошибка сохранения не передается вызывающему коду,
+     * а учитывается в счетчике failedCount и логируется
+     *
+     * @param audits записи аудита
+     */
+    private void save(List<UserActionAudit> audits) {
+        try {
+            userActionAuditRepository.saveAll(audits);
+        } catch (RuntimeException e) {
+            failedCount.addAndGet(audits.size());
+            LOGGER.log(Level.WARNING, "Не удалось сохранить записи аудита: " + audits.size(), e);
+        }
+    }
+
+    /**
+     * Логирование количества записей, отброшенных из-за переполнения очереди с момента предыдущего сообщения.
+     * Вызывается фоновым потоком не чаще одного раза за сохранение пачки, поэтому не засоряет лог при перегрузке
+     */
+    private void reportDropped() {
+        long dropped = droppedCount.get();
+        if (dropped > reportedDroppedCount) {
+            LOGGER.warning("Очередь аудита переполнена, отброшено записей: " + (dropped - reportedDroppedCount));
+            reportedDroppedCount = dropped;
+        }
+    }
+
+    /**
+     * Остановка фонового потока с сохранением всех записей, оставшихся в очереди.
+     * Сначала под блокировкой записи запрещается постановка в очередь, затем в очередь ставится SHUTDOWN_MARKER,
+     * который будит фоновый поток, не дожидаясь истечения flushIntervalMillis
+     *
+     * @throws InterruptedException если ожидание завершения фонового потока было прервано
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        closeLock.writeLock().lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        queue.put(SHUTDOWN_MARKER);
+        writerThread.join();
+    }
+}
@@ -1,12 +1,18 @@
 package org.coworking.services;
 
 import lombok.AllArgsConstructor;
+import org.coworking.Utils.exceptions.UserRegistrationException;
 import org.coworking.annotations.Loggable;
+import org.coworking.cache.AuthenticationCache;
 import org.coworking.models.User;
+import org.coworking.models.UserImportResult;
 import org.coworking.models.enums.Role;
 import org.coworking.repositories.UserRepository;
+import org.coworking.security.PasswordHasher;
 import org.springframework.stereotype.Service;
 
+import java.io.Reader;
+import java.io.StringReader;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +29,21 @@ public class UserService {
      */
     private UserRepository userRepository;
 
+    /**
+     * Хэширование паролей
+     */
+    private PasswordHasher passwordHasher;
+
+    /**
+     * Кэш результатов авторизации, записи пользователя удаляются при изменении его пароля
+     */
+    private AuthenticationCache authenticationCache;
+
+    /**
+     * Заголовок CSV данных импорта пользователей
+     */
+    private static final String CSV_HEADER = "name,password,role\n";
+
     /**
      * Вызращает список всех пользователей
      *
@@ -43,23 +64,92 @@ public class UserService {
     }
 
     /**
-     * Регистрирует нового пользователя
+     * Регистрирует нового пользователя. Пароль сохраняется в виде хэша.
+     * Уникальность имени проверяется при сохранении уникальным индексом БД, без загрузки списка существующих пользователей
      *
      * @param username имя пользователя
      * @param password пароль пользовтеля
      * @param role     роль в системе
      * @return созданный и добавленный в память User объект
+     * @throws UserRegistrationException если пользователь с таким именем уже существует
      */
-    public User registerNewUser(String username, String password, Role role) {
-        return userRepository.save(username, password, role);
+    public User registerNewUser(String username, String password, Role role) throws UserRegistrationException {
+        return userRepository.save(username, passwordHasher.hash(password), role)
+                .orElseThrow(() -> new UserRegistrationException("Пользователь с таким именем уже существует!"));
     }
 
     /**
      * Регистрирует нового пользователя
      * @param user объект пользователя содержащий данные
      * @return созданный и добавленный в память User объект
+     * @throws UserRegistrationException если пользователь с таким именем уже существует
      */
-    public User registerNewUser(User user){
+    public User registerNewUser(User user) throws UserRegistrationException {
         return registerNewUser(user.getName(), user.getPassword(), user.getRole());
     }
+
+    /**
+     * Перехэширование пароля текущими настройками после успешной проверки пароля.
+     * Если пароль успели изменить параллельно, сохраненное значение не заменяется.
+     * После замены пароля кэшированные результаты авторизации пользователя удаляются
+     *
+     * @param user     пользователь с прочитанным из хранилища паролем
+     * @param password проверенный пароль в открытом виде
+     * @return пользователь с новым хэшем пароля или исходный пользователь, если пароль не был заменен
+     */
+    public User rehashPassword(User user, String password) {
+        String passwordHash = passwordHasher.hash(password);
+        if (!userRepository.updatePassword(user.getId(), user.getPassword(), passwordHash)) {
+            return user;
+        }
+        authenticationCache.evictByUsername(user.getName());
+        return User.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .password(passwordHash)
+                .role(user.getRole())
+                .build();
+    }
+
+    /**
+     * Импортирует пользователей из CSV с заголовком и колонками name, password, role.
+     * Данные передаются в БД потоком, без загрузки всего файла в память. Пароли сохраняются солеными SHA-256
+     * хэшами, вычисляемыми БД при импорте, и перехэшируются PBKDF2 при первой успешной авторизации пользователя
+     *
+     * @param csv CSV данные пользователей
+     * @return количество сохраненных пользователей и отклоненные строки
+     * @throws UserRegistrationException если CSV данные имеют неправильный формат
+     */
+    public UserImportResult importUsers(Reader csv) throws UserRegistrationException {
+        return userRepository.importUsers(csv);
+    }
+
+    /**
+     * Импортирует список пользователей. Номера отклоненных строк соответствуют позициям пользователей в списке, начиная с 1,
+     * отсутствующие элементы списка отклоняются как пользователи без имени
+     *
+     * @param users пользователи для импорта
+     * @return количество сохраненных пользователей и отклоненные строки
+     * @throws UserRegistrationException если данные пользователей не удалось передать в БД
+     */
+    public UserImportResult importUsers(List<User> users) throws UserRegistrationException {
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (User user : users) {
+            User row = user == null ? User.builder().build() : user;
+            csv.append(toCsvField(row.getName())).append(',')
+                    .append(toCsvField(row.getPassword())).append(',')
+                    .append(toCsvField(row.getRole() == null ? null : row.getRole().name())).append('\n');
+        }
+        return importUsers(new StringReader(csv.toString()));
+    }
+
+    /**
+     * Экранирование значения для CSV. Отсутствующее значение записывается пустым полем без кавычек
+     *
+     * @param value значение поля
+     * @return поле CSV
+     */
+    private static String toCsvField(String value) {
+        return value == null ? "" : '"' + value.replace("\"", "\"\"") + '"';
+    }
 }
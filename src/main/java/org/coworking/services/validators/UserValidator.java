@@ -6,16 +6,22 @@ import org.coworking.Utils.exceptions.RequiredAuthorisationException;
 import org.coworking.Utils.exceptions.UserAuthorisationException;
 import org.coworking.Utils.exceptions.UserRegistrationException;
 import org.coworking.annotations.Loggable;
+import org.coworking.cache.AuthenticationCache;
 import org.coworking.dtos.UserDTO;
 import org.coworking.models.User;
 import org.coworking.models.enums.Role;
+import org.coworking.security.PasswordHasher;
+import org.coworking.security.TokenClaims;
+import org.coworking.security.TokenService;
 import org.coworking.services.UserService;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
-import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Класс используется для валидации пользовательских данных
@@ -31,7 +37,43 @@ public class UserValidator {
     UserService userService;
 
     /**
-     * Валидирует данные для регистрацию нового пользователя
+     * Кэш результатов авторизации
+     */
+    AuthenticationCache authenticationCache;
+
+    /**
+     * Проверка хэшей паролей
+     */
+    PasswordHasher passwordHasher;
+
+    /**
+     * Проверка токенов доступа
+     */
+    TokenService tokenService;
+
+    /**
+     * Имя атрибута запроса, в котором хранится пользователь, уже авторизированный в рамках текущего запроса
+     */
+    public static final String AUTHORISED_USER_ATTRIBUTE = UserValidator.class.getName() + ".AUTHORISED_USER";
+
+    /**
+     * Сообщение об ошибке авторизации по недействительному, истекшему или отозванному токену
+     */
+    public static final String INVALID_TOKEN_MESSAGE = "Токен недействителен или истек, требуется повторная авторизация";
+
+    /**
+     * Авторизированный в рамках запроса пользователь вместе с учетными данными, по которым он был авторизирован.
+     * Создается также TokenAuthenticationFilter для запросов с действительным токеном
+     *
+     * @param credentials значение Authorization header
+     * @param user        авторизированный пользователь
+     */
+    public record RequestAuthorisation(String credentials, User user) {
+    }
+
+    /**
+     * Валидирует данные для регистрацию нового пользователя.
+     * Уникальность имени проверяется при сохранении пользователя
      *
      * @param username имя пользователя
      * @param password пароль
@@ -42,9 +84,6 @@ public class UserValidator {
         if (username.trim().isEmpty()) {
             throw new UserRegistrationException("Имя пользователя должно содержать символы!");
         }
-        if (isUsernameAlreadyExists(username)) {
-            throw new UserRegistrationException("Пользователь с таким именем уже существует!");
-        }
         if (password.trim().isEmpty()) {
             throw new UserRegistrationException("Пароль должен содержать символы!");
         }
@@ -61,7 +100,8 @@ public class UserValidator {
     }
 
     /**
-     * Прозводит авторизацию пользователя, используя имя и пароль
+     * Прозводит авторизацию пользователя, используя имя и пароль.
+     * Пароль, сохраненный в открытом виде или с устаревшими настройками хэширования, перехэшируется
      *
      * @param username Имя пользователя
      * @param password Пароль
@@ -71,9 +111,12 @@ public class UserValidator {
     public User getValidatedAuthorisedUser(String username, String password) throws UserAuthorisationException {
         User user = userService.getUserByName(username)
                 .orElseThrow(() -> new UserAuthorisationException("Пользователя с таким именем не сущестует"));
-        if (!Objects.equals(user.getPassword(), password)) {
+        if (!passwordHasher.matches(password, user.getPassword())) {
             throw new UserAuthorisationException("Был введен неправильный пароль!");
         }
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            return userService.rehashPassword(user, password);
+        }
         return user;
     }
 
@@ -88,23 +131,75 @@ public class UserValidator {
     }
 
     /**
-     * Проверка на существование пользователя в в памяти
+     * Выполняет авторизацию пользователя по значению Authorization header.
+     * Пользователь авторизируется не более одного раза за запрос, а успешные результаты кэшируются,
+     * поэтому повторные запросы с теми же учетными данными не обращаются к БД.
+     * Токен доступа (Bearer) проверяется в памяти, обычно это уже сделал TokenAuthenticationFilter
      *
-     * @param username Имя пользователя
-     * @return true если существует, иначе false
+     * @param authorizationHeaderValue значение Authorization header
+     * @return авторизированный User объект
+     * @throws UserAuthorisationException     если пользователя не прошел авторизацию
+     * @throws RequiredAuthorisationException если Authorization header отсутствует или токен недействителен
      */
-    private boolean isUsernameAlreadyExists(String username) {
-        List<User> users = userService.findAll();
-        return users.stream().anyMatch(user -> Objects.equals(user.getName(), username));
-    }
-
     public User authoriseUser(String authorizationHeaderValue) throws UserAuthorisationException, RequiredAuthorisationException {
         if (Objects.isNull(authorizationHeaderValue)){
             throw new RequiredAuthorisationException("Требуется авторизация");
         }
-        UserDTO build = getUserDTOWithDecodedCredentials(authorizationHeaderValue);
+        Optional<User> requestUser = getRequestAuthorisedUser(authorizationHeaderValue);
+        if (requestUser.isPresent()) {
+            return requestUser.get();
+        }
+        if (authorizationHeaderValue.startsWith(TokenService.BEARER_PREFIX)) {
+            User tokenUser = tokenService.verify(authorizationHeaderValue.substring(TokenService.BEARER_PREFIX.length()))
+                    .map(TokenClaims::toUser)
+                    .orElseThrow(() -> new RequiredAuthorisationException(INVALID_TOKEN_MESSAGE));
+            setRequestAuthorisedUser(authorizationHeaderValue, tokenUser);
+            return tokenUser;
+        }
+        Optional<User> cachedUser = authenticationCache.get(authorizationHeaderValue);
+        User user;
+        if (cachedUser.isPresent()) {
+            user = cachedUser.get();
+        } else {
+            UserDTO build = getUserDTOWithDecodedCredentials(authorizationHeaderValue);
+            user = getValidatedAuthorisedUser(build);
+            authenticationCache.put(authorizationHeaderValue, user);
+        }
+        setRequestAuthorisedUser(authorizationHeaderValue, user);
+        return user;
+    }
 
-        return getValidatedAuthorisedUser(build);
+    /**
+     * Получение пользователя, уже авторизированного в текущем запросе с теми же учетными данными
+     *
+     * @param authorizationHeaderValue значение Authorization header
+     * @return Optional объект, в который обернут User
+     */
+    private static Optional<User> getRequestAuthorisedUser(String authorizationHeaderValue) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.empty();
+        }
+        Object attribute = attributes.getAttribute(AUTHORISED_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (attribute instanceof RequestAuthorisation authorisation
+                && Objects.equals(authorisation.credentials(), authorizationHeaderValue)) {
+            return Optional.of(authorisation.user());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Сохранение авторизированного пользователя в атрибутах текущего запроса
+     *
+     * @param authorizationHeaderValue значение Authorization header
+     * @param user                     авторизированный пользователь
+     */
+    private static void setRequestAuthorisedUser(String authorizationHeaderValue, User user) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(AUTHORISED_USER_ATTRIBUTE, new RequestAuthorisation(authorizationHeaderValue, user),
+                    RequestAttributes.SCOPE_REQUEST);
+        }
     }
     public User authorizeAdmin(String authorizationHeaderValue) throws RequiredAuthorisationException, UserAuthorisationException, ForbiddenAccessException {
         User user = authoriseUser(authorizationHeaderValue);
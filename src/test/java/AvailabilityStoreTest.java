@@ -0,0 +1,78 @@
+import org.coworking.cache.AvailabilityStore;
+import org.coworking.dtos.AvailableSlotsDTO;
+import org.coworking.dtos.PlaceDTO;
+import org.coworking.dtos.SlotDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тест материализованных свободных слотов")
+public class AvailabilityStoreTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 22);
+
+    private static final PlaceDTO WORKPLACE = PlaceDTO.builder().id(1).placeName("Workplace 0").build();
+
+    private static final PlaceDTO HALL = PlaceDTO.builder().id(2).placeName("Hall 0").build();
+
+    private static final SlotDTO WHOLE_DAY = SlotDTO.builder().start("08:00").end("20:00").build();
+
+    private static final SlotDTO MORNING = SlotDTO.builder().start("08:00").end("12:00").build();
+
+    private final AtomicInteger buildCount = new AtomicInteger();
+
+    private AvailabilityStore availabilityStore;
+
+    @BeforeEach
+    void setUp() {
+        availabilityStore = new AvailabilityStore(14);
+    }
+
+    @Test
+    @DisplayName("Тест на хранение слотов только для текущего и ближайших дней")
+    void coversShouldAcceptOnlyDaysWithinHorizonTest() {
+        assertThat(availabilityStore.covers(TODAY, TODAY)).isTrue();
+        assertThat(availabilityStore.covers(TODAY, TODAY.plusDays(14))).isTrue();
+        assertThat(availabilityStore.covers(TODAY, TODAY.plusDays(15))).isFalse();
+        assertThat(availabilityStore.covers(TODAY, TODAY.minusDays(1))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Тест на построение дня один раз для одной версии каталога мест")
+    void getDayShouldBuildDayOncePerPlacesVersionTest() {
+        availabilityStore.getDay(TODAY, TODAY, 0, this::buildDay);
+        availabilityStore.getDay(TODAY, TODAY, 0, this::buildDay);
+        assertThat(buildCount).hasValue(1);
+
+        availabilityStore.getDay(TODAY, TODAY, 1, this::buildDay);
+        assertThat(buildCount).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Тест на пересчет слотов только одного места в построенные дни")
+    void refreshPlaceShouldReplaceSlotsOfOnePlaceTest() {
+        availabilityStore.getDay(TODAY, TODAY, 0, this::buildDay);
+
+        availabilityStore.refreshPlace(WORKPLACE.getId(), TODAY, TODAY.plusDays(1), date -> List.of(MORNING));
+
+        var day = availabilityStore.getDay(TODAY, TODAY, 0, this::buildDay);
+        assertThat(day).extracting(AvailableSlotsDTO::getPlaceDTO).containsExactly(WORKPLACE, HALL);
+        assertThat(day.get(0).getSlotDTOS()).containsExactly(MORNING);
+        assertThat(day.get(1).getSlotDTOS()).containsExactly(WHOLE_DAY);
+        assertThat(buildCount).hasValue(1);
+
+        availabilityStore.getDay(TODAY, TODAY.plusDays(1), 0, this::buildDay);
+        assertThat(buildCount).hasValue(2);
+    }
+
+    private List<AvailableSlotsDTO> buildDay(LocalDate date) {
+        buildCount.incrementAndGet();
+        return List.of(new AvailableSlotsDTO(WORKPLACE, List.of(WHOLE_DAY)), new AvailableSlotsDTO(HALL, List.of(WHOLE_DAY)));
+    }
+}
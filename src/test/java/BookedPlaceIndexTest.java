@@ -0,0 +1,78 @@
+import org.coworking.cache.BookedPlaceIndex;
+import org.coworking.models.BookedPlace;
+import org.coworking.models.Slot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static java.time.LocalDateTime.of;
+import static org.assertj.core.api.Assertions.assertThat;
+import static utils.TestUtils.ADMIN_TEST_OBJECT;
+import static utils.TestUtils.PLACE_TEST_OBJECT_FOR_BOOKING;
+
+@DisplayName("Тест индекса бронирований")
+public class BookedPlaceIndexTest {
+
+    private static final LocalDateTime DAY_START = of(2024, 6, 22, 0, 0);
+
+    private static final BookedPlace MORNING_BOOKING = booking(1, of(2024, 6, 22, 9, 0), of(2024, 6, 22, 10, 0));
+
+    private static final BookedPlace OVERNIGHT_BOOKING = booking(2, of(2024, 6, 21, 22, 0), of(2024, 6, 22, 8, 30));
+
+    private static final BookedPlace NEXT_DAY_BOOKING = booking(3, of(2024, 6, 23, 9, 0), of(2024, 6, 23, 10, 0));
+
+    private BookedPlaceIndex bookedPlaceIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookedPlaceIndex = new BookedPlaceIndex();
+        bookedPlaceIndex.loadIfRequired(() -> List.of(MORNING_BOOKING, OVERNIGHT_BOOKING, NEXT_DAY_BOOKING));
+    }
+
+    @Test
+    @DisplayName("Тест на получение бронирований, пересекающихся с днем")
+    void findAllByPlaceAndPeriodShouldReturnOverlappingBookingsTest() {
+        var actualBookings = bookedPlaceIndex.findAllByPlaceAndPeriod(PLACE_TEST_OBJECT_FOR_BOOKING.getId(), DAY_START, DAY_START.plusDays(1));
+
+        assertThat(actualBookings).containsExactly(OVERNIGHT_BOOKING, MORNING_BOOKING);
+    }
+
+    @Test
+    @DisplayName("Тест на обновление индекса при добавлении и удалении бронирования")
+    void addAndRemoveShouldKeepIndexCurrentTest() {
+        var newBooking = booking(4, of(2024, 6, 22, 12, 0), of(2024, 6, 22, 13, 0));
+
+        bookedPlaceIndex.add(newBooking);
+        bookedPlaceIndex.remove(MORNING_BOOKING);
+        var actualBookings = bookedPlaceIndex.findAllByPlaceAndPeriod(PLACE_TEST_OBJECT_FOR_BOOKING.getId(), DAY_START, DAY_START.plusDays(1));
+
+        assertThat(actualBookings).containsExactly(OVERNIGHT_BOOKING, newBooking);
+    }
+
+    @Test
+    @DisplayName("Тест на удаление закончившихся бронирований из индекса")
+    void evictEndedBeforeShouldRemovePastBookingsTest() {
+        var boundary = of(2024, 6, 22, 9, 30);
+        var endedBooking = booking(4, of(2024, 6, 22, 8, 30), of(2024, 6, 22, 9, 0));
+
+        bookedPlaceIndex.evictEndedBefore(boundary);
+        bookedPlaceIndex.add(endedBooking);
+        var actualBookings = bookedPlaceIndex.findAllByPlaceAndPeriod(PLACE_TEST_OBJECT_FOR_BOOKING.getId(), boundary, DAY_START.plusDays(2));
+
+        assertThat(actualBookings).containsExactly(MORNING_BOOKING, NEXT_DAY_BOOKING);
+        assertThat(bookedPlaceIndex.covers(boundary)).isTrue();
+        assertThat(bookedPlaceIndex.covers(DAY_START)).isFalse();
+    }
+
+    private static BookedPlace booking(int id, LocalDateTime start, LocalDateTime end) {
+        return BookedPlace.builder()
+                .id(id)
+                .place(PLACE_TEST_OBJECT_FOR_BOOKING)
+                .user(ADMIN_TEST_OBJECT)
+                .slot(Slot.builder().start(start).end(end).build())
+                .build();
+    }
+}
@@ -4,12 +4,14 @@ import org.coworking.Utils.mappers.BookedPlaceMapper;
 import org.coworking.Utils.mappers.SlotMapper;
 import org.coworking.dtos.AvailableSlotsDTO;
 import org.coworking.dtos.SlotDTO;
+import org.coworking.models.BookedPlace;
+import org.coworking.models.BookedPlacePage;
+import org.coworking.models.BookingBatchResult;
+import org.coworking.models.Place;
 import org.coworking.models.Slot;
 import org.coworking.repositories.BookedPlaceRepository;
 import org.coworking.repositories.impl.BookedPlaceRepositoryImpl;
 import org.coworking.repositories.impl.PlaceRepositoryImpl;
-import org.coworking.repositories.SlotRepository;
-import org.coworking.repositories.impl.SlotRepositoryImpl;
 import org.coworking.services.BookedPlaceService;
 import org.coworking.services.PlaceService;
 import org.junit.jupiter.api.AfterAll;
@@ -20,19 +22,27 @@ import org.junit.jupiter.api.Test;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import utils.TestUtils;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
+import javax.sql.DataSource;
 import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import static java.time.LocalDateTime.of;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static utils.TestUtils.ADMIN_TEST_OBJECT;
 import static utils.TestUtils.EMPTY_STRING;
+import static utils.TestUtils.PLACE_TEST_OBJECT_FOR_BOOKING;
 import static utils.TestUtils.TEST_BOOKED_PLACE_OBJECT;
+import static utils.TestUtils.USER_TEST_OBJECT;
+import static utils.TestUtils.createDataSource;
 import static utils.TestUtils.startTestContainer;
 import static utils.TestUtils.stopTestContainers;
 
@@ -45,7 +55,7 @@ public class BookedPlaceServiceTest {
 
     private BookedPlaceService bookedPlaceService;
 
-    private static Connection connection;
+    private static DataSource dataSource;
 
     final Slot EXPECTED_SLOT_DAY_START = Slot.builder()
             .start(of(2024, 6, 22, 8, 0))
@@ -64,8 +74,8 @@ public class BookedPlaceServiceTest {
 
     @BeforeAll
     static void setDatabase() throws SQLException, LiquibaseException {
-        connection = DriverManager.getConnection(startTestContainer());
-        TestUtils.startLiquibase(connection);
+        dataSource = createDataSource(startTestContainer());
+        TestUtils.startLiquibase(dataSource);
     }
 
     @AfterAll
@@ -75,9 +85,8 @@ public class BookedPlaceServiceTest {
 
     @BeforeEach
     void setUp() {
-        placeService = new PlaceService(new PlaceRepositoryImpl(connection));
-        SlotRepository slotRepository = new SlotRepositoryImpl(connection);
-        BookedPlaceRepository bookedPlaceRepository = new BookedPlaceRepositoryImpl(connection, slotRepository);
+        placeService = new PlaceService(new PlaceRepositoryImpl(dataSource));
+        BookedPlaceRepository bookedPlaceRepository = new BookedPlaceRepositoryImpl(dataSource);
         bookedPlaceService = new BookedPlaceService(placeService, bookedPlaceRepository);
     }
 
@@ -100,6 +109,26 @@ public class BookedPlaceServiceTest {
                 hasSlot(availableSlotsDTOS, EXPECTED_SLOT_DAY_END));
     }
 
+    @Test
+    @DisplayName("Тест на получение свободных слотов за диапазон дат")
+    void getAvailableSlotsForRangeShouldReturnSlotsOfEveryDayTest() throws BookedPlaceConflictsException {
+        var days = bookedPlaceService.getAvailableSlotsForRange(LOCAL_DATE_TIME.toLocalDate(), LOCAL_DATE_TIME.toLocalDate().plusDays(6), null);
+
+        assertThat(days).hasSize(7);
+        assertThat(days.get(0).getDate()).isEqualTo("2024-06-22");
+        var firstPlaceSlots = days.get(0).getPlaces().stream()
+                .filter(place -> place.getPlaceId() == placeService.getAllPlaces().get(0).getId())
+                .findFirst().orElseThrow().getFreeSlots();
+        assertThat(firstPlaceSlots).containsExactly("08:00-11:30", "14:30-16:30", "19:30-20:00");
+    }
+
+    @Test
+    @DisplayName("Тест на выброс исключения при неправильном диапазоне дат")
+    void getAvailableSlotsForRangeShouldThrowExceptionWithReversedRangeTest() {
+        assertThatThrownBy(() -> bookedPlaceService.getAvailableSlotsForRange(LOCAL_DATE_TIME.toLocalDate(), LOCAL_DATE_TIME.toLocalDate().minusDays(1), null))
+                .isInstanceOf(BookedPlaceConflictsException.class);
+    }
+
     private boolean hasSlot(List<? extends AvailableSlotsDTO> availableSlotsDTOS, Slot slot) {
         return availableSlotsDTOS.stream().flatMap(availableSlotsDTO -> availableSlotsDTO.getSlotDTOS().stream())
                 .anyMatch(slotDTO -> Objects.equals(toSlot(slotDTO), EXPECTED_SLOT_DAY_START));
@@ -120,23 +149,160 @@ public class BookedPlaceServiceTest {
 
     @Test
     @DisplayName("Тест на выброс исключения при сортировке по неправильному параметру")
-    void getAllBookedPlacesSortedByShouldThrowExceptionWithIncorrectParameter() {
-        assertThatThrownBy(() -> bookedPlaceService.getAllBookedPlacesSortedBy(EMPTY_STRING))
+    void getBookedPlacesPageShouldThrowExceptionWithIncorrectParameter() {
+        assertThatThrownBy(() -> bookedPlaceService.getBookedPlacesPage(EMPTY_STRING, null, null))
+                .isInstanceOf(BookedPlaceConflictsException.class);
+    }
+
+    @Test
+    @DisplayName("Тест на постраничное получение всех бронирований по курсору")
+    void getBookedPlacesPageShouldReturnAllBookingsPageByPageTest() throws BookedPlaceConflictsException {
+        final String SLOT_FIELD_INDEX = "3";
+        final int PAGE_LIMIT = 1;
+        List<BookedPlace> expected = bookedPlaceService.getAllBookedPlaces().stream()
+                .sorted(Comparator.comparing(BookedPlace::getSlot).thenComparing(BookedPlace::getId))
+                .collect(Collectors.toList());
+
+        List<BookedPlace> actual = new ArrayList<>();
+        BookedPlacePage page = bookedPlaceService.getBookedPlacesPage(SLOT_FIELD_INDEX, null, PAGE_LIMIT);
+        actual.addAll(page.bookedPlaces());
+        while (page.nextCursor() != null) {
+            page = bookedPlaceService.getBookedPlacesPage(SLOT_FIELD_INDEX, page.nextCursor(), PAGE_LIMIT);
+            assertThat(page.bookedPlaces()).hasSizeLessThanOrEqualTo(PAGE_LIMIT);
+            actual.addAll(page.bookedPlaces());
+        }
+
+        assertThat(actual).extracting(BookedPlace::getId)
+                .containsExactlyElementsOf(expected.stream().map(BookedPlace::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Тест на выброс исключения при курсоре от другой сортировки")
+    void getBookedPlacesPageShouldThrowExceptionWithCursorOfAnotherSortField() throws BookedPlaceConflictsException {
+        String cursor = bookedPlaceService.getBookedPlacesPage("1", null, 1).nextCursor();
+
+        assertThatThrownBy(() -> bookedPlaceService.getBookedPlacesPage("2", cursor, 1))
                 .isInstanceOf(BookedPlaceConflictsException.class);
     }
 
     @Test
     @DisplayName("Тест на регистрацию нового бронирования")
-    void bookPlaceShouldBookPlaceTest() {
+    void bookPlaceShouldBookPlaceTest() throws BookedPlaceConflictsException {
         int oldLength = bookedPlaceService.getAllBookedPlaces().size();
+        var freeSlot = Slot.builder()
+                .start(of(2024, 6, 23, 11, 0))
+                .end(of(2024, 6, 23, 12, 0))
+                .build();
 
-        bookedPlaceService.bookPlace(TEST_BOOKED_PLACE_OBJECT, ADMIN_TEST_OBJECT);
+        bookedPlaceService.bookPlace(BookedPlace.builder().place(PLACE_TEST_OBJECT_FOR_BOOKING).slot(freeSlot).build(), ADMIN_TEST_OBJECT);
         int newSize = bookedPlaceService.getAllBookedPlaces().size();
 
         assertThat(newSize).isGreaterThan(oldLength);
 
     }
 
+    @Test
+    @DisplayName("Тест на обновление материализованных свободных слотов при бронировании и отмене")
+    void getAllAvailableDTOSlotsShouldReflectBookingAndCancellingTest() throws BookedPlaceConflictsException {
+        LocalDateTime tomorrow = LocalDate.now().plusDays(1).atStartOfDay();
+        var booking = Slot.builder()
+                .start(tomorrow.withHour(10))
+                .end(tomorrow.withHour(11))
+                .build();
+        assertThat(freeSlotsOfBookingPlace(tomorrow)).hasSize(1);
+
+        bookedPlaceService.bookPlace(PLACE_TEST_OBJECT_FOR_BOOKING, ADMIN_TEST_OBJECT, booking.getStart(), booking.getEnd());
+        assertThat(freeSlotsOfBookingPlace(tomorrow)).hasSize(2);
+
+        int bookingId = bookedPlaceService.getAllBookedPlaces().stream()
+                .filter(bookedPlace -> Objects.equals(bookedPlace.getSlot(), booking))
+                .findFirst().orElseThrow().getId();
+        bookedPlaceService.cancelBooking(bookingId, ADMIN_TEST_OBJECT);
+        assertThat(freeSlotsOfBookingPlace(tomorrow)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Тест на выброс исключения при отмене чужого бронирования")
+    void cancelBookingShouldThrowExceptionWhenBookingBelongsToOtherUserTest() throws BookedPlaceConflictsException {
+        var booking = Slot.builder()
+                .start(LocalDate.now().minusDays(3).atTime(9, 0))
+                .end(LocalDate.now().minusDays(3).atTime(10, 0))
+                .build();
+        bookedPlaceService.bookPlace(PLACE_TEST_OBJECT_FOR_BOOKING, ADMIN_TEST_OBJECT, booking.getStart(), booking.getEnd());
+        int bookingId = bookedPlaceService.getAllBookedPlacesByUser(ADMIN_TEST_OBJECT).stream()
+                .filter(bookedPlace -> Objects.equals(bookedPlace.getSlot(), booking))
+                .findFirst().orElseThrow().getId();
+
+        assertThatThrownBy(() -> bookedPlaceService.cancelBooking(bookingId, USER_TEST_OBJECT))
+                .isInstanceOf(BookedPlaceConflictsException.class);
+        assertThat(bookedPlaceService.findById(bookingId)).isNotNull();
+    }
+
+    private List<SlotDTO> freeSlotsOfBookingPlace(LocalDateTime date) {
+        return bookedPlaceService.getAllAvailableDTOSlots(date).stream()
+                .filter(availableSlotsDTO -> availableSlotsDTO.getPlaceDTO().getId() == PLACE_TEST_OBJECT_FOR_BOOKING.getId())
+                .findFirst().orElseThrow().getSlotDTOS();
+    }
+
+    @Test
+    @DisplayName("Тест на выброс исключения при бронировании занятого слота")
+    void bookPlaceShouldThrowExceptionWhenSlotIsAlreadyBookedTest() {
+        assertThatThrownBy(() -> bookedPlaceService.bookPlace(TEST_BOOKED_PLACE_OBJECT, ADMIN_TEST_OBJECT))
+                .isInstanceOf(BookedPlaceConflictsException.class);
+    }
+
+    @Test
+    @DisplayName("Тест на отклонение всего атомарного пакета при конфликте одного бронирования")
+    void bookPlacesShouldRejectWholeAtomicBatchWithConflictTest() throws BookedPlaceConflictsException {
+        var freeBooking = BookedPlace.builder()
+                .place(PLACE_TEST_OBJECT_FOR_BOOKING)
+                .slot(Slot.builder().start(of(2024, 6, 24, 11, 0)).end(of(2024, 6, 24, 12, 0)).build())
+                .build();
+        int oldSize = bookedPlaceService.getAllBookedPlaces().size();
+
+        BookingBatchResult result = bookedPlaceService.bookPlaces(List.of(freeBooking, TEST_BOOKED_PLACE_OBJECT), Map.of(), ADMIN_TEST_OBJECT, true);
+
+        assertThat(result.bookedCount()).isZero();
+        assertThat(result.results().get(0).error()).isNull();
+        assertThat(result.results().get(1).error()).isNotEmpty();
+        assertThat(bookedPlaceService.getAllBookedPlaces()).hasSize(oldSize);
+    }
+
+    @Test
+    @DisplayName("Тест на создание бронирований пакета без ошибок и конфликтов в неатомарном режиме")
+    void bookPlacesShouldBookOnlyValidPlacesWhenNotAtomicTest() throws BookedPlaceConflictsException {
+        var freeBooking = BookedPlace.builder()
+                .place(PLACE_TEST_OBJECT_FOR_BOOKING)
+                .slot(Slot.builder().start(of(2024, 6, 25, 11, 0)).end(of(2024, 6, 25, 12, 0)).build())
+                .build();
+        final String VALIDATION_ERROR = "Требуется указать данные о бронировании";
+
+        BookingBatchResult result = bookedPlaceService.bookPlaces(Arrays.asList(null, freeBooking, TEST_BOOKED_PLACE_OBJECT),
+                Map.of(0, VALIDATION_ERROR), ADMIN_TEST_OBJECT, false);
+
+        assertThat(result.bookedCount()).isEqualTo(1);
+        assertThat(result.results().get(0).error()).isEqualTo(VALIDATION_ERROR);
+        assertThat(bookedPlaceService.findById(result.results().get(1).bookedPlaceId()).getSlot()).isEqualTo(freeBooking.getSlot());
+        assertThat(result.results().get(2).bookedPlaceId()).isNull();
+        assertThat(result.results().get(2).error()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("Тест на отклонение бронирования несуществующего места")
+    void bookPlaceShouldThrowExceptionWhenPlaceDoesNotExistTest() throws BookedPlaceConflictsException {
+        Place nonExistentPlace = Place.builder().id(Integer.MAX_VALUE).build();
+        var booking = BookedPlace.builder()
+                .place(nonExistentPlace)
+                .slot(Slot.builder().start(of(2024, 6, 26, 11, 0)).end(of(2024, 6, 26, 12, 0)).build())
+                .build();
+
+        assertThatThrownBy(() -> bookedPlaceService.bookPlace(booking, ADMIN_TEST_OBJECT))
+                .isInstanceOf(BookedPlaceConflictsException.class);
+        BookingBatchResult result = bookedPlaceService.bookPlaces(List.of(booking), Map.of(), ADMIN_TEST_OBJECT, false);
+        assertThat(result.bookedCount()).isZero();
+        assertThat(result.results().get(0).error()).isNotEmpty();
+    }
+
     @Test
     @DisplayName("Тест на меппинг объектов")
     void bookedMapperShouldCorrectMapDtoTest(){
@@ -0,0 +1,107 @@
+import org.coworking.filters.CompressionFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тест фильтра сжатия ответов")
+public class CompressionFilterTest {
+
+    private static final int MIN_SIZE = 1024;
+
+    private final CompressionFilter compressionFilter = new CompressionFilter(MIN_SIZE);
+
+    @Test
+    @DisplayName("Тест на сжатие gzip ответа больше порога")
+    void doFilterShouldGzipLargeJsonResponseTest() throws Exception {
+        String body = "[" + "{\"id\":1,\"placeName\":\"Workplace 0\"},".repeat(100) + "{}]";
+
+        MockHttpServletResponse response = filter("gzip, deflate", MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(response.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        assertThat(response.getContentAsByteArray().length).isLessThan(body.length());
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+        }
+    }
+
+    @Test
+    @DisplayName("Тест на сжатие deflate, если клиент не принимает gzip")
+    void doFilterShouldDeflateWhenGzipIsNotAcceptedTest() throws Exception {
+        String body = "a".repeat(MIN_SIZE * 4);
+
+        MockHttpServletResponse response = filter("gzip;q=0, deflate", MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("deflate");
+        try (var in = new InflaterInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+        }
+    }
+
+    @Test
+    @DisplayName("Тест на отправку без сжатия ответа меньше порога")
+    void doFilterShouldNotCompressSmallResponseTest() throws Exception {
+        String body = "{\"id\":1}";
+
+        MockHttpServletResponse response = filter("gzip", MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentLength()).isEqualTo(body.length());
+        assertThat(response.getContentAsString()).isEqualTo(body);
+    }
+
+    @Test
+    @DisplayName("Тест на отправку без сжатия, если клиент не передал Accept-Encoding")
+    void doFilterShouldNotCompressWithoutAcceptEncodingTest() throws Exception {
+        String body = "a".repeat(MIN_SIZE * 4);
+
+        MockHttpServletResponse response = filter(null, MediaType.APPLICATION_JSON_VALUE, body);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(body);
+    }
+
+    @Test
+    @DisplayName("Тест на отправку без сжатия нетекстового ответа")
+    void doFilterShouldNotCompressBinaryResponseTest() throws Exception {
+        String body = "a".repeat(MIN_SIZE * 4);
+
+        MockHttpServletResponse response = filter("gzip", MediaType.IMAGE_PNG_VALUE, body);
+
+        assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(body);
+    }
+
+    private MockHttpServletResponse filter(String acceptEncoding, String contentType, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/get-all-places");
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                resp.setContentType(contentType);
+                resp.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                resp.getWriter().write(body);
+            }
+        };
+        compressionFilter.doFilter(request, response, new MockFilterChain(servlet));
+        return response;
+    }
+}
@@ -0,0 +1,36 @@
+import org.coworking.metrics.LatencyHistogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("Тест гистограммы времени выполнения")
+public class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Тест на вычисление перцентилей с допустимой погрешностью")
+    void snapshotShouldReturnPercentilesWithinBucketPrecisionTest() {
+        var histogram = new LatencyHistogram();
+        for (long value = 1; value <= 10_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        var snapshot = histogram.snapshot();
+
+        assertThat(snapshot.count()).isEqualTo(10_000);
+        assertThat(snapshot.max()).isEqualTo(10_000_000);
+        assertThat(snapshot.p50()).isCloseTo(5_000_000, within(625_000L));
+        assertThat(snapshot.p95()).isCloseTo(9_500_000, within(1_187_500L));
+        assertThat(snapshot.p99()).isCloseTo(9_900_000, within(1_237_500L));
+    }
+
+    @Test
+    @DisplayName("Тест на пустую гистограмму")
+    void snapshotShouldReturnZerosWhenEmptyTest() {
+        var snapshot = new LatencyHistogram().snapshot();
+
+        assertThat(snapshot.count()).isZero();
+        assertThat(snapshot.p99()).isZero();
+    }
+}
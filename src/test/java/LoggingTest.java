@@ -1,12 +1,16 @@
 import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.coworking.aspects.LoggableAspect;
+import org.coworking.metrics.MethodMetricsRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @DisplayName("Тест логирования")
 public class LoggingTest {
@@ -14,12 +18,20 @@ public class LoggingTest {
     @Mock
     ProceedingJoinPoint proceedingJoinPoint;
 
+    @Mock
+    MethodSignature methodSignature;
+
+    MethodMetricsRegistry methodMetricsRegistry;
+
     LoggableAspect loggableAspect;
 
     @BeforeEach
-    void setUp(){
+    void setUp() throws NoSuchMethodException {
         MockitoAnnotations.openMocks(this);
-        loggableAspect = new LoggableAspect();
+        when(proceedingJoinPoint.getSignature()).thenReturn(methodSignature);
+        when(methodSignature.getMethod()).thenReturn(Object.class.getMethod("toString"));
+        methodMetricsRegistry = new MethodMetricsRegistry();
+        loggableAspect = new LoggableAspect(methodMetricsRegistry, 0);
     }
 
     @Test
@@ -28,4 +40,15 @@ public class LoggingTest {
         loggableAspect.logging(proceedingJoinPoint);
         verify(proceedingJoinPoint).proceed();
     }
+
+    @Test
+    @DisplayName("Тест на запись времени выполнения в гистограмму метода")
+    void loggingShouldRecordExecutionTimeTest() throws Throwable {
+        loggableAspect.logging(proceedingJoinPoint);
+        loggableAspect.logging(proceedingJoinPoint);
+
+        assertThat(methodMetricsRegistry.snapshot())
+                .containsOnlyKeys("Object.toString()")
+                .allSatisfy((method, snapshot) -> assertThat(snapshot.count()).isEqualTo(2));
+    }
 }
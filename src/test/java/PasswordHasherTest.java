@@ -0,0 +1,67 @@
+import org.coworking.security.PasswordHasher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тест хэширования паролей")
+public class PasswordHasherTest {
+
+    private static final String PASSWORD = "password";
+
+    private final PasswordHasher passwordHasher = new PasswordHasher(1000);
+
+    @Test
+    @DisplayName("Тест на проверку пароля по хэшу со случайной солью")
+    void hashShouldMatchOnlySamePasswordTest() {
+        String hash = passwordHasher.hash(PASSWORD);
+
+        assertThat(hash).startsWith("pbkdf2$1000$").doesNotContain(PASSWORD);
+        assertThat(passwordHasher.hash(PASSWORD)).isNotEqualTo(hash);
+        assertThat(passwordHasher.matches(PASSWORD, hash)).isTrue();
+        assertThat(passwordHasher.matches("Password", hash)).isFalse();
+        assertThat(passwordHasher.needsRehash(hash)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Тест на проверку и перехэширование пароля, сохраненного в открытом виде")
+    void plainPasswordShouldMatchAndNeedRehashTest() {
+        assertThat(passwordHasher.matches(PASSWORD, PASSWORD)).isTrue();
+        assertThat(passwordHasher.matches("other", PASSWORD)).isFalse();
+        assertThat(passwordHasher.needsRehash(PASSWORD)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Тест на проверку хэша с другим количеством итераций и его перехэширование")
+    void hashWithOtherIterationsShouldMatchAndNeedRehashTest() {
+        String hash = new PasswordHasher(500).hash(PASSWORD);
+
+        assertThat(passwordHasher.matches(PASSWORD, hash)).isTrue();
+        assertThat(passwordHasher.needsRehash(hash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Тест на проверку и перехэширование хэша, вычисленного БД при импорте")
+    void importedHashShouldMatchAndNeedRehashTest() throws NoSuchAlgorithmException {
+        final String SALT = "0123456789abcdef";
+        byte[] hash = MessageDigest.getInstance("SHA-256").digest((SALT + PASSWORD).getBytes(StandardCharsets.UTF_8));
+        String importedHash = "sha256$" + SALT + "$" + HexFormat.of().formatHex(hash);
+
+        assertThat(passwordHasher.matches(PASSWORD, importedHash)).isTrue();
+        assertThat(passwordHasher.matches("other", importedHash)).isFalse();
+        assertThat(passwordHasher.matches(PASSWORD, "sha256$" + SALT + "$zz")).isFalse();
+        assertThat(passwordHasher.needsRehash(importedHash)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Тест на отклонение пароля при поврежденном хэше")
+    void malformedHashShouldNotMatchTest() {
+        assertThat(passwordHasher.matches(PASSWORD, "pbkdf2$abc$c2FsdA$aGFzaA")).isFalse();
+        assertThat(passwordHasher.matches(PASSWORD, "pbkdf2$1000$$aGFzaA")).isFalse();
+    }
+}
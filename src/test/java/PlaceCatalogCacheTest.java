@@ -0,0 +1,86 @@
+import org.coworking.cache.PlaceCatalogCache;
+import org.coworking.models.Place;
+import org.coworking.models.enums.PlaceType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Тест кэша каталога мест")
+public class PlaceCatalogCacheTest {
+
+    private static final Place WORKPLACE = new Place(1, "Workplace 0", PlaceType.WORKPLACE);
+
+    private static final Place HALL = new Place(2, "Hall 0", PlaceType.CONFERENCE_HALL);
+
+    private final List<Place> storedPlaces = new ArrayList<>(List.of(WORKPLACE, HALL));
+
+    private final AtomicInteger loadCount = new AtomicInteger();
+
+    private PlaceCatalogCache placeCatalogCache;
+
+    @BeforeEach
+    void setUp() {
+        placeCatalogCache = new PlaceCatalogCache(() -> {
+            loadCount.incrementAndGet();
+            return List.copyOf(storedPlaces);
+        });
+    }
+
+    @Test
+    @DisplayName("Тест на загрузку каталога один раз для поиска по id и по имени")
+    void findShouldLoadCatalogOnceTest() {
+        assertThat(placeCatalogCache.findAll()).containsExactly(WORKPLACE, HALL);
+        assertThat(placeCatalogCache.findById(HALL.getId())).contains(HALL);
+        assertThat(placeCatalogCache.findByName(WORKPLACE.getPlaceName())).contains(WORKPLACE);
+        assertThat(placeCatalogCache.findByName("Unknown")).isEmpty();
+
+        assertThat(loadCount).hasValue(1);
+        assertThat(placeCatalogCache.getStatistics()).isEqualTo(new PlaceCatalogCache.Statistics(3, 1));
+    }
+
+    @Test
+    @DisplayName("Тест на загрузку каталога с одинаковыми именами мест")
+    void findByNameShouldReturnPlaceWithLowestIdForDuplicateNamesTest() {
+        Place duplicate = new Place(3, WORKPLACE.getPlaceName(), PlaceType.CONFERENCE_HALL);
+        storedPlaces.add(0, duplicate);
+
+        assertThat(placeCatalogCache.findByName(WORKPLACE.getPlaceName())).contains(WORKPLACE);
+        assertThat(placeCatalogCache.findById(duplicate.getId())).contains(duplicate);
+        assertThat(placeCatalogCache.findAll()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("Тест на повторную загрузку каталога после сброса")
+    void invalidateShouldReloadCatalogTest() {
+        placeCatalogCache.findAll();
+        Place newPlace = new Place(3, "Workplace 1", PlaceType.WORKPLACE);
+        storedPlaces.add(newPlace);
+
+        placeCatalogCache.invalidate();
+
+        assertThat(placeCatalogCache.findByName(newPlace.getPlaceName())).contains(newPlace);
+        assertThat(loadCount).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Тест на то, что каталог, загруженный до сброса, не сохраняется в кэше")
+    void invalidateDuringLoadingShouldDiscardLoadedCatalogTest() {
+        placeCatalogCache = new PlaceCatalogCache(() -> {
+            if (loadCount.incrementAndGet() == 1) {
+                placeCatalogCache.invalidate();
+            }
+            return List.copyOf(storedPlaces);
+        });
+
+        placeCatalogCache.findAll();
+        placeCatalogCache.findAll();
+
+        assertThat(loadCount).hasValue(2);
+    }
+}
@@ -9,8 +9,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import utils.TestUtils;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
+import javax.sql.DataSource;
 import java.sql.SQLException;
 import java.util.Objects;
 
@@ -18,6 +17,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static utils.TestUtils.EMPTY_STRING;
 import static utils.TestUtils.TEST_PLACE_NAME_0;
+import static utils.TestUtils.createDataSource;
 import static utils.TestUtils.startTestContainer;
 import static utils.TestUtils.stopTestContainers;
 
@@ -26,11 +26,11 @@ public class PlaceServiceTest {
 
     PlaceService placeService;
 
-    private static Connection connection;
+    private static DataSource dataSource;
     @BeforeAll
     static void setDatabase() throws SQLException, LiquibaseException {
-        connection = DriverManager.getConnection(startTestContainer());
-        TestUtils.startLiquibase(connection);
+        dataSource = createDataSource(startTestContainer());
+        TestUtils.startLiquibase(dataSource);
     }
 
     @AfterAll
@@ -41,7 +41,7 @@ public class PlaceServiceTest {
 
     @BeforeEach
     void setUp() {
-        placeService = new PlaceService(new PlaceRepositoryImpl(connection));
+        placeService = new PlaceService(new PlaceRepositoryImpl(dataSource));
 
     }
 
@@ -59,4 +59,14 @@ public class PlaceServiceTest {
         assertThatThrownBy(() -> placeService.removePlace(EMPTY_STRING))
                 .isInstanceOf(PlaceNamingException.class);
     }
+
+    @Test
+    @DisplayName("Неудачное удаление места не должно менять счетчик изменений")
+    void removePlaceShouldNotChangeModificationCountWithNonExistentNameTest() {
+        long modificationCount = placeService.getModificationCount();
+
+        assertThatThrownBy(() -> placeService.removePlace(EMPTY_STRING))
+                .isInstanceOf(PlaceNamingException.class);
+        assertThat(placeService.getModificationCount()).isEqualTo(modificationCount);
+    }
 }
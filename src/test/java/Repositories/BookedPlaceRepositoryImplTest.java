@@ -1,11 +1,14 @@
 package Repositories;
 
 import liquibase.exception.LiquibaseException;
+import org.coworking.Utils.exceptions.BookedPlaceConflictsException;
 import org.coworking.models.BookedPlace;
+import org.coworking.models.BookingCursor;
+import org.coworking.models.Place;
+import org.coworking.models.Slot;
 import org.coworking.models.User;
+import org.coworking.models.enums.BookingSortField;
 import org.coworking.repositories.impl.BookedPlaceRepositoryImpl;
-import org.coworking.repositories.SlotRepository;
-import org.coworking.repositories.impl.SlotRepositoryImpl;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,16 +17,22 @@ import org.junit.jupiter.api.Test;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import utils.TestUtils;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
+import javax.sql.DataSource;
+import java.io.IOException;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static utils.TestUtils.ADMIN_TEST_OBJECT;
 import static utils.TestUtils.PLACE_TEST_OBJECT_FOR_BOOKING;
+import static utils.TestUtils.USER_TEST_OBJECT;
+import static utils.TestUtils.createDataSource;
 import static utils.TestUtils.startTestContainer;
 import static utils.TestUtils.stopTestContainers;
 
@@ -33,14 +42,12 @@ class BookedPlaceRepositoryImplTest {
 
     private BookedPlaceRepositoryImpl bookedPlaceRepository;
 
-    private SlotRepository slotRepository;
-
-    private static Connection connection;
+    private static DataSource dataSource;
 
     @BeforeAll
     static void setDatabase() throws SQLException, LiquibaseException {
-        connection = DriverManager.getConnection(startTestContainer());
-        TestUtils.startLiquibase(connection);
+        dataSource = createDataSource(startTestContainer());
+        TestUtils.startLiquibase(dataSource);
     }
 
     @AfterAll
@@ -50,8 +57,7 @@ class BookedPlaceRepositoryImplTest {
 
     @BeforeEach
     void setUp() {
-        slotRepository = new SlotRepositoryImpl(connection);
-        bookedPlaceRepository = new BookedPlaceRepositoryImpl(connection, slotRepository);
+        bookedPlaceRepository = new BookedPlaceRepositoryImpl(dataSource);
     }
 
     @Test
@@ -62,6 +68,44 @@ class BookedPlaceRepositoryImplTest {
         assertThat(hasAdminBookedPlaces(actualResult)).isTrue();
     }
 
+    @Test
+    @DisplayName("Тест на получение страницы записей о бронировании после курсора в порядке имени места")
+    void findPageShouldReturnBookingsAfterCursorOrderedByPlaceName() {
+        List<BookedPlace> firstPage = bookedPlaceRepository.findPage(BookingSortField.PLACE_NAME, null, 1);
+        BookingCursor cursor = BookingCursor.after(BookingSortField.PLACE_NAME, firstPage.get(0));
+
+        var actualResult = bookedPlaceRepository.findPage(BookingSortField.PLACE_NAME, cursor, Integer.MAX_VALUE);
+
+        assertThat(actualResult).hasSize(bookedPlaceRepository.findAll().size() - 1)
+                .isSortedAccordingTo(Comparator.comparing(BookedPlace::getPlace).thenComparing(BookedPlace::getId))
+                .noneMatch(bookedPlace -> bookedPlace.getId() == cursor.id());
+    }
+
+    @Test
+    @DisplayName("Тест на получение страницы записей о бронировании после курсора в порядке имени пользователя")
+    void findPageShouldReturnBookingsAfterCursorOrderedByUserName() {
+        List<BookedPlace> firstPage = bookedPlaceRepository.findPage(BookingSortField.USER_NAME, null, 1);
+        BookingCursor cursor = BookingCursor.after(BookingSortField.USER_NAME, firstPage.get(0));
+
+        var actualResult = bookedPlaceRepository.findPage(BookingSortField.USER_NAME, cursor, Integer.MAX_VALUE);
+
+        assertThat(actualResult).hasSize(bookedPlaceRepository.findAll().size() - 1)
+                .isSortedAccordingTo(Comparator.comparing((BookedPlace bookedPlace) -> bookedPlace.getUser().getName())
+                        .thenComparing(BookedPlace::getId))
+                .noneMatch(bookedPlace -> bookedPlace.getId() == cursor.id());
+    }
+
+    @Test
+    @DisplayName("Тест на последовательную передачу всех записей о бронировании в порядке id")
+    void forEachBookedPlaceShouldPassAllBookingsOrderedById() throws IOException {
+        List<BookedPlace> actualResult = new ArrayList<>();
+
+        bookedPlaceRepository.forEachBookedPlace(actualResult::add);
+
+        assertThat(actualResult).hasSize(bookedPlaceRepository.findAll().size())
+                .isSortedAccordingTo(Comparator.comparing(BookedPlace::getId));
+    }
+
     @Test
     @DisplayName("Тест на получение всех записей о забронированных пользователем местах ")
     void findAllByUserShouldFindAllBookedPlacesMadeByUser(){
@@ -93,7 +137,7 @@ class BookedPlaceRepositoryImplTest {
 
     @Test
     @DisplayName("Тесть на создание нового бронирования места")
-    void saveShouldSaveNewBookedPlaces(){
+    void saveShouldSaveNewBookedPlaces() throws BookedPlaceConflictsException {
         int savedId = bookedPlaceRepository.save(PLACE_TEST_OBJECT_FOR_BOOKING, ADMIN_TEST_OBJECT, LocalDateTime.now().minusHours(1), LocalDateTime.now());
         var optionalBookedPlace = bookedPlaceRepository.findById(savedId);
 
@@ -102,6 +146,19 @@ class BookedPlaceRepositoryImplTest {
         assertThat(optionalBookedPlace.get()).matches(BookedPlaceRepositoryImplTest::hasSamePlaceAndUser);
     }
 
+    @Test
+    @DisplayName("Тест на отклонение бронирования несуществующего места")
+    void saveShouldThrowExceptionWhenPlaceDoesNotExist() {
+        Place nonExistentPlace = Place.builder().id(Integer.MAX_VALUE).build();
+        LocalDateTime start = LocalDateTime.now().plusYears(3);
+
+        assertThatThrownBy(() -> bookedPlaceRepository.save(nonExistentPlace, ADMIN_TEST_OBJECT, start, start.plusHours(1)))
+                .isInstanceOf(BookedPlaceConflictsException.class);
+        assertThatThrownBy(() -> bookedPlaceRepository.saveAll(List.of(BookedPlace.builder().place(nonExistentPlace)
+                        .slot(Slot.builder().start(start).end(start.plusHours(1)).build()).build()), ADMIN_TEST_OBJECT))
+                .isInstanceOf(BookedPlaceConflictsException.class);
+    }
+
     /**
      * Проверка если бронирования совпадают по попользователю и по месту
      * @param bookedPlace - одно Бронирование
@@ -113,12 +170,87 @@ class BookedPlaceRepositoryImplTest {
 
     @Test
     @DisplayName("Тесть на удаление записи о бронировании места")
-    void removeShouldRemoveBookedPlace(){
-        int savedId = bookedPlaceRepository.save(PLACE_TEST_OBJECT_FOR_BOOKING, ADMIN_TEST_OBJECT, LocalDateTime.now().minusHours(1), LocalDateTime.now());
+    void removeShouldRemoveBookedPlace() throws BookedPlaceConflictsException {
+        int savedId = bookedPlaceRepository.save(PLACE_TEST_OBJECT_FOR_BOOKING, ADMIN_TEST_OBJECT, LocalDateTime.now().minusHours(3), LocalDateTime.now().minusHours(2));
 
         bookedPlaceRepository.removeById(savedId);
 
         assertThat(bookedPlaceRepository.findById(savedId)).isEmpty();
 
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Тест на удаление бронирования только владельцем или администратором")
+    void removeByIdAndUserShouldRemoveOnlyBookedPlaceAvailableToUser() throws BookedPlaceConflictsException {
+        LocalDateTime start = LocalDateTime.now().minusDays(2).truncatedTo(ChronoUnit.SECONDS);
+        int savedId = bookedPlaceRepository.save(PLACE_TEST_OBJECT_FOR_BOOKING, ADMIN_TEST_OBJECT, start, start.plusHours(1));
+
+        assertThat(bookedPlaceRepository.removeByIdAndUser(savedId, USER_TEST_OBJECT)).isEmpty();
+        assertThat(bookedPlaceRepository.findById(savedId)).isPresent();
+
+        assertThat(bookedPlaceRepository.removeByIdAndUser(savedId, ADMIN_TEST_OBJECT))
+                .get()
+                .matches(bookedPlace -> bookedPlace.getId() == savedId && hasSamePlaceAndUser(bookedPlace)
+                        && Objects.equals(bookedPlace.getSlot().getStart(), start));
+        assertThat(bookedPlaceRepository.findById(savedId)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Тест на отклонение бронирования, пересекающегося с существующим")
+    void saveShouldThrowExceptionWhenSlotOverlapsExistingBooking() throws BookedPlaceConflictsException {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        bookedPlaceRepository.save(PLACE_TEST_OBJECT_FOR_BOOKING, ADMIN_TEST_OBJECT, start, start.plusHours(2));
+
+        assertThatThrownBy(() -> bookedPlaceRepository.save(PLACE_TEST_OBJECT_FOR_BOOKING, ADMIN_TEST_OBJECT, start.plusHours(1), start.plusHours(3)))
+                .isInstanceOf(BookedPlaceConflictsException.class);
+    }
+
+    @Test
+    @DisplayName("Тест на сохранение нескольких бронирований в одной транзакции")
+    void saveAllShouldSaveAllBookedPlaces() throws BookedPlaceConflictsException {
+        LocalDateTime start = LocalDateTime.now().plusDays(40);
+        List<BookedPlace> bookedPlaces = List.of(booking(start, start.plusHours(1)), booking(start.plusHours(2), start.plusHours(3)));
+
+        List<Integer> savedIds = bookedPlaceRepository.saveAll(bookedPlaces, ADMIN_TEST_OBJECT);
+
+        assertThat(savedIds).hasSize(2).doesNotHaveDuplicates();
+        assertThat(bookedPlaceRepository.findById(savedIds.get(1)))
+                .get()
+                .matches(bookedPlace -> Objects.equals(bookedPlace.getSlot(), bookedPlaces.get(1).getSlot()));
+    }
+
+    @Test
+    @DisplayName("Тест на отмену всех бронирований пакета, если одно из них пересекается с существующим")
+    void saveAllShouldSaveNothingWhenOneSlotOverlapsExistingBooking() throws BookedPlaceConflictsException {
+        LocalDateTime start = LocalDateTime.now().plusDays(41);
+        bookedPlaceRepository.save(PLACE_TEST_OBJECT_FOR_BOOKING, ADMIN_TEST_OBJECT, start, start.plusHours(2));
+        int oldSize = bookedPlaceRepository.findAll().size();
+
+        assertThatThrownBy(() -> bookedPlaceRepository.saveAll(List.of(booking(start.plusHours(3), start.plusHours(4)),
+                booking(start.plusHours(1), start.plusHours(3))), ADMIN_TEST_OBJECT))
+                .isInstanceOf(BookedPlaceConflictsException.class);
+        assertThat(bookedPlaceRepository.findAll()).hasSize(oldSize);
+    }
+
+    @Test
+    @DisplayName("Тест на поиск бронирований, конфликтующих с существующими и друг с другом")
+    void findConflictingShouldReturnIndexesOfOverlappingBookings() throws BookedPlaceConflictsException {
+        LocalDateTime start = LocalDateTime.now().plusDays(42);
+        bookedPlaceRepository.save(PLACE_TEST_OBJECT_FOR_BOOKING, ADMIN_TEST_OBJECT, start, start.plusHours(2));
+
+        var conflicts = bookedPlaceRepository.findConflicting(List.of(
+                booking(start.plusHours(1), start.plusHours(3)),
+                booking(start.plusHours(4), start.plusHours(6)),
+                booking(start.plusHours(5), start.plusHours(7)),
+                booking(start.plusHours(7), start.plusHours(8))));
+
+        assertThat(conflicts).containsExactlyInAnyOrder(0, 2);
+    }
+
+    private static BookedPlace booking(LocalDateTime start, LocalDateTime end) {
+        return BookedPlace.builder()
+                .place(PLACE_TEST_OBJECT_FOR_BOOKING)
+                .slot(Slot.builder().start(start).end(end).build())
+                .build();
+    }
+}
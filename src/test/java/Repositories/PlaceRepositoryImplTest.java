@@ -12,8 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import utils.TestUtils;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
+import javax.sql.DataSource;
 import java.sql.SQLException;
 import java.util.Objects;
 import java.util.Optional;
@@ -24,6 +23,7 @@ import static utils.TestUtils.NEW_NAME_STRING;
 import static utils.TestUtils.TEST_PLACE_NAME_0;
 import static utils.TestUtils.TEST_PLACE_NAME_1;
 import static utils.TestUtils.TEST_PLACE_NAME_2;
+import static utils.TestUtils.createDataSource;
 import static utils.TestUtils.startTestContainer;
 import static utils.TestUtils.stopTestContainers;
 
@@ -33,12 +33,12 @@ class PlaceRepositoryImplTest {
 
     private PlaceRepositoryImpl placeRepository;
 
-    private static Connection connection;
+    private static DataSource dataSource;
 
     @BeforeAll
     static void setDatabase() throws SQLException, LiquibaseException {
-        connection = DriverManager.getConnection(startTestContainer());
-        TestUtils.startLiquibase(connection);
+        dataSource = createDataSource(startTestContainer());
+        TestUtils.startLiquibase(dataSource);
     }
 
     @AfterAll
@@ -48,7 +48,7 @@ class PlaceRepositoryImplTest {
 
     @BeforeEach
     void setUp() {
-        placeRepository = new PlaceRepositoryImpl(connection);
+        placeRepository = new PlaceRepositoryImpl(dataSource);
     }
 
     @Test
@@ -13,28 +13,28 @@ import org.junit.jupiter.api.Test;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import utils.TestUtils;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
+import javax.sql.DataSource;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static utils.TestUtils.TEST_LOCAL_DATE_TIME;
 import static utils.TestUtils.TEST_SLOT;
+import static utils.TestUtils.createDataSource;
 import static utils.TestUtils.startTestContainer;
 import static utils.TestUtils.stopTestContainers;
 
 @Testcontainers
 @DisplayName("Тесты для проверки реализации SlotRepository")
 class SlotRepositoryImplTest {
-    private static Connection connection;
+    private static DataSource dataSource;
 
     private SlotRepository slotRepository;
 
     @BeforeAll
     static void setDatabase() throws SQLException, LiquibaseException {
-        connection = DriverManager.getConnection(startTestContainer());
-        TestUtils.startLiquibase(connection);
+        dataSource = createDataSource(startTestContainer());
+        TestUtils.startLiquibase(dataSource);
     }
 
     @AfterAll
@@ -44,7 +44,7 @@ class SlotRepositoryImplTest {
 
     @BeforeEach
     void setUp() {
-        slotRepository = new SlotRepositoryImpl(connection);
+        slotRepository = new SlotRepositoryImpl(dataSource);
     }
 
     @Test
@@ -2,6 +2,7 @@ package Repositories;
 
 import liquibase.exception.LiquibaseException;
 import org.assertj.core.api.Assertions;
+import org.coworking.models.UserActionAudit;
 import org.coworking.repositories.impl.UserActionAuditRepositoryImpl;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -10,27 +11,29 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import utils.TestUtils;
 
+import javax.sql.DataSource;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 
 import static java.time.LocalDateTime.now;
 import static utils.TestUtils.ADMIN_TEST_OBJECT;
 import static utils.TestUtils.EMPTY_STRING;
+import static utils.TestUtils.createDataSource;
 import static utils.TestUtils.startTestContainer;
 import static utils.TestUtils.stopTestContainers;
 
 @DisplayName("Тест репозитория UserActionAuditRepositoryImpl")
 class UserActionAuditRepositoryImplTest {
-    private static Connection connection;
+    private static DataSource dataSource;
 
     private UserActionAuditRepositoryImpl userActionAuditRepository;
 
     @BeforeAll
     static void setDatabase() throws SQLException, LiquibaseException {
-        connection = DriverManager.getConnection(startTestContainer());
-        TestUtils.startLiquibase(connection);
+        dataSource = createDataSource(startTestContainer());
+        TestUtils.startLiquibase(dataSource);
     }
 
     @AfterAll
@@ -40,7 +43,7 @@ class UserActionAuditRepositoryImplTest {
 
     @BeforeEach
     void setUp() {
-        userActionAuditRepository = new UserActionAuditRepositoryImpl(connection);
+        userActionAuditRepository = new UserActionAuditRepositoryImpl(dataSource);
     }
 
     @Test
@@ -53,11 +56,26 @@ class UserActionAuditRepositoryImplTest {
 
         Assertions.assertThat(newNumberOfNotes).isGreaterThan(oldNumberOfNotes);
     }
+
+    @Test
+    @DisplayName("Тест на запись пачки аудит в БД")
+    void saveAllShouldMakeAllAuditNotesToDBTest() throws SQLException {
+        int oldNumberOfNotes = getNumberOfLogs();
+
+        userActionAuditRepository.saveAll(List.of(new UserActionAudit(ADMIN_TEST_OBJECT, EMPTY_STRING, now()),
+                new UserActionAudit(ADMIN_TEST_OBJECT, EMPTY_STRING, now())));
+        int newNumberOfNotes = getNumberOfLogs();
+
+        Assertions.assertThat(newNumberOfNotes).isEqualTo(oldNumberOfNotes + 2);
+    }
+
     private int getNumberOfLogs() throws SQLException {
         String sql = "SELECT COUNT(*) FROM coworking_schema.user_action_audit";
-        ResultSet resultSet = connection.createStatement().executeQuery(sql);
-        resultSet.next();
-        return resultSet.getInt(1);
+        try (Connection connection = dataSource.getConnection();
+             ResultSet resultSet = connection.createStatement().executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
     }
 
 }
\ No newline at end of file
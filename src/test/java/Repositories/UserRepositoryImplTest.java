@@ -12,8 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import utils.TestUtils;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
+import javax.sql.DataSource;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
@@ -23,6 +22,7 @@ import static utils.TestUtils.ADMIN_TEST_OBJECT;
 import static utils.TestUtils.EXISTENT_NAME;
 import static utils.TestUtils.NEW_NAME_STRING;
 import static utils.TestUtils.USER_TEST_OBJECT;
+import static utils.TestUtils.createDataSource;
 import static utils.TestUtils.startTestContainer;
 import static utils.TestUtils.stopTestContainers;
 
@@ -31,14 +31,14 @@ import static utils.TestUtils.stopTestContainers;
 public class UserRepositoryImplTest {
 
     private UserRepositoryImpl userRepository;
-    private static Connection connection;
+    private static DataSource dataSource;
 
     private static final List<User> EXPECTED_USER_LIST = new ArrayList<>();
 
     @BeforeAll
     static void setDatabase() throws SQLException, LiquibaseException {
-        connection = DriverManager.getConnection(startTestContainer());
-        TestUtils.startLiquibase(connection);
+        dataSource = createDataSource(startTestContainer());
+        TestUtils.startLiquibase(dataSource);
         EXPECTED_USER_LIST.add(ADMIN_TEST_OBJECT);
     }
 
@@ -49,7 +49,7 @@ public class UserRepositoryImplTest {
 
     @BeforeEach
     void setUp() {
-        userRepository = new UserRepositoryImpl(connection);
+        userRepository = new UserRepositoryImpl(dataSource);
     }
 
     @Test
@@ -65,11 +65,20 @@ public class UserRepositoryImplTest {
     void saveShouldSaveNewUserTest() {
         var actualData = userRepository.save(EXISTENT_NAME, EXISTENT_NAME, Role.USER);
 
-        assertThat(actualData).isEqualTo(USER_TEST_OBJECT);
+        assertThat(actualData).contains(USER_TEST_OBJECT);
 
         EXPECTED_USER_LIST.add(USER_TEST_OBJECT);
     }
 
+    @Test
+    @DisplayName("Тест на возврат пустого Optional при сохранении пользователя с уже существующим именем")
+    void saveShouldReturnEmptyOptionalWithExistentUsernameTest() {
+        var actualData = userRepository.save(ADMIN_TEST_OBJECT.getName(), NEW_NAME_STRING, Role.USER);
+
+        assertThat(actualData).isEmpty();
+        assertThat(userRepository.findByUsername(ADMIN_TEST_OBJECT.getName())).contains(ADMIN_TEST_OBJECT);
+    }
+
     @Test
     @DisplayName("Тест на возврат пустого Optional при запросе на получение несуществующего User")
     void findByIdShouldReturnEmptyOptionalWithNonExistentUsernameTest() throws SQLException {
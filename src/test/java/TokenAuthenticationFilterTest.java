@@ -0,0 +1,73 @@
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.coworking.filters.TokenAuthenticationFilter;
+import org.coworking.security.TokenService;
+import org.coworking.services.validators.UserValidator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static utils.TestUtils.ADMIN_BASIC_AUTH_HEADER_VALUE;
+import static utils.TestUtils.USER_TEST_OBJECT;
+
+@DisplayName("Тест фильтра авторизации по токену")
+public class TokenAuthenticationFilterTest {
+
+    private final ObjectMapper objectMapper = new Jackson2ObjectMapperBuilder().build();
+
+    private final TokenService tokenService = new TokenService(objectMapper, "", 60);
+
+    private final TokenAuthenticationFilter tokenAuthenticationFilter = new TokenAuthenticationFilter(tokenService, objectMapper);
+
+    @Test
+    @DisplayName("Тест на сохранение пользователя из действительного токена в атрибутах запроса")
+    void doFilterShouldAuthoriseValidTokenTest() throws Exception {
+        MockHttpServletRequest request = request(TokenService.BEARER_PREFIX + tokenService.issue(USER_TEST_OBJECT));
+        MockFilterChain filterChain = new MockFilterChain();
+
+        tokenAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        assertThat(filterChain.getRequest()).isSameAs(request);
+        UserValidator.RequestAuthorisation authorisation =
+                (UserValidator.RequestAuthorisation) request.getAttribute(UserValidator.AUTHORISED_USER_ATTRIBUTE);
+        assertThat(authorisation.user()).isEqualTo(USER_TEST_OBJECT);
+        assertThat(authorisation.credentials()).isEqualTo(request.getHeader(HttpHeaders.AUTHORIZATION));
+    }
+
+    @Test
+    @DisplayName("Тест на ответ 401 для отозванного токена без вызова контроллера")
+    void doFilterShouldRejectRevokedTokenTest() throws Exception {
+        String token = tokenService.issue(USER_TEST_OBJECT);
+        tokenService.revoke(token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        tokenAuthenticationFilter.doFilter(request(TokenService.BEARER_PREFIX + token), response, filterChain);
+
+        assertThat(response.getStatus()).isEqualTo(HttpStatus.UNAUTHORIZED.value());
+        assertThat(filterChain.getRequest()).isNull();
+    }
+
+    @Test
+    @DisplayName("Тест на пропуск запроса с Basic Auth без изменений")
+    void doFilterShouldPassBasicAuthTest() throws Exception {
+        MockHttpServletRequest request = request(ADMIN_BASIC_AUTH_HEADER_VALUE);
+        MockFilterChain filterChain = new MockFilterChain();
+
+        tokenAuthenticationFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        assertThat(filterChain.getRequest()).isSameAs(request);
+        assertThat(request.getAttribute(UserValidator.AUTHORISED_USER_ATTRIBUTE)).isNull();
+    }
+
+    private static MockHttpServletRequest request(String authorization) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/get-all-places");
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        return request;
+    }
+}
@@ -0,0 +1,67 @@
+import org.coworking.models.User;
+import org.coworking.security.TokenClaims;
+import org.coworking.security.TokenService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static utils.TestUtils.USER_TEST_OBJECT;
+
+@DisplayName("Тест сервиса токенов доступа")
+public class TokenServiceTest {
+
+    private static final String SECRET = "test-secret-test-secret-test-secret";
+
+    private final TokenService tokenService = new TokenService(new Jackson2ObjectMapperBuilder().build(), SECRET, 60);
+
+    @Test
+    @DisplayName("Тест на получение пользователя из выданного токена")
+    void verifyShouldReturnClaimsOfIssuedTokenTest() {
+        String token = tokenService.issue(USER_TEST_OBJECT);
+
+        TokenClaims claims = tokenService.verify(token).orElseThrow();
+        User user = claims.toUser();
+
+        assertThat(user).isEqualTo(USER_TEST_OBJECT);
+        assertThat(user.getRole()).isEqualTo(USER_TEST_OBJECT.getRole());
+        assertThat(user.getPassword()).isNull();
+        assertThat(claims.exp() - claims.iat()).isEqualTo(60);
+    }
+
+    @Test
+    @DisplayName("Тест на отклонение токена с измененными данными или чужой подписью")
+    void verifyShouldRejectTamperedTokenTest() {
+        String token = tokenService.issue(USER_TEST_OBJECT);
+        String[] parts = token.split("\\.");
+        String otherPayload = tokenService.issue(User.builder().id(1).name("admin").role(USER_TEST_OBJECT.getRole()).build())
+                .split("\\.")[1];
+        TokenService otherTokenService = new TokenService(new Jackson2ObjectMapperBuilder().build(), "other-secret", 60);
+
+        assertThat(tokenService.verify(parts[0] + "." + otherPayload + "." + parts[2])).isEmpty();
+        assertThat(tokenService.verify(otherTokenService.issue(USER_TEST_OBJECT))).isEmpty();
+        assertThat(tokenService.verify("not-a-token")).isEmpty();
+        assertThat(tokenService.verify(parts[0] + "." + parts[1] + ".%%%")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Тест на отклонение истекшего токена")
+    void verifyShouldRejectExpiredTokenTest() {
+        TokenService expiredTokenService = new TokenService(new Jackson2ObjectMapperBuilder().build(), SECRET, -1);
+
+        assertThat(tokenService.verify(expiredTokenService.issue(USER_TEST_OBJECT))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Тест на отклонение отозванного токена")
+    void verifyShouldRejectRevokedTokenTest() {
+        String token = tokenService.issue(USER_TEST_OBJECT);
+        String otherToken = tokenService.issue(USER_TEST_OBJECT);
+
+        assertThat(tokenService.revoke(token)).isTrue();
+
+        assertThat(tokenService.verify(token)).isEmpty();
+        assertThat(tokenService.revoke(token)).isFalse();
+        assertThat(tokenService.verify(otherToken)).isPresent();
+    }
+}
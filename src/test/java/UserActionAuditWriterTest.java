@@ -0,0 +1,132 @@
+import org.coworking.models.UserActionAudit;
+import org.coworking.models.enums.AuditBackPressurePolicy;
+import org.coworking.repositories.UserActionAuditRepository;
+import org.coworking.services.UserActionAuditWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.time.LocalDateTime.now;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static utils.TestUtils.ADMIN_TEST_OBJECT;
+import static utils.TestUtils.EMPTY_STRING;
+
+@DisplayName("Тест асинхронной записи аудита")
+public class UserActionAuditWriterTest {
+
+    @Mock
+    private UserActionAuditRepository userActionAuditRepository;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("Тест на сохранение пачки записей при достижении размера пачки")
+    void submitShouldSaveBatchWhenBatchSizeReachedTest() throws InterruptedException {
+        var auditWriter = new UserActionAuditWriter(userActionAuditRepository, 10, 2, 60_000, AuditBackPressurePolicy.BLOCK);
+
+        auditWriter.submit(audit());
+        auditWriter.submit(audit());
+
+        verify(userActionAuditRepository, timeout(5_000)).saveAll(argThat(list -> list.size() == 2));
+        auditWriter.destroy();
+    }
+
+    @Test
+    @DisplayName("Тест на сохранение оставшихся записей при остановке")
+    void destroyShouldFlushQueuedAuditsTest() throws InterruptedException {
+        var auditWriter = new UserActionAuditWriter(userActionAuditRepository, 10, 100, 60_000, AuditBackPressurePolicy.DROP);
+
+        auditWriter.submit(audit());
+        auditWriter.submit(audit());
+        auditWriter.submit(audit());
+        auditWriter.destroy();
+
+        ArgumentCaptor<List<UserActionAudit>> captor = ArgumentCaptor.forClass(List.class);
+        verify(userActionAuditRepository, atLeastOnce()).saveAll(captor.capture());
+        assertThat(captor.getAllValues().stream().mapToInt(List::size).sum()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Тест на остановку без ожидания интервала сохранения")
+    void destroyShouldNotWaitForFlushIntervalTest() throws InterruptedException {
+        var auditWriter = new UserActionAuditWriter(userActionAuditRepository, 10, 100, 60_000, AuditBackPressurePolicy.BLOCK);
+        auditWriter.submit(audit());
+
+        long start = System.nanoTime();
+        auditWriter.destroy();
+
+        assertThat(System.nanoTime() - start).isLessThan(TimeUnit.SECONDS.toNanos(5));
+        verify(userActionAuditRepository).saveAll(argThat(list -> list.size() == 1));
+    }
+
+    @Test
+    @DisplayName("Тест на сохранение всех записей, поставленных параллельно с остановкой")
+    void destroyShouldNotLoseConcurrentlySubmittedAuditsTest() throws Exception {
+        AtomicInteger savedCount = new AtomicInteger();
+        doAnswer(invocation -> savedCount.addAndGet(invocation.<List<UserActionAudit>>getArgument(0).size()))
+                .when(userActionAuditRepository).saveAll(any());
+        var auditWriter = new UserActionAuditWriter(userActionAuditRepository, 4, 100, 60_000, AuditBackPressurePolicy.BLOCK);
+        int producerCount = 4;
+        int auditsPerProducer = 500;
+        ExecutorService executorService = Executors.newFixedThreadPool(producerCount);
+        CountDownLatch started = new CountDownLatch(producerCount);
+        List<Future<?>> producers = new ArrayList<>();
+        for (int i = 0; i < producerCount; i++) {
+            producers.add(executorService.submit(() -> {
+                started.countDown();
+                for (int j = 0; j < auditsPerProducer; j++) {
+                    auditWriter.submit(audit());
+                }
+            }));
+        }
+
+        started.await();
+        auditWriter.destroy();
+        for (Future<?> producer : producers) {
+            producer.get(10, TimeUnit.SECONDS);
+        }
+        executorService.shutdown();
+
+        assertThat(savedCount.get()).isEqualTo(producerCount * auditsPerProducer);
+    }
+
+    @Test
+    @DisplayName("Тест на учет записей, которые не удалось сохранить")
+    void flushShouldCountFailedAuditsTest() throws InterruptedException {
+        doThrow(new RuntimeException()).when(userActionAuditRepository).saveAll(any());
+        var auditWriter = new UserActionAuditWriter(userActionAuditRepository, 10, 100, 60_000, AuditBackPressurePolicy.BLOCK);
+
+        auditWriter.submit(audit());
+        auditWriter.submit(audit());
+        auditWriter.destroy();
+        auditWriter.submit(audit());
+
+        assertThat(auditWriter.getFailedCount()).isEqualTo(3);
+    }
+
+    private static UserActionAudit audit() {
+        return new UserActionAudit(ADMIN_TEST_OBJECT, EMPTY_STRING, now());
+    }
+}
@@ -1,6 +1,7 @@
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.coworking.aspects.UserAuditAspect;
-import org.coworking.repositories.impl.UserActionAuditRepositoryImpl;
+import org.coworking.services.UserActionAuditWriter;
+import org.coworking.services.UserService;
 import org.coworking.services.validators.UserValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -12,8 +13,8 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletResponse;
 
-import java.sql.Connection;
 import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -39,9 +40,10 @@ public class UserAuditAspectTest {
     private UserValidator userValidator;
 
     @Mock
-    private Connection connection;
+    private UserService userService;
+
     @Mock
-    private UserActionAuditRepositoryImpl userActionAuditRepository;
+    private UserActionAuditWriter userActionAuditWriter;
 
     @Mock
     ResponseEntity<String> responseEntity;
@@ -103,6 +105,40 @@ public class UserAuditAspectTest {
         verify(userAuditAspect).makeAudit(any(),any());
     }
 
+    @Test
+    @DisplayName("тест на вызов аудит при пакетном бронировании")
+    void bookPlacesShouldMakeAuditTest() throws Throwable {
+        when(responseEntity.getStatusCode()).thenReturn(valueOf(200));
+
+        userAuditAspect.bookPlacesAudit(proceedingJoinPoint);
+
+        verify(userAuditAspect).makeAudit(any(),any());
+    }
+
+    @Test
+    @DisplayName("тест на вызов аудит при выгрузке всех бронирований")
+    void exportBookingShouldMakeAuditTest() throws Throwable {
+        Mockito.doReturn(new Object[]{ADMIN_BASIC_AUTH_HEADER_VALUE, new MockHttpServletResponse()}).when(proceedingJoinPoint).getArgs();
+        when(proceedingJoinPoint.proceed()).thenReturn(null);
+
+        userAuditAspect.viewBookingAudit(proceedingJoinPoint);
+
+        verify(userAuditAspect).makeAudit(any(),any());
+    }
+
+    @Test
+    @DisplayName("тест на отсутствие аудита при неуспешной выгрузке всех бронирований")
+    void exportBookingShouldNotMakeAuditWithErrorStatusTest() throws Throwable {
+        var response = new MockHttpServletResponse();
+        response.setStatus(500);
+        Mockito.doReturn(new Object[]{ADMIN_BASIC_AUTH_HEADER_VALUE, response}).when(proceedingJoinPoint).getArgs();
+        when(proceedingJoinPoint.proceed()).thenReturn(null);
+
+        userAuditAspect.viewBookingAudit(proceedingJoinPoint);
+
+        verify(userAuditAspect, Mockito.never()).makeAudit(any(),any());
+    }
+
     @Test
     @DisplayName("тест на вызов аудит при отмене бронировании")
     void deleteBookingShouldMakeAuditTest() throws Throwable {
@@ -1,5 +1,12 @@
 import liquibase.exception.LiquibaseException;
 import org.assertj.core.api.Assertions;
+import org.coworking.cache.AuthenticationCache;
+import org.coworking.Utils.exceptions.UserRegistrationException;
+import org.coworking.models.User;
+import org.coworking.models.UserImportReject;
+import org.coworking.models.UserImportResult;
+import org.coworking.models.enums.Role;
+import org.coworking.models.enums.UserImportRejectReason;
 import org.coworking.repositories.impl.UserRepositoryImpl;
 import org.coworking.services.UserService;
 import org.junit.jupiter.api.AfterAll;
@@ -9,11 +16,18 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import utils.TestUtils;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
+import javax.sql.DataSource;
+import java.io.StringReader;
 import java.sql.SQLException;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.tuple;
+import static utils.TestUtils.ADMIN_LOGIN;
+import static utils.TestUtils.ADMIN_PASSWORD;
+import static utils.TestUtils.ADMIN_TEST_OBJECT;
+import static utils.TestUtils.TEST_PASSWORD_HASHER;
 import static utils.TestUtils.USER_TEST_OBJECT;
+import static utils.TestUtils.createDataSource;
 import static utils.TestUtils.startTestContainer;
 import static utils.TestUtils.stopTestContainers;
 
@@ -22,12 +36,14 @@ public class UserServiceTest {
 
     private UserService userService;
 
-    private static Connection connection;
+    private AuthenticationCache authenticationCache;
+
+    private static DataSource dataSource;
 
     @BeforeAll
     static void setDatabase() throws SQLException, LiquibaseException {
-        connection = DriverManager.getConnection(startTestContainer());
-        TestUtils.startLiquibase(connection);
+        dataSource = createDataSource(startTestContainer());
+        TestUtils.startLiquibase(dataSource);
     }
 
     @AfterAll
@@ -38,12 +54,13 @@ public class UserServiceTest {
 
     @BeforeEach
     void setUp() {
-        userService = new UserService( new UserRepositoryImpl(connection));
+        authenticationCache = new AuthenticationCache(10, 60);
+        userService = new UserService(new UserRepositoryImpl(dataSource), TEST_PASSWORD_HASHER, authenticationCache);
     }
 
     @Test
     @DisplayName("Тест создания нового пользователя")
-    void saveShouldSaveNewUser(){
+    void saveShouldSaveNewUser() throws UserRegistrationException {
         int oldUserCount = userService.findAll().size();
 
         userService.registerNewUser(USER_TEST_OBJECT);
@@ -52,4 +69,122 @@ public class UserServiceTest {
         Assertions.assertThat(newUserCount).isGreaterThan(oldUserCount);
     }
 
+    @Test
+    @DisplayName("Тест на выброс исключения при регистрации пользователя с уже существующим именем")
+    void registerNewUserShouldThrowExceptionWithExistentUsernameTest() {
+        Assertions.assertThatThrownBy(() -> userService.registerNewUser(ADMIN_TEST_OBJECT))
+                .isInstanceOf(UserRegistrationException.class);
+    }
+
+    @Test
+    @DisplayName("Тест импорта пользователей из CSV с отклонением неправильных строк")
+    void importUsersShouldSaveValidRowsAndReportRejectsTest() throws UserRegistrationException {
+        String csv = """
+                name,password,role
+                csv_user_1,password,USER
+                csv_user_2,"pass,word",ADMIN
+                csv_user_1,other,USER
+                admin,admin,USER
+                ,password,USER
+                csv_user_3,,USER
+                csv_user_4,password,GUEST
+                """;
+
+        UserImportResult result = userService.importUsers(new StringReader(csv));
+
+        Assertions.assertThat(result.importedCount()).isEqualTo(2);
+        Assertions.assertThat(result.rejects())
+                .extracting(UserImportReject::row, UserImportReject::reason)
+                .containsExactly(
+                        tuple(3L, UserImportRejectReason.DUPLICATE_NAME),
+                        tuple(4L, UserImportRejectReason.NAME_EXISTS),
+                        tuple(5L, UserImportRejectReason.EMPTY_NAME),
+                        tuple(6L, UserImportRejectReason.EMPTY_PASSWORD),
+                        tuple(7L, UserImportRejectReason.UNKNOWN_ROLE));
+        Assertions.assertThat(userService.getUserByName("csv_user_2"))
+                .get()
+                .matches(user -> TEST_PASSWORD_HASHER.matches("pass,word", user.getPassword())
+                        && !user.getPassword().contains("pass,word") && user.getRole() == Role.ADMIN);
+    }
+
+    @Test
+    @DisplayName("Тест импорта списка пользователей")
+    void importUsersShouldSaveUserListTest() throws UserRegistrationException {
+        List<User> users = List.of(
+                User.builder().name("list_user_\"1\"").password("password").role(Role.USER).build(),
+                User.builder().name("list_user_2").password("password").build());
+
+        UserImportResult result = userService.importUsers(users);
+
+        Assertions.assertThat(result.importedCount()).isEqualTo(1);
+        Assertions.assertThat(result.rejects())
+                .extracting(UserImportReject::row, UserImportReject::reason)
+                .containsExactly(tuple(2L, UserImportRejectReason.UNKNOWN_ROLE));
+        Assertions.assertThat(userService.getUserByName("list_user_\"1\"")).isPresent();
+    }
+
+    @Test
+    @DisplayName("Тест на сохранение хэшей паролей при импорте списка пользователей")
+    void importUsersShouldStorePasswordHashesTest() throws UserRegistrationException {
+        userService.importUsers(List.of(User.builder().name("hashed_list_user").password("password").role(Role.USER).build()));
+
+        Assertions.assertThat(userService.getUserByName("hashed_list_user").orElseThrow().getPassword())
+                .startsWith("sha256$")
+                .matches(password -> TEST_PASSWORD_HASHER.matches("password", password))
+                .matches(TEST_PASSWORD_HASHER::needsRehash);
+    }
+
+    @Test
+    @DisplayName("Тест на хэширование паролей, сохраненных в открытом виде до миграции")
+    void migrationShouldHashPlaintextPasswordsTest() {
+        String adminPassword = userService.getUserByName(ADMIN_LOGIN).orElseThrow().getPassword();
+
+        Assertions.assertThat(adminPassword).startsWith("sha256$");
+        Assertions.assertThat(TEST_PASSWORD_HASHER.matches(ADMIN_PASSWORD, adminPassword)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Тест на выброс исключения при импорте CSV с незакрытыми кавычками")
+    void importUsersShouldThrowExceptionWithUnclosedQuotesTest() {
+        String csv = """
+                name,password,role
+                csv_user_7,"password,USER
+                """;
+
+        Assertions.assertThatThrownBy(() -> userService.importUsers(new StringReader(csv)))
+                .isInstanceOf(UserRegistrationException.class);
+        Assertions.assertThat(userService.getUserByName("csv_user_7")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Тест на выброс исключения при импорте CSV неправильного формата без сохранения пользователей")
+    void importUsersShouldThrowExceptionWithMalformedCsvTest() {
+        String csv = """
+                name,password,role
+                csv_user_5,password,USER
+                csv_user_6,password,USER,extra
+                """;
+
+        Assertions.assertThatThrownBy(() -> userService.importUsers(new StringReader(csv)))
+                .isInstanceOf(UserRegistrationException.class);
+        Assertions.assertThat(userService.getUserByName("csv_user_5")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Тест на сохранение хэша пароля при регистрации и перехэширование пароля в открытом виде")
+    void registerNewUserShouldStoreHashAndRehashPlainPasswordTest() throws UserRegistrationException {
+        User registeredUser = userService.registerNewUser("hashed_user", "password", Role.USER);
+        new UserRepositoryImpl(dataSource).save("legacy_user", "password", Role.USER);
+        User legacyUser = userService.getUserByName("legacy_user").orElseThrow();
+        authenticationCache.put("legacy_user_credentials", legacyUser);
+
+        User rehashedUser = userService.rehashPassword(legacyUser, "password");
+
+        Assertions.assertThat(registeredUser.getPassword()).isNotEqualTo("password");
+        Assertions.assertThat(TEST_PASSWORD_HASHER.matches("password", registeredUser.getPassword())).isTrue();
+        Assertions.assertThat(TEST_PASSWORD_HASHER.needsRehash(rehashedUser.getPassword())).isFalse();
+        Assertions.assertThat(userService.getUserByName("legacy_user").orElseThrow().getPassword())
+                .isEqualTo(rehashedUser.getPassword());
+        Assertions.assertThat(authenticationCache.get("legacy_user_credentials")).isEmpty();
+    }
 }
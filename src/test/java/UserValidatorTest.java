@@ -1,6 +1,11 @@
+import org.coworking.cache.AuthenticationCache;
 import org.coworking.services.validators.UserValidator;
 import org.coworking.Utils.exceptions.UserAuthorisationException;
 import org.coworking.Utils.exceptions.UserRegistrationException;
+import org.coworking.models.User;
+import org.coworking.security.PasswordHasher;
+import org.coworking.security.TokenService;
+import org.coworking.Utils.exceptions.RequiredAuthorisationException;
 import org.coworking.services.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -8,14 +13,26 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
 import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static utils.TestUtils.ADMIN_BASIC_AUTH_HEADER_VALUE;
+import static utils.TestUtils.ADMIN_LOGIN;
+import static utils.TestUtils.ADMIN_PASSWORD;
+import static utils.TestUtils.ADMIN_TEST_OBJECT;
 import static utils.TestUtils.EMPTY_STRING;
 import static utils.TestUtils.EXISTENT_NAME;
 import static utils.TestUtils.NEW_NAME_STRING;
-import static utils.TestUtils.USER_TEST_LIST;
+import static utils.TestUtils.TEST_PASSWORD_HASHER;
 import static utils.TestUtils.USER_TEST_OBJECT;
 
 @DisplayName("Тест Валидатра для User service")
@@ -24,23 +41,26 @@ public class UserValidatorTest {
     @Mock
     UserService userService;
 
+    @Spy
+    PasswordHasher passwordHasher = TEST_PASSWORD_HASHER;
+
+    @Mock
+    TokenService tokenService;
+
     @InjectMocks
     UserValidator userValidator;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        when(userService.rehashPassword(any(), any())).thenAnswer(invocation -> invocation.getArgument(0));
     }
 
     @Test
     @DisplayName("Проверка на выброс исключений при неправильной регистрации пользователя")
     void validateUserRegistrationShouldThrowExceptionWithIncorrectDataTest() {
-        when(userService.findAll()).thenReturn(USER_TEST_LIST);
-
         assertThatThrownBy(() -> userValidator.validateUserRegistration(EMPTY_STRING, EXISTENT_NAME))
                 .isInstanceOf(UserRegistrationException.class);
-        assertThatThrownBy(()-> userValidator.validateUserRegistration(EXISTENT_NAME, EXISTENT_NAME))
-                .isInstanceOf(UserRegistrationException.class);
         assertThatThrownBy(()-> userValidator.validateUserRegistration(NEW_NAME_STRING, EMPTY_STRING))
                 .isInstanceOf(UserRegistrationException.class);
     }
@@ -64,4 +84,64 @@ public class UserValidatorTest {
         assertThatThrownBy(()->userValidator.getValidatedAuthorisedUser(EXISTENT_NAME, NEW_NAME_STRING))
                 .isInstanceOf(UserAuthorisationException.class);
     }
+
+    @Test
+    @DisplayName("Проверка на использование кэша при повторной авторизации")
+    void authoriseUserShouldUseCacheForRepeatedCredentialsTest() throws Exception {
+        when(userService.getUserByName(ADMIN_LOGIN)).thenReturn(Optional.of(ADMIN_TEST_OBJECT));
+        AuthenticationCache authenticationCache = new AuthenticationCache(10, 60);
+        UserValidator cachingUserValidator = new UserValidator(userService, authenticationCache, passwordHasher, tokenService);
+
+        cachingUserValidator.authoriseUser(ADMIN_BASIC_AUTH_HEADER_VALUE);
+        var actualUser = cachingUserValidator.authoriseUser(ADMIN_BASIC_AUTH_HEADER_VALUE);
+        authenticationCache.evictByUsername(ADMIN_LOGIN);
+        cachingUserValidator.authoriseUser(ADMIN_BASIC_AUTH_HEADER_VALUE);
+
+        assertThat(actualUser).isEqualTo(ADMIN_TEST_OBJECT);
+        verify(userService, times(2)).getUserByName(ADMIN_LOGIN);
+    }
+
+    @Test
+    @DisplayName("Проверка на перехэширование пароля, сохраненного в открытом виде, после успешной авторизации")
+    void getValidatedAuthorisedUserShouldRehashPlainPasswordTest() throws UserAuthorisationException {
+        when(userService.getUserByName(ADMIN_LOGIN)).thenReturn(Optional.of(ADMIN_TEST_OBJECT));
+
+        userValidator.getValidatedAuthorisedUser(ADMIN_LOGIN, ADMIN_PASSWORD);
+
+        verify(userService).rehashPassword(ADMIN_TEST_OBJECT, ADMIN_PASSWORD);
+    }
+
+    @Test
+    @DisplayName("Проверка авторизации пользователя с хэшированным паролем без перехэширования")
+    void getValidatedAuthorisedUserShouldAcceptHashedPasswordTest() throws UserAuthorisationException {
+        User hashedUser = User.builder()
+                .id(ADMIN_TEST_OBJECT.getId())
+                .name(ADMIN_LOGIN)
+                .password(TEST_PASSWORD_HASHER.hash(ADMIN_PASSWORD))
+                .role(ADMIN_TEST_OBJECT.getRole())
+                .build();
+        when(userService.getUserByName(ADMIN_LOGIN)).thenReturn(Optional.of(hashedUser));
+
+        assertThat(userValidator.getValidatedAuthorisedUser(ADMIN_LOGIN, ADMIN_PASSWORD)).isSameAs(hashedUser);
+        assertThatThrownBy(() -> userValidator.getValidatedAuthorisedUser(ADMIN_LOGIN, NEW_NAME_STRING))
+                .isInstanceOf(UserAuthorisationException.class);
+        verify(userService, never()).rehashPassword(any(), any());
+    }
+
+    @Test
+    @DisplayName("Проверка авторизации по токену без обращения к БД")
+    void authoriseUserShouldAcceptBearerTokenWithoutDatabaseTest() throws Exception {
+        TokenService realTokenService = new TokenService(new Jackson2ObjectMapperBuilder().build(), "", 60);
+        UserValidator tokenUserValidator = new UserValidator(userService, new AuthenticationCache(10, 60), passwordHasher, realTokenService);
+        String token = realTokenService.issue(ADMIN_TEST_OBJECT);
+
+        User actualUser = tokenUserValidator.authoriseUser(TokenService.BEARER_PREFIX + token);
+        realTokenService.revoke(token);
+
+        assertThat(actualUser).isEqualTo(ADMIN_TEST_OBJECT);
+        assertThat(actualUser.getRole()).isEqualTo(ADMIN_TEST_OBJECT.getRole());
+        assertThatThrownBy(() -> tokenUserValidator.authoriseUser(TokenService.BEARER_PREFIX + token))
+                .isInstanceOf(RequiredAuthorisationException.class);
+        verify(userService, never()).getUserByName(any());
+    }
 }
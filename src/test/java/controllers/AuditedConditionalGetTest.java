@@ -0,0 +1,156 @@
+package controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.coworking.aspects.UserAuditAspect;
+import org.coworking.controllers.BookedPlaceController;
+import org.coworking.controllers.PlaceController;
+import org.coworking.services.BookedPlaceService;
+import org.coworking.services.PlaceService;
+import org.coworking.services.UserActionAuditWriter;
+import org.coworking.services.UserService;
+import org.coworking.services.validators.BookedPlaceValidator;
+import org.coworking.services.validators.PlaceValidator;
+import org.coworking.services.validators.UserValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static utils.TestUtils.ADMIN_BASIC_AUTH_HEADER_VALUE;
+import static utils.TestUtils.ADMIN_TEST_OBJECT;
+
+@DisplayName("Тест GET запросов к контроллерам с аспектом аудита")
+public class AuditedConditionalGetTest {
+
+    AnnotationConfigWebApplicationContext context;
+
+    MockMvc mockMvc;
+
+    @Configuration
+    @EnableWebMvc
+    @EnableAspectJAutoProxy
+    static class AuditedControllersConfig {
+
+        @Bean
+        UserValidator userValidator() {
+            return Mockito.mock(UserValidator.class);
+        }
+
+        @Bean
+        UserService userService() {
+            return Mockito.mock(UserService.class);
+        }
+
+        @Bean
+        PlaceService placeService() {
+            return Mockito.mock(PlaceService.class);
+        }
+
+        @Bean
+        BookedPlaceService bookedPlaceService() {
+            return Mockito.mock(BookedPlaceService.class);
+        }
+
+        @Bean
+        UserActionAuditWriter userActionAuditWriter() {
+            return Mockito.mock(UserActionAuditWriter.class);
+        }
+
+        @Bean
+        PlaceController placeController(PlaceService placeService, UserValidator userValidator) {
+            return new PlaceController(placeService, Mockito.mock(PlaceValidator.class), userValidator);
+        }
+
+        @Bean
+        BookedPlaceController bookedPlaceController(UserValidator userValidator, BookedPlaceService bookedPlaceService,
+                                                    PlaceService placeService) {
+            return new BookedPlaceController(userValidator, bookedPlaceService, placeService,
+                    Mockito.mock(BookedPlaceValidator.class), new ObjectMapper());
+        }
+
+        @Bean
+        UserAuditAspect userAuditAspect(UserService userService, UserValidator userValidator,
+                                        UserActionAuditWriter userActionAuditWriter) {
+            return new UserAuditAspect(userService, userValidator, userActionAuditWriter);
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        context = new AnnotationConfigWebApplicationContext();
+        context.setServletContext(new MockServletContext());
+        context.register(AuditedControllersConfig.class);
+        context.refresh();
+        when(context.getBean(UserValidator.class).authoriseUser(any())).thenReturn(ADMIN_TEST_OBJECT);
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    @DisplayName("Тест на ответ 304 списка мест с совпадающим If-None-Match и аудит только полного ответа")
+    void getAllPlacesShouldReturnNotModifiedThroughAuditAspectTest() throws Exception {
+        assertNotModifiedOnRepeatedRequest("/get-all-places");
+
+        verify(context.getBean(PlaceService.class), times(1)).getAllPlaces();
+    }
+
+    @Test
+    @DisplayName("Тест на ответ 304 доступных слотов с совпадающим If-None-Match и аудит только полного ответа")
+    void getAvailableSlotsShouldReturnNotModifiedThroughAuditAspectTest() throws Exception {
+        assertNotModifiedOnRepeatedRequest("/get-available-slots?date=2024-08-22");
+
+        verify(context.getBean(BookedPlaceService.class), times(1)).getAllAvailableDTOSlots(any());
+    }
+
+    @Test
+    @DisplayName("Тест на ответ 304 доступных слотов за период с совпадающим If-None-Match и аудит только полного ответа")
+    void getAvailableSlotsRangeShouldReturnNotModifiedThroughAuditAspectTest() throws Exception {
+        assertNotModifiedOnRepeatedRequest("/get-available-slots-range?from=2024-08-22&to=2024-08-24");
+
+        verify(context.getBean(BookedPlaceService.class), times(1)).getAvailableSlotsForRange(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Тест на аудит потоковой выгрузки всех бронирований")
+    void exportAllBookingShouldBeAuditedTest() throws Exception {
+        mockMvc.perform(get("/export-all-booking").header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC_AUTH_HEADER_VALUE))
+                .andExpect(status().isOk());
+
+        verify(context.getBean(UserActionAuditWriter.class), times(1)).submit(any());
+    }
+
+    private void assertNotModifiedOnRepeatedRequest(String url) throws Exception {
+        String eTag = mockMvc.perform(get(url).header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC_AUTH_HEADER_VALUE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get(url)
+                        .header(HttpHeaders.AUTHORIZATION, ADMIN_BASIC_AUTH_HEADER_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+
+        verify(context.getBean(UserActionAuditWriter.class), times(1)).submit(any());
+    }
+}
@@ -1,8 +1,15 @@
 package controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.coworking.controllers.BookedPlaceController;
 import org.coworking.controllers.ExceptionHandlerController;
+import org.coworking.dtos.BookedPlaceDTO;
+import org.coworking.models.BookedPlacePage;
+import org.coworking.models.BookingBatchResult;
+import org.coworking.models.BookingResult;
+import org.coworking.repositories.BookedPlaceRepository;
 import org.coworking.services.BookedPlaceService;
+import org.coworking.services.PlaceService;
 import org.coworking.services.validators.BookedPlaceValidator;
 import org.coworking.services.validators.UserValidator;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,6 +20,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
@@ -20,15 +28,26 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import utils.TestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
 import static java.lang.String.valueOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.coworking.controllers.BookedPlaceController.NEXT_CURSOR_HEADER;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static utils.TestUtils.TEST_BOOKED_PLACE_JSON;
 
@@ -36,10 +55,13 @@ import static utils.TestUtils.TEST_BOOKED_PLACE_JSON;
 public class BookedPlaceControllerTest {
 
     public static final String BOOK_PLACE_ENDPOINT_URL = "/book-place";
+    public static final String BOOK_PLACES_ENDPOINT_URL = "/book-places";
     public static final String DELETE_BOOKED_PLACE_ENDPOINT_URL = "/delete-booked-place";
     public static final String GET_AVAILABLE_SLOTS_ENDPOINT_URL = "/get-available-slots";
+    public static final String GET_AVAILABLE_SLOTS_RANGE_ENDPOINT_URL = "/get-available-slots-range";
     public static final String GET_ALL_BOOKING_ENPOINT_URL = "/get-all-booking";
     public static final String GET_CURRENT_USER_BOOKING_ENDPOINT_URL = "/get-current-user-booked-place";
+    public static final String EXPORT_ALL_BOOKING_ENDPOINT_URL = "/export-all-booking";
     @Mock
     private UserValidator userValidator;
 
@@ -49,6 +71,12 @@ public class BookedPlaceControllerTest {
     @Mock
     private BookedPlaceValidator bookedPlaceValidator;
 
+    @Mock
+    private PlaceService placeService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private BookedPlaceController placeController;
 
@@ -72,10 +100,65 @@ public class BookedPlaceControllerTest {
 
         verify(bookedPlaceValidator).validateExistingBookedDtoFields(any());
         verify(bookedPlaceValidator,times(2)).validateDateTimeFormat(anyString());
-        verify(bookedPlaceValidator).validateBookingPlace(any());
+        verify(bookedPlaceValidator).validateBookingPeriod(any(), any());
         verify(bookedPlaceService).bookPlace(any(),any());
     }
 
+    @Test
+    @DisplayName("Тест на создание всех бронирований пакета без конфликтов")
+    void bookPlacesShouldBookAllPlacesTest() throws Exception {
+        when(bookedPlaceService.bookPlaces(any(), any(), any(), eq(true)))
+                .thenReturn(new BookingBatchResult(2, List.of(new BookingResult(0, 10, null), new BookingResult(1, 11, null))));
+
+        String body = mockMvc.perform(post(BOOK_PLACES_ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + TEST_BOOKED_PLACE_JSON + "," + TEST_BOOKED_PLACE_JSON + "]"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(objectMapper.readTree(body).get("bookedCount").asInt()).isEqualTo(2);
+        verify(bookedPlaceValidator).validateBookingBatch(ArgumentMatchers.argThat(bookedPlaceDTOs -> bookedPlaceDTOs.size() == 2));
+        verify(bookedPlaceService).bookPlaces(ArgumentMatchers.argThat(bookedPlaces -> bookedPlaces.size() == 2), any(), any(), eq(true));
+    }
+
+    @Test
+    @DisplayName("Тест на отклонение всего пакета при конфликте одного бронирования")
+    void bookPlacesShouldRejectWholeAtomicBatchWithConflictTest() throws Exception {
+        when(bookedPlaceService.bookPlaces(any(), any(), any(), eq(true)))
+                .thenReturn(new BookingBatchResult(0, List.of(new BookingResult(0, null, null), new BookingResult(1, null, "Конфликт"))));
+
+        String body = mockMvc.perform(post(BOOK_PLACES_ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + TEST_BOOKED_PLACE_JSON + "," + TEST_BOOKED_PLACE_JSON + "]"))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        var results = objectMapper.readTree(body).get("results");
+        assertThat(results.get(0).get("error").isNull()).isTrue();
+        assertThat(results.get(1).get("error").asText()).isEqualTo("Конфликт");
+    }
+
+    @Test
+    @DisplayName("Тест на пропуск отклоненных при валидации бронирований пакета в режиме результатов по каждому бронированию")
+    void bookPlacesShouldSkipRejectedPlacesWhenNotAtomicTest() throws Exception {
+        when(bookedPlaceValidator.validateBookingBatch(any())).thenReturn(Map.of(0, "Ошибка"));
+        when(bookedPlaceService.bookPlaces(any(), any(), any(), eq(false)))
+                .thenReturn(new BookingBatchResult(1, List.of(new BookingResult(0, null, "Ошибка"), new BookingResult(1, 11, null))));
+
+        String body = mockMvc.perform(post(BOOK_PLACES_ENDPOINT_URL)
+                        .param("atomic", "false")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + TEST_BOOKED_PLACE_JSON + "," + TEST_BOOKED_PLACE_JSON + "]"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        var results = objectMapper.readTree(body).get("results");
+        assertThat(results.get(0).get("bookedPlaceId").isNull()).isTrue();
+        assertThat(results.get(1).get("bookedPlaceId").asInt()).isEqualTo(11);
+        verify(bookedPlaceService).bookPlaces(ArgumentMatchers.argThat(bookedPlaces -> bookedPlaces.get(0) == null && bookedPlaces.get(1) != null),
+                eq(Map.of(0, "Ошибка")), any(), eq(false));
+    }
+
     @Test
     @DisplayName("Тест на вызов удаления бронирования")
     void deleteBookedPlaceShouldCallBookingDeletingTest() throws Exception {
@@ -84,8 +167,7 @@ public class BookedPlaceControllerTest {
         mockMvc.perform(delete(DELETE_BOOKED_PLACE_ENDPOINT_URL).param("id", valueOf(CANCEL_BOOKING_ID)))
                 .andExpect(status().isOk());
 
-        verify(bookedPlaceValidator).validateCancelingBookedPlaceByNonAdmin(eq(CANCEL_BOOKING_ID), any());
-        verify(bookedPlaceService).cancelBooking(CANCEL_BOOKING_ID);
+        verify(bookedPlaceService).cancelBooking(eq(CANCEL_BOOKING_ID), any());
     }
 
     @Test
@@ -98,6 +180,35 @@ public class BookedPlaceControllerTest {
         verify(bookedPlaceService).getAllAvailableDTOSlots(any());
     }
 
+    @Test
+    @DisplayName("Тест на ответ 304 при совпадении If-None-Match и новый ответ после бронирования")
+    void getAvailableBookedPlacesShouldReturnNotModifiedUntilBookingChangesTest() throws Exception {
+        final String TEST_DATE_PARAM = "2024-06-22";
+        String eTag = mockMvc.perform(get(GET_AVAILABLE_SLOTS_ENDPOINT_URL).param("date", TEST_DATE_PARAM))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get(GET_AVAILABLE_SLOTS_ENDPOINT_URL).param("date", TEST_DATE_PARAM).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        when(bookedPlaceService.getModificationCount()).thenReturn(1L);
+        mockMvc.perform(get(GET_AVAILABLE_SLOTS_ENDPOINT_URL).param("date", TEST_DATE_PARAM).header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+
+        verify(bookedPlaceService, times(2)).getAllAvailableDTOSlots(any());
+    }
+
+    @Test
+    @DisplayName("Тест на вызов получения доступных слотов за диапазон дат")
+    void getAvailableSlotsRangeShouldCallRangeAvailabilityTest() throws Exception {
+        mockMvc.perform(get(GET_AVAILABLE_SLOTS_RANGE_ENDPOINT_URL)
+                        .param("from", "2024-06-22")
+                        .param("to", "2024-06-28")
+                        .param("placeType", "WORKPLACE"))
+                .andExpect(status().isOk());
+
+        verify(bookedPlaceService).getAvailableSlotsForRange(LocalDate.of(2024, 6, 22), LocalDate.of(2024, 6, 28), "WORKPLACE");
+    }
+
     @Test
     @DisplayName("Тест на вызов получения всех доступных слотов по неправильной дате")
     void getAvailableBookedPlacesShouldNotCallListByIncorrectDataTest() throws Exception {
@@ -112,20 +223,58 @@ public class BookedPlaceControllerTest {
     @DisplayName("Тест на вызов получения всей информации о бронировании с сортировкой")
     void getAllBookingShouldCallSortedListOfAllBookingTest() throws Exception {
         final String TEST_DATE_PARAM = "1";
+        when(bookedPlaceService.getBookedPlacesPage(any(), any(), any())).thenReturn(new BookedPlacePage(List.of(), null));
         mockMvc.perform(get(GET_ALL_BOOKING_ENPOINT_URL).param("indexOfField", TEST_DATE_PARAM))
                 .andExpect(status().isOk());
 
-        verify(bookedPlaceService).getAllBookedPlacesSortedBy(TEST_DATE_PARAM);
+        verify(bookedPlaceService).getBookedPlacesPage(TEST_DATE_PARAM, null, null);
     }
 
     @Test
     @DisplayName("Тест на вызов получения всей информации о бронировании без сортировки")
     void getAllBookingShouldCallListOfAllBookingTest() throws Exception {
+        when(bookedPlaceService.getBookedPlacesPage(any(), any(), any())).thenReturn(new BookedPlacePage(List.of(), null));
         mockMvc.perform(get(GET_ALL_BOOKING_ENPOINT_URL))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER));
+
+        verify(bookedPlaceService).getBookedPlacesPage(null, null, null);
+    }
+
+    @Test
+    @DisplayName("Тест на возврат курсора следующей страницы в заголовке")
+    void getAllBookingShouldReturnNextCursorHeaderTest() throws Exception {
+        final String TEST_CURSOR = "cursor";
+        final int TEST_LIMIT = 1;
+        when(bookedPlaceService.getBookedPlacesPage(any(), any(), any()))
+                .thenReturn(new BookedPlacePage(TestUtils.TEST_BOOKED_PLACE_LIST, TEST_CURSOR));
+        mockMvc.perform(get(GET_ALL_BOOKING_ENPOINT_URL).param("limit", valueOf(TEST_LIMIT)).param("cursor", TEST_CURSOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string(NEXT_CURSOR_HEADER, TEST_CURSOR));
 
-        verify(bookedPlaceService).getAllBookedPlaces();
+        verify(bookedPlaceService).getBookedPlacesPage(null, TEST_CURSOR, TEST_LIMIT);
     }
+    @Test
+    @DisplayName("Тест на потоковую выгрузку всех бронирований")
+    void exportAllBookingShouldWriteAllBookingsAsJsonArrayTest() throws Exception {
+        doAnswer(invocation -> {
+            BookedPlaceRepository.BookedPlaceHandler handler = invocation.getArgument(0);
+            handler.handle(TestUtils.TEST_BOOKED_PLACE_OBJECT);
+            handler.handle(TestUtils.TEST_BOOKED_PLACE_OBJECT);
+            return null;
+        }).when(bookedPlaceService).exportAllBookedPlaces(any());
+
+        String body = mockMvc.perform(get(EXPORT_ALL_BOOKING_ENDPOINT_URL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsString();
+
+        BookedPlaceDTO[] exported = objectMapper.readValue(body, BookedPlaceDTO[].class);
+        assertThat(exported).hasSize(2)
+                .allMatch(bookedPlaceDTO -> bookedPlaceDTO.getId() == TestUtils.TEST_BOOKED_PLACE_OBJECT.getId());
+        verify(userValidator).authorizeAdmin(any());
+    }
+
     @Test
     @DisplayName("Тест на вызов получения всей информации о бронировании текущего пользователя")
     void getCurrentUserBookingShouldCallListOfBookingByUserTest() throws Exception {
@@ -22,13 +22,17 @@ import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import utils.TestUtils;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static utils.TestUtils.TEST_PLACE_JSON;
 import static utils.TestUtils.TEST_PLACE_NAME_0;
@@ -82,6 +86,35 @@ public class PlaceControllerTest {
         verify(placeService).getAllPlaces();
     }
 
+    @Test
+    @DisplayName("Тест на ответ 304 без получения списка мест при совпадении If-None-Match")
+    void getAllPlacesShouldReturnNotModifiedForMatchingETagTest() throws Exception {
+        String eTag = mockMvc.perform(get(GET_ALL_PLACES_ENDPOINT_URL))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(eTag).startsWith("W/\"");
+
+        mockMvc.perform(get(GET_ALL_PLACES_ENDPOINT_URL).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag));
+
+        verify(placeService, times(1)).getAllPlaces();
+    }
+
+    @Test
+    @DisplayName("Тест на получение нового списка мест после изменения мест")
+    void getAllPlacesShouldReturnNewETagAfterModificationTest() throws Exception {
+        String eTag = mockMvc.perform(get(GET_ALL_PLACES_ENDPOINT_URL))
+                .andReturn().getResponse().getHeader("ETag");
+        when(placeService.getModificationCount()).thenReturn(1L);
+
+        mockMvc.perform(get(GET_ALL_PLACES_ENDPOINT_URL).header("If-None-Match", eTag))
+                .andExpect(status().isOk());
+
+        verify(placeService, times(2)).getAllPlaces();
+    }
+
     @Test
     @DisplayName("Тест на вызов создания нового места")
     void savePlaceShouldCallSavingNewPlaceTest() throws Exception {
@@ -1,14 +1,23 @@
 package controllers;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.coworking.Utils.exceptions.ForbiddenAccessException;
 import org.coworking.Utils.exceptions.UserRegistrationException;
 import org.coworking.controllers.ExceptionHandlerController;
 import org.coworking.controllers.UserController;
+import org.coworking.models.User;
+import org.coworking.models.UserImportReject;
+import org.coworking.models.UserImportResult;
+import org.coworking.models.enums.UserImportRejectReason;
+import org.coworking.security.TokenService;
 import org.coworking.services.UserService;
 import org.coworking.services.validators.UserValidator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -17,22 +26,37 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static utils.TestUtils.ADMIN_BASIC_AUTH_HEADER_VALUE;
+import static utils.TestUtils.ADMIN_TEST_OBJECT;
 import static utils.TestUtils.TEST_USER_JSON;
 
 @DisplayName("Тест пользовательского Controller")
 public class UserControllerTest {
 
     public static final String REGISTER_USER_ENDPOINT_URL = "/register-user";
+    public static final String IMPORT_USERS_ENDPOINT_URL = "/import-users";
+    public static final String LOGIN_ENDPOINT_URL = "/login";
+    public static final String LOGOUT_ENDPOINT_URL = "/logout";
     @Mock
     private UserService userService;
 
     @Mock
     private UserValidator userValidator;
 
+    @Mock
+    private TokenService tokenService;
+
     @InjectMocks
     private UserController userController;
 
@@ -74,4 +98,108 @@ public class UserControllerTest {
         Mockito.verify(userValidator).validateUserRegistration(any());
     }
 
+    @Test
+    @DisplayName("Тест на ответ 400 при регистрации пользователя с уже существующим именем")
+    void registerUserShouldReturnBadRequestWhenUsernameExistsTest() throws Exception {
+        doThrow(new UserRegistrationException(""))
+                .when(userService).registerNewUser(any());
+
+        mockMvc.perform(post(REGISTER_USER_ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(TEST_USER_JSON)
+                        .characterEncoding("utf-8"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Тест на вызов импорта пользователей из CSV с отчетом об отклоненных строках")
+    void importUsersFromCsvShouldReturnRejectsTest() throws Exception {
+        when(userService.importUsers(any(Reader.class))).thenReturn(new UserImportResult(1,
+                List.of(new UserImportReject(2, "admin", UserImportRejectReason.NAME_EXISTS))));
+
+        String body = mockMvc.perform(post(IMPORT_USERS_ENDPOINT_URL)
+                        .contentType(UserController.TEXT_CSV_VALUE)
+                        .content("name,password,role\nuser,user,USER\nadmin,admin,USER\n"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        JsonNode result = new ObjectMapper().readTree(body);
+        assertThat(result.get("importedCount").asLong()).isEqualTo(1);
+        assertThat(result.get("rejects").get(0).get("row").asLong()).isEqualTo(2);
+        assertThat(result.get("rejects").get(0).get("error").asText())
+                .isEqualTo(UserImportRejectReason.NAME_EXISTS.getMessage());
+        Mockito.verify(userValidator).authorizeAdmin(any());
+    }
+
+    @Test
+    @DisplayName("Тест на вызов импорта пользователей из JSON массива")
+    void importUsersFromJsonShouldCallImportTest() throws Exception {
+        when(userService.importUsers(anyList())).thenReturn(new UserImportResult(2, List.of()));
+
+        mockMvc.perform(post(IMPORT_USERS_ENDPOINT_URL)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + TEST_USER_JSON + "," + TEST_USER_JSON + "]")
+                        .characterEncoding("utf-8"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(userService).importUsers(ArgumentMatchers.<List<User>>argThat(users -> users.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Тест на запрет импорта пользователей без администраторских прав")
+    void importUsersShouldReturnForbiddenForNonAdminTest() throws Exception {
+        doThrow(new ForbiddenAccessException(""))
+                .when(userValidator).authorizeAdmin(any());
+
+        mockMvc.perform(post(IMPORT_USERS_ENDPOINT_URL)
+                        .contentType(UserController.TEXT_CSV_VALUE)
+                        .content("name,password,role\n"))
+                .andExpect(status().isForbidden());
+
+        Mockito.verify(userService, Mockito.never()).importUsers(any(Reader.class));
+    }
+
+    @Test
+    @DisplayName("Тест на выдачу токена по данным Basic Auth")
+    void loginShouldIssueTokenTest() throws Exception {
+        when(userValidator.authoriseUser(ADMIN_BASIC_AUTH_HEADER_VALUE)).thenReturn(ADMIN_TEST_OBJECT);
+        when(tokenService.issue(ADMIN_TEST_OBJECT)).thenReturn("token");
+        when(tokenService.getTtlSeconds()).thenReturn(900L);
+
+        String body = mockMvc.perform(post(LOGIN_ENDPOINT_URL)
+                        .header("Authorization", ADMIN_BASIC_AUTH_HEADER_VALUE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        JsonNode result = new ObjectMapper().readTree(body);
+        assertThat(result.get("accessToken").asText()).isEqualTo("token");
+        assertThat(result.get("tokenType").asText()).isEqualTo("Bearer");
+        assertThat(result.get("expiresIn").asLong()).isEqualTo(900L);
+    }
+
+    @Test
+    @DisplayName("Тест на отказ в выдаче токена по другому токену")
+    void loginShouldRejectBearerTokenTest() throws Exception {
+        mockMvc.perform(post(LOGIN_ENDPOINT_URL)
+                        .header("Authorization", TokenService.BEARER_PREFIX + "token"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verify(tokenService, Mockito.never()).issue(any());
+    }
+
+    @Test
+    @DisplayName("Тест на отзыв токена и ответ 401 для недействительного токена")
+    void logoutShouldRevokeTokenTest() throws Exception {
+        when(tokenService.revoke("token")).thenReturn(true);
+
+        mockMvc.perform(post(LOGOUT_ENDPOINT_URL)
+                        .header("Authorization", TokenService.BEARER_PREFIX + "token"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post(LOGOUT_ENDPOINT_URL)
+                        .header("Authorization", TokenService.BEARER_PREFIX + "expired"))
+                .andExpect(status().isUnauthorized());
+
+        Mockito.verify(tokenService).revoke("token");
+        Mockito.verify(tokenService).revoke("expired");
+    }
 }
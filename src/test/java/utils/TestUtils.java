@@ -1,6 +1,8 @@
 package utils;
 
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import liquibase.Liquibase;
 import liquibase.database.DatabaseFactory;
 import liquibase.database.jvm.JdbcConnection;
@@ -16,6 +18,7 @@ import org.coworking.models.Slot;
 import org.coworking.models.User;
 import org.coworking.models.enums.PlaceType;
 import org.coworking.models.enums.Role;
+import org.coworking.security.PasswordHasher;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.utility.DockerImageName;
@@ -24,6 +27,7 @@ import javax.servlet.ReadListener;
 import javax.servlet.ServletInputStream;
 import javax.servlet.ServletOutputStream;
 import javax.servlet.WriteListener;
+import javax.sql.DataSource;
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
@@ -48,6 +52,8 @@ public class TestUtils {
 
     public static final String EMPTY_STRING = "";
 
+    public static final PasswordHasher TEST_PASSWORD_HASHER = new PasswordHasher(1000);
+
     public static final User USER_TEST_OBJECT = User.builder()
             .id(2)
             .name(EXISTENT_NAME)
@@ -189,22 +195,37 @@ public class TestUtils {
             .slotDTO(TEST_SLOT_DTO)
             .build();
 
+    /**
+     * Создание пула соединений к тестовой БД
+     *
+     * @param url URL тестовой БД вместе с именем пользователя и паролем
+     * @return DataSource объект
+     */
+    public static DataSource createDataSource(String url) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(url);
+        config.setMaximumPoolSize(4);
+        return new HikariDataSource(config);
+    }
+
     /**
      * Подготовка и запуск всех Liquibase скриптов
      *
-     * @param connection Connection объект связанный с БД
+     * @param dataSource пул соединений с БД
      * @throws SQLException       - если есть проблемы с БД
      * @throws LiquibaseException если есть проблемы с liquibase скриптами
      */
-    public static void startLiquibase(Connection connection) throws SQLException, LiquibaseException {
-        var database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
+    public static void startLiquibase(DataSource dataSource) throws SQLException, LiquibaseException {
+        try (Connection connection = dataSource.getConnection()) {
+            var database = DatabaseFactory.getInstance().findCorrectDatabaseImplementation(new JdbcConnection(connection));
 
-        String liquibaseSchemaName = "liquibase_schema";
-        createSchemaForLiquibaseLogs(connection, liquibaseSchemaName);
-        database.setLiquibaseSchemaName(liquibaseSchemaName);
-        Liquibase liquibase = new Liquibase("db/changelog/changelog.xml", new ClassLoaderResourceAccessor(), database);
+            String liquibaseSchemaName = "liquibase_schema";
+            createSchemaForLiquibaseLogs(connection, liquibaseSchemaName);
+            database.setLiquibaseSchemaName(liquibaseSchemaName);
+            Liquibase liquibase = new Liquibase("db/changelog/changelog.xml", new ClassLoaderResourceAccessor(), database);
 
-        liquibase.update();
+            liquibase.update();
+        }
     }
 
     /**
@@ -215,10 +236,10 @@ public class TestUtils {
      * @throws SQLException в случае если есть проблемы с БД
      */
     private static void createSchemaForLiquibaseLogs(Connection connection, String liquibaseSchemaName) throws SQLException {
-        Statement statement = connection.createStatement();
-        String schemaCreationQuery = "CREATE SCHEMA IF NOT EXISTS " + liquibaseSchemaName;
-        statement.executeUpdate(schemaCreationQuery);
-        connection.commit();
+        try (Statement statement = connection.createStatement()) {
+            String schemaCreationQuery = "CREATE SCHEMA IF NOT EXISTS " + liquibaseSchemaName;
+            statement.executeUpdate(schemaCreationQuery);
+        }
     }
 
     private static String getTestUserJson(String name, String password, Role role) {